@@ -0,0 +1,191 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Properties;
+
+/**
+ * Saves a game automatically every few actions and at the end of each day.
+ * <p>
+ * Autosaves are GZIP compressed JSON files in the saved games directory,
+ * named autosave-0.json.gz up to one less than the number kept, and are
+ * written in a ring: each autosave replaces the oldest one. The load
+ * command lists and loads them like any other saved game.
+ * <p>
+ * An autosave only packs the state words of the game on the game thread,
+ * which takes microseconds. The SaveService writer thread rebuilds the game
+ * from the words in a model of its own, serializes and compresses it and
+ * writes the file, so an autosave adds no noticeable time to a turn.
+ * <p>
+ * The policy is read from config.properties:
+ * <pre>
+ *   autosaveEveryActions  actions between autosaves, 0 for none
+ *   autosaveAtEndOfDay    true to autosave at the end of each day
+ *   autosaveKeep          number of autosaves kept, 0 to turn autosave off
+ * </pre>
+ */
+public class Autosave {
+    public static final String PREFIX = "autosave-";
+    public static final String EXTENSION = ".json.gz";
+
+    private static final int DEFAULT_EVERY_ACTIONS = 20;
+    private static final int DEFAULT_KEEP = 5;
+
+    private final Path directory;
+    private final int everyActions;
+    private final boolean atEndOfDay;
+    private final int keep;
+
+    // Game thread only
+    private int actionsSinceSave = 0;
+    private int nextSlot;
+
+
+    /**
+     * Constructs a new Autosave.
+     *
+     * @param directory the directory of the autosaves
+     * @param everyActions actions between autosaves, 0 for none
+     * @param atEndOfDay true to autosave at the end of each day
+     * @param keep the number of autosaves kept, at least 1
+     */
+    public Autosave(
+        Path directory,
+        int everyActions,
+        boolean atEndOfDay,
+        int keep
+    ) {
+        this.directory = directory;
+        this.everyActions = everyActions;
+        this.atEndOfDay = atEndOfDay;
+        this.keep = keep;
+        this.nextSlot = oldestSlot();
+    }
+
+    /**
+     * Creates the autosave policy of the configuration.
+     *
+     * @param config the configuration
+     * @return the policy, or null if autosave is turned off
+     */
+    public static Autosave fromConfig(Properties config) {
+        int everyActions = intProperty(config, "autosaveEveryActions", DEFAULT_EVERY_ACTIONS);
+        boolean atEndOfDay = Boolean.parseBoolean(
+            config.getProperty("autosaveAtEndOfDay", "true").trim()
+        );
+        int keep = intProperty(config, "autosaveKeep", DEFAULT_KEEP);
+        if (keep <= 0 || (everyActions <= 0 && !atEndOfDay)) {
+            return null;
+        }
+        return new Autosave(
+            Paths.get("saved"),
+            everyActions,
+            atEndOfDay,
+            keep
+        );
+    }
+
+
+// ============================================================
+// Triggers
+// ============================================================
+
+
+    /**
+     * Counts an action, saving the game once enough actions have passed.
+     *
+     * @param model the game model
+     */
+    public void afterAction(GameModel model) {
+        if (everyActions > 0 && ++actionsSinceSave >= everyActions) {
+            save(model);
+        }
+    }
+
+    /**
+     * Saves the game at the end of a day if the policy asks for it.
+     *
+     * @param model the game model
+     */
+    public void afterEndDay(GameModel model) {
+        if (atEndOfDay) {
+            save(model);
+        }
+    }
+
+    /**
+     * Hands the game to the writer thread, over the oldest autosave.
+     *
+     * @param model the game model
+     */
+    private void save(GameModel model) {
+        actionsSinceSave = 0;
+        int day = model.getDay();
+        int numPlayers = model.getNumPlayers();
+        Path path = directory.resolve(PREFIX + nextSlot + EXTENSION);
+        nextSlot = (nextSlot + 1) % keep;
+        SaveService.getInstance()
+            .saveGzipJson(model, path)
+            .whenComplete((saved, error) -> {
+                if (error == null) {
+                    SaveCatalog.getInstance().saved(saved, day, numPlayers);
+                } else {
+                    error.printStackTrace();
+                }
+            });
+    }
+
+
+// ============================================================
+// Helpers
+// ============================================================
+
+
+    /**
+     * Returns the slot to write first: a missing one, or else the one
+     * written longest ago, so a restarted game keeps the newest autosaves.
+     *
+     * @return the slot
+     */
+    private int oldestSlot() {
+        int oldest = 0;
+        FileTime oldestTime = null;
+        for (int slot = 0; slot < keep; slot++) {
+            Path path = directory.resolve(PREFIX + slot + EXTENSION);
+            try {
+                FileTime time = Files.getLastModifiedTime(path);
+                if (oldestTime == null || time.compareTo(oldestTime) < 0) {
+                    oldest = slot;
+                    oldestTime = time;
+                }
+            } catch (IOException e) {
+                // Missing, fill it first
+                return slot;
+            }
+        }
+        return oldest;
+    }
+
+    /**
+     * Reads a whole number from the configuration.
+     *
+     * @param config the configuration
+     * @param key the key of the number
+     * @param defaultValue the number used if the key is missing or invalid
+     * @return the number
+     */
+    private static int intProperty(Properties config, String key, int defaultValue) {
+        String value = config.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid " + key + " in config.properties: " + value);
+            return defaultValue;
+        }
+    }
+
+}
@@ -1,17 +1,50 @@
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Represents the game board for the Deadwood game.
+ * <p>
+ * The board state is kept in int arrays indexed by player ID - 1 and by the
+ * dense location IDs of the SymbolTable, so the per-action hot path does no
+ * hashing or string compares. The methods that take location names adapt
+ * them through the SymbolTable for the views and the command line.
+ * <p>
+ * Boards saved before the IDs kept the same state in maps keyed by player
+ * ID and location name. JsonAdapter still reads those, and bind resolves
+ * the names once the locations of the game are known.
  */
 public class Board {
+    // Maximum number of players in a game
+    private static final int MAX_PLAYERS = 8;
+
     private int numScenesRemaining;
-    // maps player ID to location name
-    private Map<Integer, String> playerLocation;
-    // maps player ID to role name
-    private Map<Integer, String> playerRole;
-    // maps location name to scene card ID
-    private Map<String, Integer> locationScene;
+    // maps player ID - 1 to location ID
+    private int[] playerLocation;
+    // maps player ID - 1 to role ID, NONE if the player has no role
+    private int[] playerRole;
+    // maps player ID - 1 to whether the player's role is on a scene card
+    private boolean[] playerRoleOnCard;
+    // maps location ID to scene card ID, NONE if the location has no card
+    private int[] locationScene;
+    // maps location ID to a bitmask of the IDs of the players there, where
+    // bit ID - 1 is set for each player, rebuilt from playerLocation on load
+    private transient int[] locationPlayers;
+    // lookups that are not saved and are bound again when a game is loaded
+    private transient SymbolTable symbols;
+    private transient Location[] locationsByID;
+    private transient Deck deck;
+    // the name keyed maps of a board saved before the IDs, null otherwise
+    private transient Map<Integer, String> legacyPlayerLocation;
+    private transient Map<Integer, String> legacyPlayerRole;
+    private transient Map<String, Integer> legacyLocationScene;
 
 
 // Contructor and Initialization
@@ -22,20 +55,105 @@ public class Board {
      *
      * @param deck The deck of cards
      * @param locations The map of locations
+     * @param symbols The IDs of the locations
      */
-    public Board(Deck deck, Map<String, Location> locations) {
+    public Board(Deck deck, Map<String, Location> locations, SymbolTable symbols) {
+        int numLocations = symbols.getNumLocations();
         // Initialize number of scenes remaining
         this.numScenesRemaining = 10;
-        // Initialize players at locations map
-        this.playerLocation = new HashMap<>();
-        // Initialize player roles map
-        this.playerRole = new HashMap<>();
-        // Initialize location scene map
-        this.locationScene = new HashMap<>();
+        // Initialize players at locations
+        this.playerLocation = new int[MAX_PLAYERS];
+        Arrays.fill(this.playerLocation, SymbolTable.NONE);
+        // Initialize player roles
+        this.playerRole = new int[MAX_PLAYERS];
+        Arrays.fill(this.playerRole, SymbolTable.NONE);
+        this.playerRoleOnCard = new boolean[MAX_PLAYERS];
+        // Initialize location scenes
+        this.locationScene = new int[numLocations];
+        Arrays.fill(this.locationScene, SymbolTable.NONE);
+        // Bind the lookups
+        bind(deck, locations, symbols);
         // Deal scene cards to locations
         dealSceneCardsToLocations(deck, locations);
     }
 
+    /**
+     * Binds the lookups that are not saved with the board and rebuilds the
+     * index of players by location.
+     *
+     * @param deck The deck of cards
+     * @param locations The map of locations
+     * @param symbols The IDs of the locations
+     */
+    public void bind(Deck deck, Map<String, Location> locations, SymbolTable symbols) {
+        this.deck = deck;
+        this.symbols = symbols;
+        this.locationsByID = new Location[symbols.getNumLocations()];
+        for (Location location : locations.values()) {
+            this.locationsByID[location.getID()] = location;
+        }
+        if (this.legacyPlayerLocation != null) {
+            resolveLegacyNames();
+        }
+        this.locationPlayers = new int[symbols.getNumLocations()];
+        for (int i = 0; i < this.playerLocation.length; i++) {
+            if (this.playerLocation[i] != SymbolTable.NONE) {
+                this.locationPlayers[this.playerLocation[i]] |= 1 << i;
+            }
+        }
+    }
+
+    /**
+     * Returns whether the board was loaded from a save that kept its state
+     * by name, whose locations and roles were saved without their IDs.
+     *
+     * @return true if the board was saved by name, false otherwise
+     */
+    public boolean hasLegacyNames() {
+        return this.legacyPlayerLocation != null;
+    }
+
+    /**
+     * Fills the state arrays from the name keyed maps of a board saved
+     * before the IDs. A role was saved by name only, so a player's role is
+     * looked for on the scene card at the player's location first, as the
+     * old board did, and then at the location itself.
+     */
+    private void resolveLegacyNames() {
+        this.playerLocation = new int[MAX_PLAYERS];
+        Arrays.fill(this.playerLocation, SymbolTable.NONE);
+        this.playerRole = new int[MAX_PLAYERS];
+        Arrays.fill(this.playerRole, SymbolTable.NONE);
+        this.playerRoleOnCard = new boolean[MAX_PLAYERS];
+        this.locationScene = new int[this.symbols.getNumLocations()];
+        Arrays.fill(this.locationScene, SymbolTable.NONE);
+        for (Map.Entry<String, Integer> entry : this.legacyLocationScene.entrySet()) {
+            if (entry.getValue() != null) {
+                this.locationScene[this.symbols.getLocationID(entry.getKey())] = entry.getValue();
+            }
+        }
+        for (Map.Entry<Integer, String> entry : this.legacyPlayerLocation.entrySet()) {
+            this.playerLocation[entry.getKey() - 1] = this.symbols.getLocationID(entry.getValue());
+        }
+        for (Map.Entry<Integer, String> entry : this.legacyPlayerRole.entrySet()) {
+            if (entry.getValue() == null) {
+                continue;
+            }
+            int locationID = this.playerLocation[entry.getKey() - 1];
+            List<Role> roles = new ArrayList<>(getLocationSceneCardRoles(locationID));
+            roles.addAll(this.locationsByID[locationID].getRoles());
+            for (Role role : roles) {
+                if (role.getName().equals(entry.getValue())) {
+                    setPlayerRole(entry.getKey(), role);
+                    break;
+                }
+            }
+        }
+        this.legacyPlayerLocation = null;
+        this.legacyPlayerRole = null;
+        this.legacyLocationScene = null;
+    }
+
     /**
      * Deals new scene card to each location on the board.
      */
@@ -46,10 +164,8 @@ public class Board {
             }
             // Draw a scene card from the deck
             SceneCard card = deck.drawCard();
-            // Get the scene card ID
-            int sceneCardID = card.getID();
             // Set the scene card for the location
-            this.locationScene.put(location.getName(), sceneCardID);
+            this.locationScene[location.getID()] = card.getID();
         }
     }
 
@@ -78,6 +194,15 @@ public class Board {
         return this.numScenesRemaining;
     }
 
+    /**
+     * Sets the number of scenes remaining in the game.
+     *
+     * @param numScenesRemaining The number of scenes remaining in the game.
+     */
+    public void setNumScenesRemaining(int numScenesRemaining) {
+        this.numScenesRemaining = numScenesRemaining;
+    }
+
     /**
      * Resets the number of scenes remaining in the game.
      */
@@ -94,52 +219,78 @@ public class Board {
         return --this.numScenesRemaining;
     }
 
+    /**
+     * Returns the IDs of the locations on the board.
+     *
+     * @return The symbol table of the board.
+     */
+    public SymbolTable getSymbols() {
+        return this.symbols;
+    }
+
+    /**
+     * Returns the location with the given ID.
+     *
+     * @param locationID The ID of the location.
+     * @return The location.
+     */
+    public Location getLocation(int locationID) {
+        return this.locationsByID[locationID];
+    }
+
 
 // Scene and Location Management
 
 
     /**
      * Wraps the scene in the Location.
+     *
+     * @param activePlayer the player who wrapped the scene
+     * @param players the players to check for roles at the Location
+     * @param deck the deck of scene cards
+     * @param location the Location of the scene
+     * @param diceRolls the bonus dice rolls sorted from highest to lowest
+     * @param numDice the number of valid dice rolls
      */
     public void wrapScene(
-        Player activePlayer, 
-        List<Player> players, 
-        Deck deck, 
-        Location location, 
-        List<Integer> diceRolls
+        Player activePlayer,
+        List<Player> players,
+        Deck deck,
+        Location location,
+        int[] diceRolls,
+        int numDice
     ) {
         // Get players at location
         List<Player> playersAtLocation = getLocationPlayers(players, location);
         // Get the scene card at the location
-        int sceneCardID = getLocationSceneCardID(location.getName());
-        SceneCard sceneCard = deck.getDrawnCard(sceneCardID);
-        // Get a list of the names of the on card roles
-        List<String> roleNamesOnCard = sceneCard.getRoles().stream()
-            .map(Role::getName)
-            .collect(Collectors.toList());
-        // Get the players working on card
-        List<Player> playersOnCard = playersAtLocation.stream()
-            .filter(player -> roleNamesOnCard.contains(getPlayerRole(player.getID())))
-            .collect(Collectors.toList());
-        // Get a list of the names of the off card roles
-        List<String> rolesNamesOffCard = location.getRoles().stream()
-            .map(Role::getName)
-            .collect(Collectors.toList());
-        // Get the players working off card
-        List<Player> playersOffCard = playersAtLocation.stream()
-            .filter(player -> rolesNamesOffCard.contains(getPlayerRole(player.getID())))
-            .collect(Collectors.toList());
+        int sceneCardID = this.locationScene[location.getID()];
+        // Split the players with roles into those on and off card
+        List<Player> playersOnCard = new ArrayList<>(playersAtLocation.size());
+        List<Player> playersOffCard = new ArrayList<>(playersAtLocation.size());
+        for (Player player : playersAtLocation) {
+            int index = player.getID() - 1;
+            if (this.playerRole[index] == SymbolTable.NONE) {
+                continue;
+            }
+            if (this.playerRoleOnCard[index]) {
+                playersOnCard.add(player);
+            } else {
+                playersOffCard.add(player);
+            }
+        }
         // Pay out bonus if any player was on a card
         if (playersOnCard.size() > 0) {
-            payOutBonus(activePlayer, playersOnCard, playersOffCard, deck, location, diceRolls);
+            payOutBonus(activePlayer, playersOnCard, playersOffCard, deck, location, diceRolls, numDice);
         }
         // Remove all players from their roles and reset rehearsal tokens
-        playersAtLocation.forEach(player -> setPlayerRole(player.getID(), null));
-        playersAtLocation.forEach(player -> player.resetRehearsalTokens());
+        for (Player player : playersAtLocation) {
+            setPlayerRole(player.getID(), (Role) null);
+            player.resetRehearsalTokens();
+        }
         // Reset takes
         location.resetTakes();
         // Clear the scene card from the location
-        setLocationSceneCard(location.getName(), null);
+        this.locationScene[location.getID()] = SymbolTable.NONE;
         // set the scene card to discarded
         deck.discardCard(sceneCardID);
         // set wrapped to true
@@ -152,13 +303,13 @@ public class Board {
      * Clears the scene card from the Location and redefines the roles list.
      */
     public void clearSceneCard(String locationName) {
-        // Overwrite the scene card with null
-       this.locationScene.put(locationName, null);
+        // Overwrite the scene card with none
+        this.locationScene[this.symbols.getLocationID(locationName)] = SymbolTable.NONE;
     }
 
     /**
      * Wraps a shot at a location.
-     * 
+     *
      * @param location The location to wrap a shot at.
      */
     public void wrapLocationShot(Location location) {
@@ -167,7 +318,7 @@ public class Board {
 
     /**
      * Returns the number of shots remaining at a location.
-     *  
+     *
      * @param location The location to check.
      * @return The number of shots remaining at the location.
      */
@@ -191,52 +342,83 @@ public class Board {
 
     /**
      * Sets a player's location on the board.
-     * 
+     *
      * @param player The player to set the location for.
      * @param locationName The name of the location to set.
      */
     public void setPlayerLocation(Player player, String locationName) {
-        playerLocation.put(player.getID(), locationName);
+        setPlayerLocation(player, this.symbols.getLocationID(locationName));
+    }
+
+    /**
+     * Sets a player's location on the board.
+     *
+     * @param player The player to set the location for.
+     * @param locationID The ID of the location to set.
+     */
+    public void setPlayerLocation(Player player, int locationID) {
+        int index = player.getID() - 1;
+        int playerBit = 1 << index;
+        int oldLocationID = this.playerLocation[index];
+        // Move the player's bit from the old location to the new one
+        if (oldLocationID != SymbolTable.NONE) {
+            this.locationPlayers[oldLocationID] &= ~playerBit;
+        }
+        this.locationPlayers[locationID] |= playerBit;
+        this.playerLocation[index] = locationID;
+    }
+
+    /**
+     * Returns the ID of the location a player is at.
+     *
+     * @param playerID The ID of the player to check.
+     * @return The ID of the location the player is at.
+     */
+    public int getPlayerLocationID(int playerID) {
+        return this.playerLocation[playerID - 1];
     }
 
     /**
      * Returns the name of the location a player is at.
-     * 
+     *
      * @param player The player to check.
      * @return The name of the location the player is at.
      */
     public String getPlayerLocationName(Player player) {
-        return playerLocation.get(player.getID());
+        return this.symbols.getLocationName(this.playerLocation[player.getID() - 1]);
     }
 
     /**
      * Returns the players at a location.
-     * 
+     *
      * @param players The list of all players.
      * @param location The location to check.
      * @return The players at the location.
      */
     public List<Player> getLocationPlayers(List<Player> players, Location location) {
+        int mask = this.locationPlayers[location.getID()];
         // Create a list to store the players at the location
-        List<Player> playersAtLocation = new ArrayList<>();
-        // Iterate over the playerLocation map to find players at the location
-        for (Map.Entry<Integer, String> entry : playerLocation.entrySet()) {
-            if (entry.getValue().equals(location.getName())) {
-                // Returns the player's ID as an Integer
-                Integer playerId = entry.getKey();
-                // Returns a Player object given a player's ID
-                Player player = players.stream()
-                    .filter(p -> Integer.valueOf(p.getID()).equals(playerId))
-                    .findFirst()
-                    .orElse(null);
-                if (player != null) {
-                    playersAtLocation.add(player);
-                }
+        List<Player> playersAtLocation = new ArrayList<>(Integer.bitCount(mask));
+        for (Player player : players) {
+            if ((mask & (1 << (player.getID() - 1))) != 0) {
+                playersAtLocation.add(player);
             }
         }
         return playersAtLocation;
     }
 
+    /**
+     * Returns the players at a location as a bitmask, where bit ID - 1 is set
+     * for each player at the location.
+     *
+     * @param locationName The name of the location to check.
+     * @return The bitmask of the players at the location.
+     */
+    public int getLocationPlayersMask(String locationName) {
+        int locationID = this.symbols.getLocationID(locationName);
+        return locationID == SymbolTable.NONE ? 0 : this.locationPlayers[locationID];
+    }
+
 
 // Role and Scene Management
 
@@ -244,94 +426,228 @@ public class Board {
     /**
      * Sets a player's role.
      *
-     * @param player The player to set the role for.
-     * @param role The role to set.
+     * @param playerID The ID of the player to set the role for.
+     * @param role The role to set, or null to remove the player's role.
      */
-    public void setPlayerRole(int playerID, String roleName) {
-        playerRole.put(playerID, roleName);
+    public void setPlayerRole(int playerID, Role role) {
+        int index = playerID - 1;
+        if (role == null) {
+            this.playerRole[index] = SymbolTable.NONE;
+            this.playerRoleOnCard[index] = false;
+        } else {
+            this.playerRole[index] = role.getID();
+            this.playerRoleOnCard[index] = role.getOnCard();
+        }
     }
 
     /**
      * Returns a player's role.
      *
-     * @param player The player to check.
-     * @return The player's role.
+     * @param playerID The ID of the player to check.
+     * @return The player's role, or null if the player has no role.
+     */
+    public Role getPlayerRole(int playerID) {
+        int index = playerID - 1;
+        int roleID = this.playerRole[index];
+        if (roleID == SymbolTable.NONE) {
+            return null;
+        }
+        int locationID = this.playerLocation[index];
+        List<Role> roles = this.playerRoleOnCard[index]
+            ? getLocationSceneCardRoles(locationID)
+            : this.locationsByID[locationID].getRoles();
+        for (Role role : roles) {
+            if (role.getID() == roleID) {
+                return role;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns whether a player has a role.
+     *
+     * @param playerID The ID of the player to check.
+     * @return true if the player has a role, false otherwise.
+     */
+    public boolean hasPlayerRole(int playerID) {
+        return this.playerRole[playerID - 1] != SymbolTable.NONE;
+    }
+
+    /**
+     * Returns whether a player's role is on a scene card.
+     *
+     * @param playerID The ID of the player to check.
+     * @return true if the player has an on card role, false otherwise.
      */
-    public String getPlayerRole(int playerID) {
-        return playerRole.get(playerID);
+    public boolean isPlayerOnCard(int playerID) {
+        int index = playerID - 1;
+        return this.playerRole[index] != SymbolTable.NONE && this.playerRoleOnCard[index];
     }
 
     /**
      * Sets the scene card at a location.
-     * 
+     *
      * @param locationName The name of the location to set the scene card for.
-     * @param sceneCard The scene card to set.
+     * @param sceneCardID The ID of the scene card to set, or null for none.
      */
     public void setLocationSceneCard(String locationName, Integer sceneCardID) {
-        locationScene.put(locationName, sceneCardID);
+        this.locationScene[this.symbols.getLocationID(locationName)] =
+            sceneCardID == null ? SymbolTable.NONE : sceneCardID;
+    }
+
+    /**
+     * Sets the scene card at a location.
+     *
+     * @param locationID The ID of the location to set the scene card for.
+     * @param sceneCardID The ID of the scene card to set, or NONE.
+     */
+    public void setLocationSceneCard(int locationID, int sceneCardID) {
+        this.locationScene[locationID] = sceneCardID;
     }
 
     /**
      * Returns the scene card at a location.
-     * 
+     *
      * @param locationName The name of the location to check.
-     * @return The scene card at the location.
+     * @return The ID of the scene card at the location, or null for none.
      */
     public Integer getLocationSceneCardID(String locationName) {
-        return locationScene.get(locationName);
+        int sceneCardID = getLocationSceneCardID(this.symbols.getLocationID(locationName));
+        return sceneCardID == SymbolTable.NONE ? null : sceneCardID;
+    }
+
+    /**
+     * Returns the scene card at a location.
+     *
+     * @param locationID The ID of the location to check.
+     * @return The ID of the scene card at the location, or NONE.
+     */
+    public int getLocationSceneCardID(int locationID) {
+        return this.locationScene[locationID];
     }
 
     /**
      * Returns the roles for the scene card at a location.
-     * 
-     * @param location The location to check.
+     *
+     * @param locationName The name of the location to check.
+     * @param deck The deck of cards.
      * @return The roles for the scene card at the location.
      */
     public List<Role> getLocationSceneCardRoles(String locationName, Deck deck) {
         // Get the scene card at the location
-        int sceneCardID = getLocationSceneCardID(locationName);
+        int sceneCardID = getLocationSceneCardID(this.symbols.getLocationID(locationName));
         SceneCard sceneCard = deck.getDrawnCard(sceneCardID);
         // Get the roles for the scene card
         return sceneCard.getRoles();
     }
 
+    /**
+     * Returns the roles for the scene card at a location, or no roles if the
+     * location has no scene card.
+     *
+     * @param locationID The ID of the location to check.
+     * @return The roles for the scene card at the location.
+     */
+    private List<Role> getLocationSceneCardRoles(int locationID) {
+        int sceneCardID = this.locationScene[locationID];
+        if (sceneCardID == SymbolTable.NONE) {
+            return Collections.emptyList();
+        }
+        return this.deck.getDrawnCard(sceneCardID).getRoles();
+    }
+
 
 // Bonus and Payout Management
 
 
     /**
      * Pays out the bonus to all players at the Location.
+     * <p>
+     * The dice rolls are already sorted from highest to lowest.
      */
     private void payOutBonus(
-        Player activePlayer, 
-        List<Player> playersOnCard, 
-        List<Player> playersOffCard, 
-        Deck deck, 
-        Location location, 
-        List<Integer> diceRolls
+        Player activePlayer,
+        List<Player> playersOnCard,
+        List<Player> playersOffCard,
+        Deck deck,
+        Location location,
+        int[] diceRolls,
+        int numDice
     ) {
-        // Sort dice rolls in descending order
-        Collections.sort(diceRolls, Collections.reverseOrder());
         // Distribute dice rolls as dollars in a round-robin fashion, starting from the active player
         int numPlayersOnCard = playersOnCard.size();
-        int numDice = diceRolls.size();
         // Pay out the on card players an amount equal to the dice roll, distributed in a round-robin fashion
         Player playerToPay = activePlayer;
         for (int i = 0; i < numDice; i++) {
-            playerToPay.addDollars(diceRolls.get(i));
+            playerToPay.addDollars(diceRolls[i]);
             playerToPay = playersOnCard.get((playersOnCard.indexOf(playerToPay) + 1) % numPlayersOnCard);
         }
         // Pay out the off card players an amount equal to the rank of their role
-        List<Role> roles = location.getRoles();
         for (Player player : playersOffCard) {
-            Role role = roles.stream()
-                .filter(r -> r.getName().equals(getPlayerRole(player.getID())))
-                .findFirst()
-                .orElse(null);
-            player.addDollars(role.getRank());
+            player.addDollars(getPlayerRole(player.getID()).getRank());
         }
     }
 
 
 
-}
\ No newline at end of file
+
+// JSON
+
+
+    /**
+     * Reads and writes boards as JSON, still reading boards saved before the
+     * IDs, which kept their state in name keyed maps.
+     */
+    public static class JsonAdapter implements TypeAdapterFactory {
+
+        /**
+         * Returns the adapter of Board, or null for any other type.
+         *
+         * @param gson the Gson instance
+         * @param type the type to adapt
+         * @return the adapter, or null if the type is not Board
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            if (type.getRawType() != Board.class) {
+                return null;
+            }
+            TypeAdapter<Board> delegate = gson.getDelegateAdapter(this, TypeToken.get(Board.class));
+            TypeAdapter<JsonElement> elements = gson.getAdapter(JsonElement.class);
+            return (TypeAdapter<T>) new TypeAdapter<Board>() {
+                @Override
+                public void write(JsonWriter out, Board board) throws IOException {
+                    delegate.write(out, board);
+                }
+
+                @Override
+                public Board read(JsonReader in) throws IOException {
+                    JsonElement element = elements.read(in);
+                    if (!element.isJsonObject()) {
+                        return delegate.fromJsonTree(element);
+                    }
+                    JsonObject json = element.getAsJsonObject();
+                    JsonElement playerLocation = json.get("playerLocation");
+                    if (playerLocation == null || !playerLocation.isJsonObject()) {
+                        return delegate.fromJsonTree(json);
+                    }
+                    // Saved by name, the maps are resolved when the board is bound
+                    JsonElement playerRole = json.remove("playerRole");
+                    JsonElement locationScene = json.remove("locationScene");
+                    json.remove("playerLocation");
+                    Board board = delegate.fromJsonTree(json);
+                    board.legacyPlayerLocation = gson.fromJson(
+                        playerLocation, new TypeToken<Map<Integer, String>>() {}.getType());
+                    board.legacyPlayerRole = playerRole == null ? new HashMap<>()
+                        : gson.fromJson(playerRole, new TypeToken<Map<Integer, String>>() {}.getType());
+                    board.legacyLocationScene = locationScene == null ? new HashMap<>()
+                        : gson.fromJson(locationScene, new TypeToken<Map<String, Integer>>() {}.getType());
+                    return board;
+                }
+            };
+        }
+    }
+
+}
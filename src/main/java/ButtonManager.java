@@ -4,68 +4,126 @@ import javafx.scene.control.Button;
 import javafx.scene.control.Tooltip;
 import java.util.function.BiConsumer;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Manages the buttons for the game.
+ * <p>
+ * Buttons are pooled: the first time a command is offered at a position on
+ * the board a button is created for it in the overlay group, and after
+ * that the same button is shown and hidden again. A command that follows a
+ * moving piece, like END on the player's die, has a single button that is
+ * moved instead. Offering the player's actions therefore only toggles and
+ * moves buttons instead of creating new nodes.
  */
 public class ButtonManager {
-    // List to keep track of all buttons
+    // Group holding every pooled button, drawn above the board
+    private final Group overlay = new Group();
+
+    // Pooled buttons by command and position
+    private final Map<String, Button> pool = new HashMap<>();
+
+    // Buttons that move with a piece, by command
+    private final Map<String, Button> movable = new HashMap<>();
+
+    // List to keep track of the buttons shown
     private final List<Button> buttons = new ArrayList<>();
     
     // Callback for button clicks
     private BiConsumer<String, Object> onButtonClick;
     
     /**
-     * Creates a new button manager and loads the shot image.
+     * Creates a new button manager with an empty overlay.
      */
     public ButtonManager() {
 
     }
 
     /**
-     * Creates a button.
+     * Shows a button, creating it the first time its command is offered at
+     * its area.
      * 
-     * @param group the group
      * @param command the command
      * @param data the data
      * @param area the area
      * @param tooltipText the tooltip text
-     *
-     * @return the button
      */
     public void createButton(
-        Group group, 
         String command,
         Object data,
         Area area,
         String tooltipText
     ) {        
+        String key = command + ":" + area.getX() + "," + area.getY() + "," +
+                     area.getW() + "," + area.getH();
+        Button button = pool.computeIfAbsent(
+            key,
+            k -> newButton(command, area, tooltipText)
+        );
+
+        showButton(button, data);
+    }
+
+    /**
+     * Shows the single button of a command at an area, moving it there if
+     * it was shown somewhere else before.
+     *
+     * @param command the command
+     * @param data the data
+     * @param area the area
+     * @param tooltipText the tooltip text
+     */
+    public void createMovableButton(
+        String command,
+        Object data,
+        Area area,
+        String tooltipText
+    ) {
+        Button button = movable.computeIfAbsent(
+            command,
+            k -> newButton(command, area, tooltipText)
+        );
+        placeButton(button, area);
+        showButton(button, data);
+    }
+
+    /**
+     * Shows a pooled button with the data of this offer.
+     *
+     * @param button the button
+     * @param data the data
+     */
+    private void showButton(Button button, Object data) {
+        // The data is read when the button is clicked
+        button.setUserData(data);
+
+        // Show the button
+        if (!button.isVisible()) {
+            button.setVisible(true);
+            button.setDisable(false);
+            buttons.add(button);
+        }
+    }
+
+    /**
+     * Creates a hidden button for a command at an area and adds it to the
+     * overlay.
+     *
+     * @param command the command
+     * @param area the area
+     * @param tooltipText the tooltip text
+     * @return the button
+     */
+    private Button newButton(String command, Area area, String tooltipText) {
         // Create a new clickable area button with command as label
         Button button = new Button(command);
         
-        // Set the associated data type
-        if (command.equalsIgnoreCase("MOVE") || command.equalsIgnoreCase("WORK")) {
-            button.setUserData((String) data);
-        }
-        else if (command.equals("UPGRADE")){
-            button.setUserData((Upgrade) data); // 'data' is an Upgrade object
-        }
-        
         // Set the tooltip text
         button.setTooltip(new Tooltip(tooltipText)); 
 
-        // Set the size and position of the button
-        button.setLayoutX(area.getX());
-        button.setLayoutY(area.getY());
-        button.setPrefWidth(area.getW());
-        button.setPrefHeight(area.getH());
-
-        // Enforce exact button dimensions by setting min and max sizes
-        button.setMinWidth(area.getW());
-        button.setMinHeight(area.getH());
-        button.setMaxWidth(area.getW());
-        button.setMaxHeight(area.getH());
+        placeButton(button, area);
 
         // Remove padding to prevent automatic size adjustments
         button.setPadding(new Insets(0));
@@ -82,18 +140,37 @@ public class ButtonManager {
         button.setOnMouseClicked(event -> {
             // Notify any additional listeners through the callback
             if (onButtonClick != null) {
-                onButtonClick.accept(command, data);
+                onButtonClick.accept(command, button.getUserData());
             }
 
         });
 
-        // Add button to the group
-        group.getChildren().add(button);
-    
-        // Add the button to the list of buttons
-        buttons.add(button);
+        // Add the hidden button to the overlay
+        button.setVisible(false);
+        button.setDisable(true);
+        overlay.getChildren().add(button);
+        return button;
     }
     
+    /**
+     * Sets the position and exact size of a button.
+     *
+     * @param button the button
+     * @param area the area
+     */
+    private void placeButton(Button button, Area area) {
+        button.setLayoutX(area.getX());
+        button.setLayoutY(area.getY());
+        button.setPrefWidth(area.getW());
+        button.setPrefHeight(area.getH());
+
+        // Enforce exact button dimensions by setting min and max sizes
+        button.setMinWidth(area.getW());
+        button.setMinHeight(area.getH());
+        button.setMaxWidth(area.getW());
+        button.setMaxHeight(area.getH());
+    }
+
     /**
      * Set a callback for when a button is clicked.
      * 
@@ -104,16 +181,24 @@ public class ButtonManager {
     }
 
     /**
-     * Removes all clickable areas from the pane.
-     * 
-     * @param pane the pane from which buttons will be removed
+     * Hides all clickable areas on the board.
      */
-    public void clearAllButtons(Group group) {
+    public void clearAllButtons() {
         for (Button button : buttons) {
-            group.getChildren().remove(button);
+            button.setVisible(false);
+            button.setDisable(true);
+            button.setUserData(null);
         }
         buttons.clear();
     }
 
+    /**
+     * Returns the group holding the buttons, to be added to the board.
+     *
+     * @return the overlay group
+     */
+    public Group getOverlay() {
+        return this.overlay;
+    }
 
-}
\ No newline at end of file
+}
@@ -1,6 +1,6 @@
 import javafx.scene.control.TextArea;
-import javafx.scene.Group;
 import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Manages the console for the game.
@@ -11,14 +11,14 @@ public class ConsoleManager {
     /**
      * Create the console.
      * 
-     * @param group the group to which to add the console
+     * @param transaction the scene graph transaction that adds the console
      * @param X the x-coordinate of the console
      * @param Y the y-coordinate of the console
      * @param WIDTH the width of the console
      * @param HEIGHT the height of the console
      */
     public void createConsole(
-        Group group, 
+        SceneGraphTransaction transaction, 
         int X, 
         int Y, 
         int WIDTH, 
@@ -40,12 +40,16 @@ public class ConsoleManager {
             console.setScrollTop(Double.MAX_VALUE);
         });
 
-        // Add the console directly to the group
-        group.getChildren().add(console);
+        // Add the console to the group
+        transaction.add(console);
 
 
-        // Redirect System.out to the console
-        System.setOut(new PrintStream(new ConsoleOutputStream(console)));
+        // Redirect System.out to the console, encoded as the stream decodes it
+        System.setOut(new PrintStream(
+            new ConsoleOutputStream(console),
+            true,
+            StandardCharsets.UTF_8
+        ));
     }
 
 }
\ No newline at end of file
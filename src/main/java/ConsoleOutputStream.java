@@ -1,17 +1,51 @@
 import javafx.application.Platform;
 import javafx.scene.control.TextArea;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Custom output stream for the console.
+ * <p>
+ * Bytes are decoded as UTF-8 into a pending buffer on the writing thread.
+ * The first text to arrive in an empty buffer schedules a single task on
+ * the JavaFX thread, which appends everything pending by then to the text
+ * area in one call, so an idle console schedules nothing. The console keeps the last MAX_LINES lines in
+ * a ring buffer and trims the text area back to them once it has grown
+ * TRIM_SLACK lines past the limit.
  */
 class ConsoleOutputStream extends OutputStream {
+    private static final int MAX_LINES = 500;
+    private static final int TRIM_SLACK = 100;
+    private static final int BUFFER_SIZE = 1024;
+
     private final TextArea textArea;
 
+    // Writing thread, guarded by the decoder
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+    private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+    private final StringBuilder pending = new StringBuilder();
+    // true while an append of the pending text is scheduled
+    private final AtomicBoolean appendScheduled = new AtomicBoolean(false);
+
+    // JavaFX thread only
+    private final String[] lines = new String[MAX_LINES];
+    private int firstLine = 0;
+    private int lineCount = 0;
+    private final StringBuilder partialLine = new StringBuilder();
+    private int shownLines = 0;
+
 
     /**
      * Constructor for the console output stream.
-     * 
+     *
      * @param textArea the text area
      */
     public ConsoleOutputStream(TextArea textArea) {
@@ -20,14 +54,122 @@ class ConsoleOutputStream extends OutputStream {
 
     /**
      * Writes the byte to the text area.
-     * 
+     *
      * @param b the byte to write
      */
     @Override
     public void write(int b) {
-        Platform.runLater(() -> {
-            textArea.appendText(String.valueOf((char) b));
-        });
+        synchronized (decoder) {
+            bytes.put((byte) b);
+            decodeBytes();
+        }
+    }
+
+    /**
+     * Writes the bytes to the text area.
+     *
+     * @param b the bytes to write
+     * @param off the offset of the first byte
+     * @param len the number of bytes
+     */
+    @Override
+    public void write(byte[] b, int off, int len) {
+        synchronized (decoder) {
+            while (len > 0) {
+                int n = Math.min(bytes.remaining(), len);
+                bytes.put(b, off, n);
+                off += n;
+                len -= n;
+                decodeBytes();
+            }
+        }
+    }
+
+    /**
+     * Decodes the complete characters in the byte buffer into the pending
+     * text, scheduling an append if the pending text was empty. A character
+     * split across writes stays in the byte buffer. Called with the decoder
+     * held.
+     */
+    private void decodeBytes() {
+        bytes.flip();
+        decoder.decode(bytes, chars, false);
+        bytes.compact();
+        chars.flip();
+        if (chars.hasRemaining()) {
+            synchronized (pending) {
+                pending.append(chars);
+            }
+            if (appendScheduled.compareAndSet(false, true)) {
+                Platform.runLater(this::appendPending);
+            }
+        }
+        chars.clear();
+    }
+
+    /**
+     * Appends the text written since the last append to the text area.
+     */
+    private void appendPending() {
+        // Text written from here on schedules another append
+        appendScheduled.set(false);
+        String text;
+        synchronized (pending) {
+            if (pending.length() == 0) {
+                return;
+            }
+            text = pending.toString();
+            pending.setLength(0);
+        }
+
+        // Keep the last lines in the ring buffer
+        int start = 0;
+        int newline;
+        while ((newline = text.indexOf('\n', start)) >= 0) {
+            partialLine.append(text, start, newline);
+            addLine(partialLine.toString());
+            partialLine.setLength(0);
+            shownLines++;
+            start = newline + 1;
+        }
+        partialLine.append(text, start, text.length());
+
+        if (shownLines > MAX_LINES + TRIM_SLACK) {
+            // Replace the text with the scrollback
+            textArea.setText(scrollback());
+            shownLines = lineCount;
+        } else {
+            textArea.appendText(text);
+        }
+    }
+
+    /**
+     * Adds a complete line to the ring buffer, overwriting the oldest line
+     * once the buffer is full.
+     *
+     * @param line the line
+     */
+    private void addLine(String line) {
+        if (lineCount < MAX_LINES) {
+            lines[(firstLine + lineCount) % MAX_LINES] = line;
+            lineCount++;
+        } else {
+            lines[firstLine] = line;
+            firstLine = (firstLine + 1) % MAX_LINES;
+        }
+    }
+
+    /**
+     * Returns the lines in the ring buffer followed by the unfinished line.
+     *
+     * @return the scrollback text
+     */
+    private String scrollback() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < lineCount; i++) {
+            text.append(lines[(firstLine + i) % MAX_LINES]).append('\n');
+        }
+        return text.append(partialLine).toString();
     }
 
-}
\ No newline at end of file
+}
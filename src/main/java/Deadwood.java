@@ -1,9 +1,11 @@
 import javafx.application.Application;
 import javafx.application.Platform;
-import javafx.scene.image.Image;
+import javafx.stage.Screen;
 import javafx.stage.Stage;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.LinkedList;
 import java.util.Properties;
 import java.util.Queue;
@@ -20,6 +22,9 @@ public class Deadwood extends Application{
 
     private static final Properties config = new Properties();
 
+    // Sizes the window icon is decoded at, the platform picks the closest
+    private static final int[] APP_ICON_SIZES = { 32, 64, 256 };
+
     // Task queue for sequential execution
     private final Queue<Runnable> taskQueue = new LinkedList<>();
     private boolean isProcessing = false;
@@ -43,6 +48,14 @@ public class Deadwood extends Application{
                     startCLI();
                     break;
 
+                case "--simulate":
+                    startSimulation(args);
+                    break;
+
+                case "--tournament":
+                    startTournament(args);
+                    break;
+
                 case "--help":
                     // Display the help menu and exit
                     displayHelpMenu();
@@ -82,6 +95,17 @@ public class Deadwood extends Application{
         }
     }
 
+    /**
+     * Returns the journal file of a game, named after its seed in the saved
+     * games directory so the load command lists it.
+     *
+     * @param model the game model
+     * @return the journal file
+     */
+    private static Path journalPath(GameModel model) {
+        return Paths.get("saved", "journal-" + model.getSeed() + GameJournal.EXTENSION);
+    }
+
     /**
      * Display the help menu.
      */
@@ -91,6 +115,12 @@ public class Deadwood extends Application{
         System.out.println("Options:");
         System.out.println("  --cli      Run the game in Command Line " + 
                            "Interface (CLI) mode.");
+        System.out.println("  --simulate [GAMES] [PLAYERS]");
+        System.out.println("             Play GAMES headless games (default " +
+                           "1000) with PLAYERS random players (default 4).");
+        System.out.println("  --tournament [GAMES] [PLAYERS] [THREADS]");
+        System.out.println("             Play GAMES headless games in parallel " +
+                           "on THREADS threads (default all cores).");
         System.out.println("  --help     Display this help menu.\n");
         System.out.println("If no option is provided, the game will run in" + 
                            " GUI mode by default.\n");
@@ -108,9 +138,14 @@ public class Deadwood extends Application{
     private static void startCLI() {
         try {
             GameView view = initializeCLIView();
-            GameModel model = initializeModel(view);
-            GameController controller = initializeCLIController(model, view);
-            playGame(controller);
+            GameContext context = new GameContext(GameModel.getInstance(), view);
+            context.initializeGame(
+                config.getProperty("boardXMLFilePath"),
+                config.getProperty("cardsXMLFilePath")
+            );
+            context.getController().startJournal(journalPath(context.getModel()));
+            context.getController().setAutosave(Autosave.fromConfig(config));
+            context.playGame();
         } catch (Exception e) {
             System.err.println("An error occurred during CLI initialization: " +
                                e.getMessage());
@@ -129,46 +164,61 @@ public class Deadwood extends Application{
         return view;
     }
 
-    /**
-     * Initializes the game model for both CLI and GUI views.
-     * 
-     * @param view the view to register as an observer
-     * @return the initialized model
-     */
-    private static GameModel initializeModel(GameView view) {
-        GameModel model = GameModel.getInstance();
-        model.registerObserver(view);
-        return model;
-    }
+
+// ============================================================
+// Simulation Mode
+// ============================================================
+
 
     /**
-     * Initializes the CLI controller.
+     * Starts the Deadwood application in headless simulation mode.
      *
-     * @return the initialized controller
+     * @param args the command line arguments
      */
-    private static GameController initializeCLIController(
-        GameModel model, 
-        GameView view
-    ) {
-        GameController controller = new GameController();
-        controller.initializeGame(
-            model, 
-            view, 
-            config.getProperty("boardXMLFilePath"), 
-            config.getProperty("cardsXMLFilePath")
-        );
-        return controller;
+    private static void startSimulation(String[] args) {
+        try {
+            int numGames = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+            int numPlayers = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+            SimulationEngine engine = new SimulationEngine(
+                numPlayers,
+                config.getProperty("boardXMLFilePath"),
+                config.getProperty("cardsXMLFilePath")
+            );
+            engine.run(numGames, System.nanoTime());
+        } catch (Exception e) {
+            System.err.println("An error occurred during simulation: " +
+                               e.getMessage());
+            e.printStackTrace();
+        }
     }
 
     /**
-     * Plays the game in CLI mode.
-     * @param controller the game controller
+     * Plays a parallel tournament of headless games and prints the results.
+     *
+     * @param args the command line arguments
      */
-    private static void playGame(GameController controller) {
-        controller.playDays();
-        controller.scoreGame();
+    private static void startTournament(String[] args) {
+        try {
+            int numGames = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+            int numPlayers = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+            int numThreads = args.length > 3
+                ? Integer.parseInt(args[3])
+                : Runtime.getRuntime().availableProcessors();
+            Tournament tournament = new Tournament(
+                numPlayers,
+                config.getProperty("boardXMLFilePath"),
+                config.getProperty("cardsXMLFilePath"),
+                numThreads
+            );
+            tournament.run(numGames, System.nanoTime()).printSummary();
+            tournament.shutdown();
+        } catch (Exception e) {
+            System.err.println("An error occurred during the tournament: " +
+                               e.getMessage());
+            e.printStackTrace();
+        }
     }
-    
+
 
 // ============================================================
 // GUI Mode
@@ -186,9 +236,20 @@ public class Deadwood extends Application{
             // Set the title of the window (Stage)
             primaryStage.setTitle("Deadwood");
 
-            // Set the icon for the application
-            Image icon = new Image("deadwood_appicon.png");
-            primaryStage.getIcons().add(icon);
+            // Decode images for the scale of the screen
+            ImageCache imageCache = ImageCache.getInstance();
+            imageCache.setOutputScale(Screen.getPrimary().getOutputScaleX());
+
+            // Set the icon for the application, decoded at the icon sizes
+            // rather than its full 1024x1024
+            for (int size : APP_ICON_SIZES) {
+                primaryStage.getIcons().add(
+                    imageCache.get("deadwood_appicon.png", size, size)
+                );
+            }
+
+            // Start decoding the cards and dice in the background
+            imageCache.preload();
 
             // Initialize GUI view (Sets the stage for the GameGUIView)
             initializeView(primaryStage);
@@ -254,8 +315,8 @@ public class Deadwood extends Application{
      * Run the initializeModel method on the JavaFX application thread.
      */
     private void runInitModel() {
-        // Register the GUI view as an observer of the model
-        GameModel.getInstance().registerObserver(GameGUIView.getInstance());
+        // Subscribe the GUI view to the model's events
+        GameGUIView.getInstance().subscribe(GameModel.getInstance().getEventBus());
         // Initialize the model
         GameModel.getInstance().initModel(
             this.numPlayers,
@@ -277,6 +338,8 @@ public class Deadwood extends Application{
             config.getProperty("boardXMLFilePath"), 
             config.getProperty("cardsXMLFilePath")
         );
+        controller.startJournal(journalPath(GameModel.getInstance()));
+        controller.setAutosave(Autosave.fromConfig(config));
         // Continue to the next task
         processNextTask();
     }
@@ -313,9 +376,7 @@ public class Deadwood extends Application{
      * @param controller the game controller
      */
     public void runPlayDaysThenScoreGame(GameController controller) {
-        controller.playDaysGUI().thenRun(() -> {
-            Platform.runLater(controller::scoreGame);  // GUI-specific end
-        });
+        controller.playDaysGUI(controller::scoreGame);  // GUI-specific end
     }
     
     /**
@@ -1,27 +1,42 @@
 import java.util.*;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents a shuffled deck of SceneCard objects.
+ * <p>
+ * Drawn cards are kept in an array indexed by card ID, so looking up or
+ * discarding a drawn card takes constant time.
  */
 public class Deck {
-    // create a list for undrawn cards
-    private List<SceneCard> undrawnCards;
-    // create an empty list for drawn cards
-    private List<SceneCard> drawnCards = new ArrayList<>();
+    // create a queue for undrawn cards, the top card is at the head
+    private ArrayDeque<SceneCard> undrawnCards;
+    // create an array for drawn cards indexed by card ID, null if not drawn
+    private SceneCard[] drawnCards;
+    // count of the non-null entries in drawnCards
+    private int numDrawnCards;
+    // false when drawnCards was loaded from a save that stored a plain list
+    private transient boolean indexed;
 
 
     /**
      * Initializes a new shuffled Deck with SceneCard objects created from the data in the XML file at the given path.
      *
      * @param cards The list of SceneCard objects to populate the deck with.
+     * @param random The random generator to shuffle the deck with.
      */
-    public Deck(List<SceneCard> cards) {
-        // populate the deck of undrawn cards
-        this.undrawnCards = new ArrayList<>(cards);
-        // shuffle the deck of undrawn cards
-        this.shuffle();
-        // populate the list of drawn cards
-        this.drawnCards = new ArrayList<>();
+    public Deck(List<SceneCard> cards, RandomGenerator random) {
+        // shuffle the cards before they become the deck of undrawn cards
+        List<SceneCard> shuffled = new ArrayList<>(cards);
+        shuffle(shuffled, random);
+        this.undrawnCards = new ArrayDeque<>(shuffled);
+        // size the array of drawn cards by the highest card ID
+        int maxID = 0;
+        for (SceneCard card : cards) {
+            maxID = Math.max(maxID, card.getID());
+        }
+        this.drawnCards = new SceneCard[maxID + 1];
+        this.numDrawnCards = 0;
+        this.indexed = true;
     }
 
     /**
@@ -33,9 +48,10 @@ public class Deck {
     public SceneCard drawCard() {
         if (!this.undrawnCards.isEmpty()) {
             // remove the top card from the undrawn deck
-            SceneCard card = this.undrawnCards.remove(0);
+            SceneCard card = this.undrawnCards.poll();
             // add the card to the drawn deck
-            this.drawnCards.add(card);
+            drawnCardsByID()[card.getID()] = card;
+            this.numDrawnCards++;
             // return the card
             return card;
         } else {
@@ -44,10 +60,26 @@ public class Deck {
     }
 
     /**
-     * Shuffles the cards in the deck.
+     * Shuffles the undrawn cards in the deck with a Fisher-Yates shuffle.
+     *
+     * @param random The random generator to shuffle with.
+     */
+    public void shuffle(RandomGenerator random) {
+        List<SceneCard> shuffled = new ArrayList<>(this.undrawnCards);
+        shuffle(shuffled, random);
+        this.undrawnCards = new ArrayDeque<>(shuffled);
+    }
+
+    /**
+     * Shuffles a list of cards with a Fisher-Yates shuffle.
+     *
+     * @param cards The cards to shuffle.
+     * @param random The random generator to shuffle with.
      */
-    public void shuffle() {
-        Collections.shuffle(this.undrawnCards);
+    private static void shuffle(List<SceneCard> cards, RandomGenerator random) {
+        for (int i = cards.size() - 1; i > 0; i--) {
+            Collections.swap(cards, i, random.nextInt(i + 1));
+        }
     }
     
     /**
@@ -63,9 +95,12 @@ public class Deck {
      * @param sceneCardID the ID of the SceneCard to discard
      */
     public void discardCard(int sceneCardID) {
-        SceneCard card = getDrawnCard(sceneCardID);
+        SceneCard[] cards = drawnCardsByID();
         // remove the card from the drawn deck
-        this.drawnCards.remove(card);
+        if (sceneCardID >= 0 && sceneCardID < cards.length && cards[sceneCardID] != null) {
+            cards[sceneCardID] = null;
+            this.numDrawnCards--;
+        }
     }
 
     /**
@@ -74,21 +109,99 @@ public class Deck {
      * @return the SceneCard with the given ID
      */
     public SceneCard getDrawnCard(int sceneCardID) {
-        for (SceneCard card : this.drawnCards) {
-            int id = card.getID();
-            if (id == sceneCardID) {
-                return card;
-            }
+        SceneCard[] cards = drawnCardsByID();
+        if (sceneCardID < 0 || sceneCardID >= cards.length) {
+            // Return null if no card matches the given ID
+            return null;
         }
-        // Return null if no card matches the given ID
-        return null; 
+        return cards[sceneCardID];
     }
 
     /**
-     * Removes the last card from the drawn cards and adds it to the discarded cards.
+     * Removes the remaining card from the drawn cards at the end of a day.
      */
     public void discardLastDrawnCard() {
-        SceneCard lastCard = this.drawnCards.get(0);
-        this.drawnCards.remove(lastCard);
+        if (this.numDrawnCards == 0) {
+            return;
+        }
+        SceneCard[] cards = drawnCardsByID();
+        for (int id = 0; id < cards.length; id++) {
+            if (cards[id] != null) {
+                discardCard(id);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the undrawn cards in the order they will be drawn.
+     *
+     * @return A new list of the undrawn cards.
+     */
+    public List<SceneCard> getUndrawnCards() {
+        return new ArrayList<>(this.undrawnCards);
+    }
+
+    /**
+     * Returns the drawn cards that have not been discarded.
+     *
+     * @return A new list of the drawn cards in ID order.
+     */
+    public List<SceneCard> getDrawnCards() {
+        List<SceneCard> drawn = new ArrayList<>(this.numDrawnCards);
+        for (SceneCard card : drawnCardsByID()) {
+            if (card != null) {
+                drawn.add(card);
+            }
+        }
+        return drawn;
+    }
+
+    /**
+     * Replaces the contents of the deck, every card not given is discarded.
+     *
+     * @param undrawn The undrawn cards in the order they will be drawn.
+     * @param drawn The drawn cards.
+     */
+    public void restore(List<SceneCard> undrawn, List<SceneCard> drawn) {
+        this.undrawnCards = new ArrayDeque<>(undrawn);
+        SceneCard[] cards = drawnCardsByID();
+        Arrays.fill(cards, null);
+        for (SceneCard card : drawn) {
+            cards[card.getID()] = card;
+        }
+        this.numDrawnCards = drawn.size();
+    }
+
+    /**
+     * Returns the drawn cards indexed by ID, re-indexing them first if they
+     * were loaded from a save that stored them as a plain list.
+     *
+     * @return The drawn cards indexed by ID.
+     */
+    private SceneCard[] drawnCardsByID() {
+        if (!this.indexed) {
+            int maxID = 0;
+            for (SceneCard card : this.undrawnCards) {
+                maxID = Math.max(maxID, card.getID());
+            }
+            int count = 0;
+            for (SceneCard card : this.drawnCards) {
+                if (card != null) {
+                    maxID = Math.max(maxID, card.getID());
+                    count++;
+                }
+            }
+            SceneCard[] cards = new SceneCard[maxID + 1];
+            for (SceneCard card : this.drawnCards) {
+                if (card != null) {
+                    cards[card.getID()] = card;
+                }
+            }
+            this.drawnCards = cards;
+            this.numDrawnCards = count;
+            this.indexed = true;
+        }
+        return this.drawnCards;
     }
 }
@@ -1,14 +1,33 @@
+import java.util.function.IntConsumer;
+import java.util.random.RandomGenerator;
+
 /**
  * A Dice object represents a six-sided dice that can be rolled to generate a random value between 1 and 6.
+ * <p>
+ * A Dice can also roll many dice at once into a reusable buffer sorted from
+ * highest to lowest, so rolling never allocates.
  */
 public class Dice {
+    private static final int SIDES = 6;
+
+    private final RandomGenerator random;
     private int value;
+    // Reusable buffer for rolling many dice at once
+    private int[] rolls = new int[SIDES];
+    // Reusable count of each face for the counting sort
+    private final int[] faceCounts = new int[SIDES + 1];
+    // Told about every value rolled, if set
+    private IntConsumer onRoll;
 
     
     /**
-     * Constructs a new Dice object and rolls it.
+     * Constructs a new Dice object that rolls with the given random generator
+     * and rolls it.
+     *
+     * @param random the random generator to roll with
      */
-    public Dice() {
+    public Dice(RandomGenerator random) {
+        this.random = random;
         roll();
     }
 
@@ -25,6 +44,52 @@ public class Dice {
      * Rolls the Dice and initializes its value.
      */
     public void roll() {
-        this.value = (int) (Math.random() * 6) + 1;
+        this.value = this.random.nextInt(SIDES) + 1;
+        if (this.onRoll != null) {
+            this.onRoll.accept(this.value);
+        }
+    }
+
+    /**
+     * Sets a listener that is told about every value rolled.
+     *
+     * @param onRoll the listener, or null for none
+     */
+    public void setOnRoll(IntConsumer onRoll) {
+        this.onRoll = onRoll;
+    }
+
+    /**
+     * Rolls the given number of dice sorted from highest to lowest.
+     * <p>
+     * The rolls are counting sorted into a buffer owned by this Dice, so only
+     * the first numDice values are valid, and only until the next call.
+     *
+     * @param numDice the number of dice to roll
+     * @return the buffer holding the sorted rolls
+     */
+    public int[] rollSortedDescending(int numDice) {
+        if (this.rolls.length < numDice) {
+            this.rolls = new int[numDice];
+        }
+        int[] counts = this.faceCounts;
+        for (int face = 1; face <= SIDES; face++) {
+            counts[face] = 0;
+        }
+        for (int i = 0; i < numDice; i++) {
+            counts[this.random.nextInt(SIDES) + 1]++;
+        }
+        int i = 0;
+        for (int face = SIDES; face >= 1; face--) {
+            for (int n = counts[face]; n > 0; n--) {
+                this.rolls[i++] = face;
+            }
+        }
+        if (this.onRoll != null) {
+            for (i = 0; i < numDice; i++) {
+                this.onRoll.accept(this.rolls[i]);
+            }
+        }
+        return this.rolls;
     }
 }
@@ -0,0 +1,267 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Delivers GameEvents to the subscribers of their type.
+ * <p>
+ * Subscribers are kept in a list per event class, so publishing an event
+ * only reaches the subscribers of that class. Events are delivered in
+ * frames: a frame is a single event, or every event published between
+ * beginBatch and endBatch, and frame listeners run after the last event of
+ * each frame.
+ * <p>
+ * A bus built without an executor delivers each frame on the publishing
+ * thread. A bus built with an executor puts each frame whole on a bounded
+ * queue and delivers the queued frames, in order and each as its own frame,
+ * in a single task on the executor, for example Platform::runLater. Other
+ * threads block while that queue is full. The executor's own thread never
+ * waits on the queue, since only it can empty it: it delivers the queued
+ * frames and then its own frame at once, or right after the frame it is
+ * delivering when it publishes from a subscriber.
+ */
+public class EventBus {
+    private final Map<Class<?>, List<Consumer<Object>>> subscribers =
+        new ConcurrentHashMap<>();
+    private final List<Runnable> frameListeners = new CopyOnWriteArrayList<>();
+    private final Executor executor;
+    private final BooleanSupplier isExecutorThread;
+    private final BlockingQueue<List<GameEvent>> queue;
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+    // Frames taken off the queue, only used on the executor's thread
+    private final Deque<List<GameEvent>> ready = new ArrayDeque<>();
+    private boolean delivering = false;
+    private final List<GameEvent> batch = new ArrayList<>();
+    private int batchDepth = 0;
+
+
+    /**
+     * Constructs a new EventBus that delivers on the publishing thread.
+     */
+    public EventBus() {
+        this.executor = null;
+        this.isExecutorThread = null;
+        this.queue = null;
+    }
+
+    /**
+     * Constructs a new EventBus that delivers on the given executor, for
+     * example new EventBus(Platform::runLater, 64,
+     * Platform::isFxApplicationThread).
+     *
+     * @param executor the executor that runs the delivery tasks
+     * @param capacity the number of frames that may wait for delivery
+     * @param isExecutorThread true when called on the executor's thread
+     */
+    public EventBus(Executor executor, int capacity, BooleanSupplier isExecutorThread) {
+        this.executor = executor;
+        this.isExecutorThread = isExecutorThread;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+
+// ============================================================
+// Subscribing
+// ============================================================
+
+
+    /**
+     * Subscribes to every event of a type.
+     *
+     * @param <E> the type of event
+     * @param type the class of the events
+     * @param subscriber called with each event of the type
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends GameEvent> void subscribe(
+        Class<E> type,
+        Consumer<? super E> subscriber
+    ) {
+        subscribers.computeIfAbsent(type, key -> new CopyOnWriteArrayList<>())
+            .add((Consumer<Object>) subscriber);
+    }
+
+    /**
+     * Adds a listener that runs after each frame of events is delivered.
+     *
+     * @param listener the listener
+     */
+    public void onFrame(Runnable listener) {
+        frameListeners.add(listener);
+    }
+
+
+// ============================================================
+// Publishing
+// ============================================================
+
+
+    /**
+     * Publishes an event, or holds it until the batch ends while batching.
+     *
+     * @param event the event
+     */
+    public void publish(GameEvent event) {
+        synchronized (batch) {
+            if (batchDepth > 0) {
+                batch.add(event);
+                return;
+            }
+        }
+        publishFrame(List.of(event));
+    }
+
+    /**
+     * Starts a batch. Events published until the matching endBatch are
+     * delivered together as one frame. Batches may be nested.
+     */
+    public void beginBatch() {
+        synchronized (batch) {
+            batchDepth++;
+        }
+    }
+
+    /**
+     * Ends a batch, delivering its events once the outermost batch ends.
+     */
+    public void endBatch() {
+        List<GameEvent> events;
+        synchronized (batch) {
+            if (--batchDepth > 0 || batch.isEmpty()) {
+                return;
+            }
+            events = new ArrayList<>(batch);
+            batch.clear();
+        }
+        publishFrame(events);
+    }
+
+
+// ============================================================
+// Delivery
+// ============================================================
+
+
+    /**
+     * Delivers a frame, or queues it for the executor.
+     *
+     * @param frame the events of the frame
+     */
+    private void publishFrame(List<GameEvent> frame) {
+        if (executor == null) {
+            deliverFrame(frame);
+        } else if (isExecutorThread.getAsBoolean()) {
+            // Waiting for room here would wait on this very thread, so the
+            // frame goes straight after the queued frames instead
+            queue.drainTo(ready);
+            ready.add(frame);
+            deliverReady();
+        } else {
+            enqueue(frame);
+            scheduleDrain();
+        }
+    }
+
+    /**
+     * Puts a frame on the queue, waiting while the queue is full.
+     *
+     * @param frame the events of the frame
+     */
+    private void enqueue(List<GameEvent> frame) {
+        if (!queue.offer(frame)) {
+            // Let the executor catch up before waiting for room
+            scheduleDrain();
+            try {
+                queue.put(frame);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Schedules a drain of the queue unless one is already pending.
+     */
+    private void scheduleDrain() {
+        if (drainScheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    /**
+     * Delivers every frame on the queue in order.
+     */
+    private void drain() {
+        drainScheduled.set(false);
+        queue.drainTo(ready);
+        deliverReady();
+    }
+
+    /**
+     * Delivers the frames taken off the queue on the executor's thread. A
+     * frame published while another is being delivered waits for it to
+     * finish, so frames never interleave.
+     */
+    private void deliverReady() {
+        if (delivering) {
+            return;
+        }
+        delivering = true;
+        try {
+            List<GameEvent> frame;
+            while ((frame = ready.poll()) != null) {
+                deliverFrame(frame);
+            }
+        } finally {
+            delivering = false;
+        }
+    }
+
+    /**
+     * Delivers the events of a frame and then runs the frame listeners.
+     *
+     * @param frame the events of the frame
+     */
+    private void deliverFrame(List<GameEvent> frame) {
+        for (GameEvent event : frame) {
+            deliver(event);
+        }
+        endFrame();
+    }
+
+    /**
+     * Delivers an event to the subscribers of its type.
+     *
+     * @param event the event
+     */
+    private void deliver(GameEvent event) {
+        List<Consumer<Object>> list = subscribers.get(event.getClass());
+        if (list == null) {
+            return;
+        }
+        for (Consumer<Object> subscriber : list) {
+            subscriber.accept(event);
+        }
+    }
+
+    /**
+     * Runs the frame listeners.
+     */
+    private void endFrame() {
+        for (Runnable listener : frameListeners) {
+            listener.run();
+        }
+    }
+
+}
@@ -1,3 +1,4 @@
+import java.io.InputStream;
 import java.util.InputMismatchException;
 import java.util.Scanner;
 
@@ -14,10 +15,19 @@ public class GameCLIView implements GameView {
 
 
     /**
-     * Constructs a new GameCLIView.
+     * Constructs a new GameCLIView that reads from standard input.
      */
-    private GameCLIView() {
-        this.scanner = new Scanner(System.in);
+    public GameCLIView() {
+        this(System.in);
+    }
+
+    /**
+     * Constructs a new GameCLIView that reads from the given input stream.
+     * 
+     * @param input The input stream to read player input from
+     */
+    public GameCLIView(InputStream input) {
+        this.scanner = new Scanner(input);
     }
 
 
@@ -25,9 +35,9 @@ public class GameCLIView implements GameView {
 
 
     /**
-     * Singleton instance of the GameCLIView.
+     * Default instance of the GameCLIView used by the application.
      * 
-     * @return The instance of the GameCLIView
+     * @return The default instance of the GameCLIView
      */
     public static synchronized GameCLIView getInstance() {
         if (instance == null) {
@@ -93,16 +103,16 @@ public class GameCLIView implements GameView {
     }
 
 
-// Observer Pattern
+// Events
 
 
     /**
-     * Updates the view.
+     * Subscribes the view to the events it displays.
      * 
-     * @param arg The argument to update the view
+     * @param eventBus The bus the model publishes events on
      */
-    public void update(String name, Object arg) {
-        // There is nothing to update in CLI View so this does nothing
+    public void subscribe(EventBus eventBus) {
+        // There is nothing to update in CLI View so this subscribes to nothing
     }
 
 }
\ No newline at end of file
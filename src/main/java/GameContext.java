@@ -0,0 +1,77 @@
+/**
+ * Represents one game table: its own model, view and controller.
+ * <p>
+ * Contexts share no mutable state with each other, so a server can play many
+ * tables at once on a thread pool, each context on one thread at a time.
+ */
+public class GameContext {
+    private final GameModel model;
+    private final GameView view;
+    private final GameController controller;
+
+
+    /**
+     * Constructs a new GameContext and registers the view with the model.
+     *
+     * @param model the model for this game
+     * @param view the view for this game
+     */
+    public GameContext(GameModel model, GameView view) {
+        this.model = model;
+        this.view = view;
+        this.controller = new GameController();
+        this.view.subscribe(model.getEventBus());
+    }
+
+    /**
+     * Initializes the game from the given board and cards XML files.
+     *
+     * @param boardXMLFilePath the file path to the board XML file
+     * @param cardsXMLFilePath the file path to the cards XML file
+     */
+    public void initializeGame(String boardXMLFilePath, String cardsXMLFilePath) {
+        this.controller.initializeGame(
+            this.model,
+            this.view,
+            boardXMLFilePath,
+            cardsXMLFilePath
+        );
+    }
+
+    /**
+     * Plays every day of the game and scores it.
+     */
+    public void playGame() {
+        this.controller.playDays();
+        this.controller.scoreGame();
+        this.controller.closeJournal();
+    }
+
+    /**
+     * Returns the model for this game.
+     *
+     * @return the model
+     */
+    public GameModel getModel() {
+        return this.model;
+    }
+
+    /**
+     * Returns the view for this game.
+     *
+     * @return the view
+     */
+    public GameView getView() {
+        return this.view;
+    }
+
+    /**
+     * Returns the controller for this game.
+     *
+     * @return the controller
+     */
+    public GameController getController() {
+        return this.controller;
+    }
+
+}
@@ -1,15 +1,14 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import java.util.Comparator;
-import java.util.Iterator;
-import java.util.Collections;
-import javafx.application.Platform;
 
 
 /**
@@ -28,6 +27,13 @@ public class GameController{
         new HashMap<>();
     private List<Player> playerTurnOrder;
     private Set<String> visitedLocations = new HashSet<>();
+    private TurnScheduler scheduler;
+    private TurnScheduler.Phase guiPhase = TurnScheduler.Phase.START_DAY;
+    private Player guiPlayer;
+    private Runnable onGameOverGUI;
+    private GameJournal journal;
+    private Path journalPath;
+    private Autosave autosave;
     // Command Pattern action maps
     static {
         actionMap.put("who", new PlayerActionWho());
@@ -79,13 +85,11 @@ public class GameController{
         this.view = view;
         if (view instanceof GameGUIView) {
             this.playerTurnOrder = new ArrayList<>(model.getPlayers());
-        }
-
-        // CLI Mode: Get the number of players and init model
-        if (view instanceof GameCLIView) {
+        } else {
+            // CLI and Headless Mode: Get the number of players and init model
             int numPlayers = this.view.getNumPlayers();
             this.model.initModel(numPlayers, boardXMLFilePath, cardsXMLFilePath);
-        } 
+        }
     }
     
 
@@ -97,11 +101,11 @@ public class GameController{
     /**
      * Ends the day by resetting the board for the next day.
      */
-    private void endDay() {
+    void endDay() {
         dayEnded = true;
 
         if (debug){ // debug
-            this.model.notifyObservers("SHOW_MESSAGE", "End of day triggered.");
+            this.model.publish(new GameEvent.ShowMessage("End of day triggered."));
         }
         
         // reset player locations to Trailer
@@ -119,51 +123,51 @@ public class GameController{
         // reset the board for the next day by resetting shot counters 
         // and dealing enw scene cards
         this.model.getBoard().resetBoard(deck, locations);
+        // Prevents location roles from staying occupied on the next day
+        resetAllLocationRolesToUnoccupied();
+        // reset all takes
+        locations.values().forEach(location -> {
+            location.getTakes().forEach(take -> {
+                take.reset();
+            });
+        });
 
         if (view instanceof GameGUIView) {
+            // Deliver the whole reset to the view as one frame
+            EventBus eventBus = this.model.getEventBus();
+            eventBus.beginBatch();
+            try {
+                // Get the area for the Trailer location from the model
+                Area trailerArea = this.model.getLocation("Trailer").getArea();
+
+                // Get all players from the model
+                List<Player> players= this.model.getPlayers();
+
+                // Return all players to Trailer
+                for (Player player : players) {
+                    // Add the player die to the location
+                    this.model.publish(new GameEvent.PlayerMove(
+                        player.getID(),
+                        "Trailer",
+                        trailerArea
+                    ));
+                }
 
-            // Get the area for the Trailer location from the model
-            Area trailerArea = this.model.getLocation("Trailer").getArea();
-
-            // Get all players from the model
-            List<Player> players= this.model.getPlayers();
-
-            // Return all players to Trailer
-            for (Player player : players) {
-                // get player ID
-                int playerID = player.getID();
-                // Create a HashMap to hold the event data
-                Map<String, Object> eventData = new HashMap<>();
-                // Add data to eventData
-                eventData.put("locationName", "Trailer");
-                eventData.put("locationArea", trailerArea);
-                eventData.put("playerID", playerID);
+                // Redeal the cards and card backs
+                initializeLocationCards();
 
-                // Add the player die to the location
-                this.model.notifyObservers("PLAYER_MOVE", eventData);
+                // remove all remaining buttons
+                this.model.publish(new GameEvent.RemoveAllButtons());
+                // Remove all shots from the board
+                this.model.publish(new GameEvent.RemoveAllShots());
+                // bring all player dice to front
+                this.model.publish(new GameEvent.BringDiceToFront());
 
+                // Reset visited locations
+                visitedLocations.clear();
+            } finally {
+                eventBus.endBatch();
             }
-
-            // Redeal the cards and card backs
-            initializeLocationCards();
-            // Prevents location roles from staying occupied on the next day
-            resetAllLocationRolesToUnoccupied();
-            // reset all takes
-            this.model.getLocations().values().forEach(location -> {
-                location.getTakes().forEach(take -> {
-                    take.reset();
-                });
-            });
-
-            // remove all remaining buttons
-            this.model.notifyObservers("REMOVE_ALL_BUTTONS", null);
-            // Remove all shots from the board
-            this.model.notifyObservers("REMOVE_ALL_SHOTS", null);
-            // bring all player dice to front
-            this.model.notifyObservers("BRING_DICE_TO_FRONT", null);
-
-            // Reset visited locations
-            visitedLocations.clear();
         }
     }
 
@@ -174,10 +178,9 @@ public class GameController{
 
 
         // Print game over screen
-        this.model.notifyObservers(
-            "SHOW_MESSAGE", 
+        this.model.publish(new GameEvent.ShowMessage(
             "Game over!"
-        );
+        ));
 
         // Get the list of players from the model
         List<Player> players = this.model.getPlayers();
@@ -212,7 +215,7 @@ public class GameController{
             String playerScoreString = " : " + player.getScore() + winnerIndicator;
             playerScoreStringList.add(playerScoreString);
         }
-        this.model.notifyObservers("SHOW_SCORES", playerScoreStringList);
+        this.model.publish(new GameEvent.ShowScores(playerScoreStringList));
     }
 
     
@@ -222,404 +225,398 @@ public class GameController{
 
     /**
      * Manages the days in the game.
+     * <p>
+     * The game is driven by a TurnScheduler, which runs until the game is
+     * over unless a driver pauses it through getScheduler.
      */
     public void playDays() {
-        int numDays = this.model.getNumDays();
-        int day = this.model.getDay();
-        if (day > numDays) {
-            return;// If the current day exceeds numDays, exit playDays loop
-        }
-
-        // Play the day and end the day
-        playDay();
-        endDay();
+        getScheduler().run();
+    }
 
-        // Increment day in the model and recursively call playDays with new day
-        this.model.incrementDay();
-        playDays();
+    /**
+     * Returns the scheduler that drives the game in CLI and headless mode,
+     * creating it at the current day on first use.
+     *
+     * @return the turn scheduler
+     */
+    public TurnScheduler getScheduler() {
+        if (this.scheduler == null) {
+            this.scheduler = new TurnScheduler(this, this.model);
+        }
+        return this.scheduler;
     }
 
     /**
-     * Manages a day in the game.
+     * Announces the beginning of a day.
      */
-    private void playDay() {
+    void startDay() {
         // Display the beginning of the day message
-        this.model.notifyObservers(
-            "SHOW_MESSAGE", 
+        this.model.publish(new GameEvent.ShowMessage(
             "Day " + model.getDay() + " has begun."
-        );
-        
-        // Check if there is more than 1 scene remaining
-        if (this.model.getBoard().getNumScenesRemaining() > 1) {
-            // Manage the player's turn
-            playerTurn(this.model.getCurrentPlayer());
-            // Set next player and call playDay recursively
-            this.model.setNextPlayerToCurrentPlayer();
-            playDay(); // Recurse until only 1 scene is left
-        }
+        ));
+        // Recovery replays at most one day of actions
+        snapshotJournal();
     }
 
     /**
-     * Manages a player's turn in the game.
+     * Starts a player's turn in the game.
      * 
      * @param ID The ID of the player whose turn it is.
+     * @return The player whose turn it is.
      */
-    private void playerTurn(int ID) {
+    Player startTurn(int ID) {
         Player player = this.model.getPlayer(ID);
         player.setActive(true);
         player.setHasMoved(false);
         player.setHasWorked(false);
         player.setHasUpgraded(false);
-
-        processPlayerTurn(player);
+        return player;
     }
 
     /**
-     * Handles the player's actions and determines if the turn ends.
+     * Reads and handles one command of the player whose turn it is.
      * 
      * @param player The player whose turn it is.
+     * @return True if the command ended the turn, false otherwise.
      */
-    private void processPlayerTurn(Player player) {
+    boolean processCommand(Player player) {
         // Get the player's input
         String command = this.view.getPlayerInput();
         // Get the action associated with the command
         PlayerAction action = actionMap.get(command);
 
-        // Continue if input command not recognized
+        // Ask again if input command not recognized
         if (action == null) {
-            this.model.notifyObservers("SHOW_MESSAGE", "Command not recognized. Please try again.");
-            processPlayerTurn(player); // Recurse until valid command
-            return;
+            this.model.publish(new GameEvent.ShowMessage("Command not recognized. Please try again."));
+            return false;
         }
 
-        // Validate and potentially execute the action      
-        if (action.validate(player, model, view)) {
-            boolean endTurn = action.execute(player, model, view);
-            if (endTurn) {
-                player.setActive(false); // End player's turn
-                return;
-            }
-        }
-
-        // If command was "load", set the current player to the active player
-        if (command.equals("load")) {
-            player = this.model.getActivePlayer(); // Reload player state
+        // Validate and potentially execute the action
+        if (!action.validate(player, model, view)) {
+            return false;
         }
-
-        processPlayerTurn(player); // Recurse to continue turn
+        boolean endTurn = action.execute(player, model, view);
+        recordJournal(command);
+        autosaveAfterAction();
+        return endTurn;
     }
 
 
 // ============================================================
-// GUI-Specific Methods
+// Journal and Autosave
 // ============================================================
 
 
     /**
-     * Initializes the board elements, including the location scene cards, the
-     * player dice, and the player stats table, for the
-     * GUI. This method is only called in GUI mode.
+     * Starts keeping a journal of the game, so it can be recovered with the
+     * load command if the program stops before the game is over. The
+     * journal is deleted once the game is over.
+     *
+     * @param path the journal file
      */
-    public void createBoardElements() {
-        // Initialize player dice, stats, etc., for the GUI
-        initializeLocationCards();
-        initializePlayerDice();
-        this.model.notifyObservers(
-            "CREATE_PLAYER_STATS_TABLE", 
-            model.getPlayers()
-        );                
+    public void startJournal(Path path) {
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            this.journal = GameJournal.open(this.model, path);
+            this.journalPath = path;
+        } catch (IOException e) {
+            // The game is still played, only without recovery
+            e.printStackTrace();
+        }
     }
 
     /**
-     * Manages the days in the game asynchronously for the GUI version.
-     * 
-     * @return CompletableFuture that completes when all days are done.
+     * Appends the changes made by a command or phase to the journal, if the
+     * game is journaled.
+     *
+     * @param entry the command or phase
      */
-    public CompletableFuture<Void> playDaysGUI() {
-        int numDays = this.model.getNumDays();
-        int day = this.model.getDay();
-    
-        // Base case: if the current day is greater than the total number of days, stop recursion.
-        if (day > numDays) {
-            this.model.notifyObservers("SHOW_MESSAGE", "All days completed.");
-            return CompletableFuture.completedFuture(null);  // Game ends
-        }
-        
-        // Notify the beginning of the day
-        this.model.notifyObservers("SHOW_MESSAGE", "Day " + day + " of " + numDays + " has begun.");
-
-        if (debug) { //debug
-            this.model.notifyObservers("SHOW_MESSAGE", "At start of Day " + day + ", nextPlayerIndex is: " + nextPlayerIndex);
+    void recordJournal(String entry) {
+        if (this.journal != null) {
+            this.journal.record(entry);
         }
-
-        // Play the current day
-        return playDayGUI().thenCompose(ignored -> {
-
-            // Increment day in the model
-            this.model.incrementDay();
-            
-            // Recursively call playDaysGUI() to handle the next day
-            return playDaysGUI();
-        });
-
     }
 
     /**
-     * Manages a single day in the game, allowing multiple cycles of player turns.
-     * 
-     * @return CompletableFuture that completes when the day ends.
+     * Appends a snapshot of the game to the journal, if the game is
+     * journaled.
      */
-    private CompletableFuture<Void> playDayGUI() {
-        if (debug) {
-            this.model.notifyObservers("SHOW_MESSAGE", "Starting playDayGUI. nextPlayerIndex is: " + nextPlayerIndex);
+    void snapshotJournal() {
+        if (this.journal != null) {
+            this.journal.snapshot();
         }
-        // Reset the flag for the new day
-        dayEnded = false;  
-
-        // Start processing player cycles
-        return processPlayerCycle().thenCompose(ignored -> {
-            // Check if the day has ended
-            if (dayEnded) {
-                // Day has ended, notify and return
-                if (debug){ // debug
-                    this.model.notifyObservers("SHOW_MESSAGE", "Day " + this.model.getDay() + " has ended.");
-                    this.model.notifyObservers("SHOW_MESSAGE", "At end of Day, nextPlayerIndex is: " + nextPlayerIndex);
-                }
-
-                // Check if this is not the last day
-                if (this.model.getDay() < this.model.getNumDays()) {
-                    endDay();  // Only call endDay() if it's not the last day
-                    if (debug){ // debug
-                        this.model.notifyObservers("SHOW_MESSAGE", "endDay() called.");
-                    }
-                } else {
-                    if (debug){ // debug
-                        this.model.notifyObservers("SHOW_MESSAGE", "Last day has ended. Skipping endDay().");
-                    }
-                }
-
-                return CompletableFuture.completedFuture(null);
-            } else {
-                // Day has not ended, continue with the next player cycle
-                return playDayGUI();
-            }
-        });
     }
 
     /**
-     * Processes a full cycle of all players' turns.
-     * 
-     * @return CompletableFuture that completes when the cycle is done.
+     * Sets the autosave policy of the game.
+     *
+     * @param autosave the policy, or null to turn autosave off
      */
-    private CompletableFuture<Void> processPlayerCycle() {
-        if (dayEnded) {
-            // Day has ended, stop processing cycles
-            return CompletableFuture.completedFuture(null);
-        }
-        
-        if (debug){
-            this.model.notifyObservers("SHOW_MESSAGE", "Starting a new player cycle.");
-        }
-
-            // Start processing the list of players from the first player
-        return processPlayersRecursive(playerTurnOrder.iterator()).thenCompose(ignored -> {
-            // Check if the day has ended
-            if (dayEnded) {
-                // Day has ended, stop processing further cycles
-                return CompletableFuture.completedFuture(null);
-            } else {
-                // Day has not ended, continue with the next player cycle
-                return processPlayerCycle();
-            }
-        });
+    public void setAutosave(Autosave autosave) {
+        this.autosave = autosave;
     }
 
-    private CompletableFuture<Void> processPlayersRecursive(Iterator<Player> playerIterator) {
-        if (dayEnded || !playerIterator.hasNext()) {
-            // Completed a full cycle of all players
-            if (debug){
-                this.model.notifyObservers("SHOW_MESSAGE", "Completed a full cycle of player turns.");
-            }
-            return CompletableFuture.completedFuture(null);
-        }
-    
-        Player player = playerIterator.next();
-    
-        if (debug){
-            this.model.notifyObservers("SHOW_MESSAGE", "Processing turn for Player ID: " + player.getID());
+    /**
+     * Lets the autosave policy count an action.
+     */
+    void autosaveAfterAction() {
+        if (this.autosave != null) {
+            this.autosave.afterAction(this.model);
         }
-    
-        return playerTurnGUI(player.getID()).thenCompose(ignored -> {
-            // Check if the number of scenes is less than or equal to 1
-            if (this.model.getBoard().getNumScenesRemaining() <= 1) {
-                // Day has ended, set the flag and stop processing further players
-                dayEnded = true;
-                // Rotate the playerTurnOrder so that the next player is at the front
-                rotatePlayerTurnOrder(player);
-                if (debug) { // debug
-                    this.model.notifyObservers("SHOW_MESSAGE", "Day has ended. Next player is: Player ID " + playerTurnOrder.get(0).getID());
-                }
-                return CompletableFuture.completedFuture(null);
-            } else {
-                // Day has not ended, continue with the next player's turn
-                return processPlayersRecursive(playerIterator);
-            }
-        });
     }
 
-    private void rotatePlayerTurnOrder(Player lastPlayer) {
-        int index = playerTurnOrder.indexOf(lastPlayer);
-        if (index >= 0) {
-            Collections.rotate(playerTurnOrder, - (index + 1));
+    /**
+     * Lets the autosave policy save the game once a day has ended and the
+     * next one is ready, unless the game is over.
+     */
+    void autosaveAfterEndDay() {
+        if (this.autosave != null && this.model.getDay() <= this.model.getNumDays()) {
+            this.autosave.afterEndDay(this.model);
         }
     }
 
     /**
-     * Manages a player's turn in the game asynchronously for the GUI version.
-     * 
-     * @param ID The ID of the player whose turn it is.
-     * @return CompletableFuture that completes when the player's turn ends.
+     * Closes and deletes the journal of a finished game.
      */
-    private CompletableFuture<Void> playerTurnGUI(int ID) {
-        Player player = this.model.getPlayer(ID);
-        player.setActive(true);
-        player.setHasMoved(false);
-        player.setHasWorked(false);
-        player.setHasUpgraded(false);
+    void closeJournal() {
+        if (this.journal == null) {
+            return;
+        }
+        try {
+            this.journal.close();
+            Files.deleteIfExists(this.journalPath);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        this.journal = null;
+        this.journalPath = null;
+    }
+
 
-        // Highlight the player's row in the player stats table
-        this.model.notifyObservers("HIGHLIGHT_PLAYER_ROW", player.getID());
+// ============================================================
+// GUI-Specific Methods
+// ============================================================
 
-        // Process the player's turn in GUI mode, wait for input
-        return processPlayerTurnGUI(player).thenCompose(ignored -> {
-            
-            // Mark player as inactive after turn
-            player.setActive(false);  
 
-            // Player's turn ends
-            return CompletableFuture.completedFuture(null);
-        });
+    /**
+     * Initializes the board elements, including the location scene cards, the
+     * player dice, and the player stats table, for the
+     * GUI. This method is only called in GUI mode.
+     */
+    public void createBoardElements() {
+        // Initialize player dice, stats, etc., for the GUI
+        initializeLocationCards();
+        initializePlayerDice();
+        this.model.publish(new GameEvent.CreatePlayerStatsTable(
+            model.getPlayers()
+        ));                
     }
 
     /**
-     * Handles the player's actions and determines if the turn ends in GUI mode.
+     * Starts the game loop for the GUI version.
+     * <p>
+     * The loop is event driven on the JavaFX application thread: it runs
+     * through the TurnScheduler phases until a player has to choose an
+     * action, shows the buttons and returns. The view calls
+     * handlePlayerInputGUI when a button is clicked, which carries out the
+     * action and runs the phases on to the next choice. Nothing is kept
+     * between actions but the phase, the player and the turn index, so memory
+     * stays the same however long the game runs.
      * 
-     * @param player The player whose turn it is.
+     * @param onGameOver Called on the JavaFX application thread once every
+     *                   day has been played.
      */
-    private CompletableFuture<Void> processPlayerTurnGUI(Player player) {
-
-        // Create a CompletableFuture to signal when the player's turn is done
-        CompletableFuture<Void> turnCompleted = new CompletableFuture<>();
-    
-        // Start processing the player's actions
-        processPlayerActions(player, turnCompleted);
-    
-        return turnCompleted;
+    public void playDaysGUI(Runnable onGameOver) {
+        this.onGameOverGUI = onGameOver;
+        this.guiPhase = TurnScheduler.Phase.START_DAY;
+        ((GameGUIView) this.view).setOnPlayerInput(this::handlePlayerInputGUI);
+        advanceGUI();
     }
 
     /**
-     * Handles the player's actions and determines if the turn ends in GUI mode.
+     * Returns the phase the game is in.
      * 
-     * @param player The player whose turn it is.
-     * @param turnCompleted The CompletableFuture that completes when the turn ends.
+     * @return The current phase of the GUI loop in GUI mode, or of the
+     *         scheduler otherwise.
      */
-    private void processPlayerActions(Player player, CompletableFuture<Void> turnCompleted) {
-        player.setActive(true);
-    
-        
-        if (debug){ // debug
-            this.model.notifyObservers("SHOW_MESSAGE", "processPlayerActions: Starting actions for Player ID: " + player.getID());
+    public TurnScheduler.Phase getPhase() {
+        if (this.view instanceof GameGUIView) {
+            return this.guiPhase;
         }
-        
-        // Create the buttons for the player's available actions
-        createPlayerActionButtons(player);
-
-        // Wait for the player's input
-        CompletableFuture<Map<String, Object>> playerInputFuture = ((GameGUIView) this.view).getPlayerInputFuture();
-
-        playerInputFuture.thenAccept(commandData -> {
-            String command = (String) commandData.get("command");
-            Object data = commandData.get("data");
-            
-            Platform.runLater(() -> {
-                final boolean[] endTurn = {false};
-                try {
-                    // Handle the command with an if-else tree
-                    switch (command) {
-                        case "MOVE":
-                            handleMoveCommand(player, data);
-                            break;
-                        case "WORK":
-                            handleWorkCommand(player, data);
-                            break;
-                        case "ACT":
-                            handleActCommand(player);
-                            endTurn[0] = true;
-                            break;
-                        case "REHEARSE":
-                            handleRehearseCommand(player);
-                            endTurn[0] = true;
-                            break;
-                        case "UPGRADE":
-                            handleUpgradeCommand(player, data);
-                            break;
-                        case "END":
-                            handleEndCommand(player);
-                            endTurn[0] = true;
-                            break;
-                        default:
-                            this.model.notifyObservers("SHOW_MESSAGE", "Unknown command: " + command);
+        return getScheduler().getPhase();
+    }
+
+    /**
+     * Runs the GUI phases until a player has to choose an action or the game
+     * is over.
+     */
+    private void advanceGUI() {
+        while (true) {
+            switch (this.guiPhase) {
+                case START_DAY:
+                    int day = this.model.getDay();
+                    int numDays = this.model.getNumDays();
+                    if (day > numDays) {
+                        this.model.publish(new GameEvent.ShowMessage("All days completed."));
+                        this.guiPhase = TurnScheduler.Phase.GAME_OVER;
+                        break;
                     }
-    
-                    // After player's action ends, remove buttons
-                    removePlayerActionButtons();
-    
-                    // After player's action ends, check if only 1 scene remains
-                    if (this.model.getBoard().getNumScenesRemaining() <= 1) {
-                        // End the day if only 1 scene remains
-                        dayEnded = true;
-                        // player.setActive(false);
-
-                        if (debug){ // debug
-                            this.model.notifyObservers("SHOW_MESSAGE", "Day incremented to: " + this.model.getDay());
-                        }
-                        turnCompleted.complete(null);
-                        return;
+                    // Notify the beginning of the day
+                    this.model.publish(new GameEvent.ShowMessage("Day " + day + " of " + numDays + " has begun."));
+                    if (debug) { //debug
+                        this.model.publish(new GameEvent.ShowMessage("At start of Day " + day + ", nextPlayerIndex is: " + nextPlayerIndex));
                     }
-    
-
-                    // Determine if the turn should end based on the command sequence
-                    if (player.getHasMoved() && (player.getHasWorked() || player.getHasUpgraded())) {
-                        endTurn[0] = true;
+                    // Reset the flag for the new day
+                    dayEnded = false;
+                    snapshotJournal();
+                    this.guiPhase = TurnScheduler.Phase.START_TURN;
+                    break;
+                case START_TURN:
+                    this.guiPlayer = playerTurnOrder.get(nextPlayerIndex);
+                    if (debug){
+                        this.model.publish(new GameEvent.ShowMessage("Processing turn for Player ID: " + guiPlayer.getID()));
                     }
-    
-                    // If the player's turn ends, complete the future and end the turn
-                    if (endTurn[0]) {
-                        player.setActive(false);
-    
-                        // Complete the future to proceed to the next player
-                        turnCompleted.complete(null);
-                    } else {
-                        if (debug){ // debug
-                            this.model.notifyObservers("SHOW_MESSAGE", "Continuing actions for Player ID: " + player.getID());
-                        }
-                        
-
-                        // Recursively call processPlayerActions to continue the turn
-                        processPlayerActions(player, turnCompleted);
+                    guiPlayer.setActive(true);
+                    guiPlayer.setHasMoved(false);
+                    guiPlayer.setHasWorked(false);
+                    guiPlayer.setHasUpgraded(false);
+                    // Highlight the player's row in the player stats table
+                    this.model.publish(new GameEvent.HighlightPlayerRow(guiPlayer.getID()));
+                    recordJournal("START_TURN");
+                    this.guiPhase = TurnScheduler.Phase.AWAIT_ACTION;
+                    break;
+                case AWAIT_ACTION:
+                    // Create the buttons for the player's available actions
+                    // and wait for the player's input
+                    createPlayerActionButtons(guiPlayer);
+                    return;
+                case END_TURN:
+                    guiPlayer.setActive(false);
+                    nextPlayerIndex = (nextPlayerIndex + 1) % playerTurnOrder.size();
+                    recordJournal("END_TURN");
+                    this.guiPhase = TurnScheduler.Phase.START_TURN;
+                    break;
+                case END_DAY:
+                    guiPlayer.setActive(false);
+                    // The next day starts with the player after the one who
+                    // ended this day
+                    nextPlayerIndex = (nextPlayerIndex + 1) % playerTurnOrder.size();
+                    if (debug) { // debug
+                        this.model.publish(new GameEvent.ShowMessage("Day " + this.model.getDay() + " has ended. Next player is: Player ID " + playerTurnOrder.get(nextPlayerIndex).getID()));
                     }
-                } catch (Exception ex) {
-                        ex.printStackTrace();
-                        turnCompleted.completeExceptionally(ex);
-                }
-            });
-        });
+                    // Only call endDay() if it's not the last day
+                    if (this.model.getDay() < this.model.getNumDays()) {
+                        endDay();
+                    }
+                    // Increment day in the model
+                    this.model.incrementDay();
+                    autosaveAfterEndDay();
+                    this.guiPhase = TurnScheduler.Phase.START_DAY;
+                    break;
+                case GAME_OVER:
+                    this.guiPlayer = null;
+                    closeJournal();
+                    if (this.onGameOverGUI != null) {
+                        this.onGameOverGUI.run();
+                    }
+                    return;
+            }
+        }
+    }
+
+    /**
+     * Handles a button click of the player whose turn it is in GUI mode.
+     * 
+     * @param command The command of the clicked button.
+     * @param data The data of the clicked button.
+     */
+    private void handlePlayerInputGUI(String command, Object data) {
+        // Ignore clicks that arrive while no action is awaited
+        if (this.guiPhase != TurnScheduler.Phase.AWAIT_ACTION) {
+            return;
+        }
+        Player player = this.guiPlayer;
+        boolean endTurn = false;
+        boolean applied = false;
+        try {
+            // Handle the command with an if-else tree
+            switch (command) {
+                case "MOVE":
+                    applied = handleMoveCommand(player, data);
+                    break;
+                case "WORK":
+                    applied = handleWorkCommand(player, data);
+                    break;
+                case "ACT":
+                    handleActCommand(player);
+                    applied = true;
+                    endTurn = true;
+                    break;
+                case "REHEARSE":
+                    handleRehearseCommand(player);
+                    applied = true;
+                    endTurn = true;
+                    break;
+                case "UPGRADE":
+                    applied = handleUpgradeCommand(player, data);
+                    break;
+                case "END":
+                    handleEndCommand(player);
+                    applied = true;
+                    endTurn = true;
+                    break;
+                default:
+                    this.model.publish(new GameEvent.ShowMessage("Unknown command: " + command));
+            }
+        } catch (Exception ex) {
+            ex.printStackTrace();
+        }
+        // Only an action that changed the game is journaled and counted
+        if (applied) {
+            recordJournal(command);
+            autosaveAfterAction();
+        }
+
+        // After player's action ends, remove buttons
+        removePlayerActionButtons();
+
+        // Determine if the turn should end based on the command sequence
+        if (player.getHasMoved() && (player.getHasWorked() || player.getHasUpgraded())) {
+            endTurn = true;
+        }
+
+        if (this.model.getBoard().getNumScenesRemaining() <= 1) {
+            // End the day if only 1 scene remains
+            dayEnded = true;
+            this.guiPhase = TurnScheduler.Phase.END_DAY;
+        } else if (endTurn) {
+            this.guiPhase = TurnScheduler.Phase.END_TURN;
+        } else if (debug){ // debug
+            this.model.publish(new GameEvent.ShowMessage("Continuing actions for Player ID: " + player.getID()));
+        }
+        advanceGUI();
     }
 
     /**
      * Handles the beginning of each player's turn.
      */
     public void createPlayerActionButtons(Player player) {
+        // Deliver the buttons to the view as one frame
+        EventBus eventBus = this.model.getEventBus();
+        eventBus.beginBatch();
+        try {
+            addPlayerActionButtons(player);
+        } finally {
+            eventBus.endBatch();
+        }
+    }
+
+    /**
+     * Adds a button for each action the player can take.
+     *
+     * @param player the player whose turn it is
+     */
+    private void addPlayerActionButtons(Player player) {
         // get player ID
         int currentPlayerID = player.getID();
         // get board
@@ -642,7 +639,7 @@ public class GameController{
             }
         } else { // if at any other location besides Trailer or Casting Office
             // If player has no Role
-            if ((board.getPlayerRole(currentPlayerID) == null)) {
+            if (!board.hasPlayerRole(currentPlayerID)) {
                 
                 // If the location is not wrapped
                 if (!this.model.getLocation(locationName).getIsWrapped()) {
@@ -669,7 +666,13 @@ public class GameController{
      * Handles the end of each player's turn.
      */
     public void removePlayerActionButtons() {
-        this.model.notifyObservers("REMOVE_ALL_BUTTONS", null);
+        EventBus eventBus = this.model.getEventBus();
+        eventBus.beginBatch();
+        try {
+            this.model.publish(new GameEvent.RemoveAllButtons());
+        } finally {
+            eventBus.endBatch();
+        }
     }
 
     /**
@@ -685,14 +688,8 @@ public class GameController{
         for (String neighborName : neighbors) {
             Location neighborLocation = this.model.getLocation(neighborName);
             Area area = neighborLocation.getArea();
-            // Create a HashMap to hold the event data
-            Map<String, Object> eventData = new HashMap<>();
-            // Add data to eventData
-            eventData.put("command", "MOVE");
-            eventData.put("data", neighborName);
-            eventData.put("area", area);
             // Add the neighbor location to the view
-            this.model.notifyObservers("ADD_BUTTON", eventData);
+            this.model.publish(new GameEvent.AddButton("MOVE", neighborName, area));
         }
     }
     
@@ -727,26 +724,19 @@ public class GameController{
             if (role.getRank() <= player.getRank() && !role.isOccupied()) {
                 String roleName = role.getName();
                 Area area = role.getArea();
-                // Create a HashMap to hold the event data
-                Map<String, Object> eventData = new HashMap<>();
-                // Add data to eventData
-                eventData.put("command", "WORK");
-                eventData.put("data", roleName);
-                eventData.put("area", area);
                 // get the area of the players location
                 Area locationArea = location.getArea();
-                eventData.put("locationArea", locationArea);
-
-
-                // Check if the role is on card and add to eventData if true
-                if (role.getOnCard()) {
-                    eventData.put("onCard", true);
-                } else {
-                    eventData.put("onCard", false);
-                }
 
                 // Add the role to the view
-                this.model.notifyObservers("ADD_BUTTON", eventData);
+                this.model.publish(new GameEvent.AddButton(
+                    "WORK",
+                    roleName,
+                    area,
+                    role.getID(),
+                    role.getOnCard(),
+                    locationArea,
+                    List.of()
+                ));
             }
         }
     }
@@ -776,14 +766,12 @@ public class GameController{
         // Get Take area
         Area area = nextTake.getArea();
 
-        // Create a HashMap to hold the event data
-        Map<String, Object> eventData = new HashMap<>();
-        // Add data to eventData
-        eventData.put("command", "ACT");
-        eventData.put("data", String.valueOf(nextTake.getNumber()));
-        eventData.put("area", area);
         // Add the role to the view
-        this.model.notifyObservers("ADD_BUTTON", eventData);
+        this.model.publish(new GameEvent.AddButton(
+            "ACT",
+            String.valueOf(nextTake.getNumber()),
+            area
+        ));
     }
 
     /**
@@ -800,14 +788,8 @@ public class GameController{
         // // Get Take area
         Area area = location.getArea();
 
-        // Create a HashMap to hold the event data
-        Map<String, Object> eventData = new HashMap<>();
-        // Add data to eventData
-        eventData.put("command", "REHEARSE");
-        eventData.put("data", "Rehearse");
-        eventData.put("area", area);
         // Add the role to the view
-        this.model.notifyObservers("ADD_BUTTON", eventData);
+        this.model.publish(new GameEvent.AddButton("REHEARSE", "Rehearse", area));
     }
 
     /**
@@ -819,15 +801,12 @@ public class GameController{
         // Get the player's ID
         String currentPlayerIDString = String.valueOf(player.getID());
 
-        // Create a HashMap to hold the event data
-        Map<String, Object> eventData = new HashMap<>();
-        // Add data to eventData
-        eventData.put("command", "END");
-        eventData.put("data", currentPlayerIDString);
-        eventData.put("area", new Area(0, 0, 0, 0)); // Empty area
-
         // Add the player die to the location
-        this.model.notifyObservers("ADD_BUTTON", eventData);
+        this.model.publish(new GameEvent.AddButton(
+            "END",
+            currentPlayerIDString,
+            new Area(0, 0, 0, 0) // Empty area
+        ));
     }
 
     private void addUpgradeListenerToCastingOffice(Player player) {
@@ -847,21 +826,21 @@ public class GameController{
             })
             .collect(Collectors.toList());
 
-        // Create a HashMap to hold the event data
-        Map<String, Object> eventData = new HashMap<>();
-        // Add data to eventData
-        eventData.put("command", "UPGRADE");
-        eventData.put("data", String.valueOf(player.getID()));
-        eventData.put("area", new Area(0, 0, 0, 0)); // Empty area
-        eventData.put("availableUpgrades", availableUpgrades); // Add available upgrades
-
         // Add the player die to the location
-        this.model.notifyObservers("ADD_BUTTON", eventData);
+        this.model.publish(new GameEvent.AddButton(
+            "UPGRADE",
+            String.valueOf(player.getID()),
+            new Area(0, 0, 0, 0), // Empty area
+            SymbolTable.NONE,
+            false,
+            null,
+            availableUpgrades // Add available upgrades
+        ));
     }
 
 
 // ============================================================
-// Observer Pattern Methods
+// Event Publishing Methods
 // ============================================================
 
 
@@ -876,40 +855,35 @@ public class GameController{
         Board board = this.model.getBoard();
 
         // Make a Map to hold data for initializing player dice
-        Map<Integer, Map<String, Integer>> initDiceLabels = new HashMap<>();
+        List<GameEvent.PlayerDie> initDiceLabels = new ArrayList<>();
         for (Player player : this.model.getPlayers()) {
-            int playerID = player.getID();
             String locationString = board.getPlayerLocationName(player);
             Location location = this.model.getLocation(locationString);
             Area area = location.getArea();
-            int x = area.getX();
-            int y = area.getY();
-            Map<String, Integer> playerInfo = new HashMap<>();
-            playerInfo.put("playerRank", player.getRank());
-
-            // Add player location to playerInfo
-            playerInfo.put("locationX", x);
-            playerInfo.put("locationY", y);
-            initDiceLabels.put(playerID, playerInfo);
+            initDiceLabels.add(new GameEvent.PlayerDie(
+                player.getID(),
+                player.getRank(),
+                area.getX(),
+                area.getY()
+            ));
         }
 
         // Initialize the player dice in the view
-        this.model.notifyObservers("INIT_DICE_LABELS", initDiceLabels);
+        this.model.publish(new GameEvent.InitDiceLabels(initDiceLabels));
 
 
 
-        // move all players to trailer using observer method for "PLAYER_MOVE"
+        // move all players to trailer with PlayerMove events
         // get Trailer location
         Location trailer = this.model.getLocation("Trailer");
         Area area = trailer.getArea();
 
         for (Player player : this.model.getPlayers()) {
-            // create moveData
-            Map<String, Object> moveData = new HashMap<>();
-            moveData.put("playerID", player.getID());
-            moveData.put("locationName", "Trailer");
-            moveData.put("locationArea", area);
-            this.model.notifyObservers("PLAYER_MOVE", moveData);
+            this.model.publish(new GameEvent.PlayerMove(
+                player.getID(),
+                "Trailer",
+                area
+            ));
         }
 
     }
@@ -933,23 +907,23 @@ public class GameController{
                 Area area = location.getArea();
                 int x = area.getX();
                 int y = area.getY();
-                int sceneCardID = board.getLocationSceneCardID(location
-                                       .getName());
-                if (sceneCardID != 0) { 
-
-                    // Make a Map to hold card ID and coords for the scene card
-                    Map<String, Integer> addCard = new HashMap<>();
-                    addCard.put("sceneCardID", sceneCardID);
-                    addCard.put("locationX", x);
-                    addCard.put("locationY", y);
-                    this.model.notifyObservers("ADD_CARD", addCard);
-
-                    // Make a Map to hold the coords for the card back
-                    Map<String, Object> addCardBack = new HashMap<>();
-                    addCardBack.put("locationName", location.getName());
-                    addCardBack.put("locationX", x);
-                    addCardBack.put("locationY", y);
-                    this.model.notifyObservers("ADD_CARD_BACK", addCardBack);
+                Integer sceneCardID = board.getLocationSceneCardID(location
+                                           .getName());
+                if (sceneCardID != null) { 
+
+                    // Add the scene card and cover it with a card back
+                    this.model.publish(new GameEvent.AddCard(
+                        location.getName(),
+                        sceneCardID,
+                        x,
+                        y
+                    ));
+                    this.model.publish(new GameEvent.AddCardBack(
+                        location.getName(),
+                        x,
+                        y,
+                        false
+                    ));
                 }
             }
         }
@@ -972,10 +946,23 @@ public class GameController{
 
     /**
      * Handles the MOVE command.
+     *
+     * @param player The player to move.
+     * @param data The name of the location to move to.
+     * @return True if the player moved, false if the move was refused.
      */
-    private void handleMoveCommand(Player player, Object data) {
+    private boolean handleMoveCommand(Player player, Object data) {
         String locationName = (String) data;
-        
+        Board board = this.model.getBoard();
+        Location from = this.model.getLocation(board.getPlayerLocationName(player));
+        // Refuse a move the buttons should not have offered
+        if (player.getHasMoved() ||
+            board.getPlayerRole(player.getID()) != null ||
+            !from.getNeighbors().contains(locationName)
+        ) {
+            return false;
+        }
+
         // Move player in the model
         this.model.getBoard().setPlayerLocation(player, locationName);
         player.setHasMoved(true);
@@ -988,25 +975,20 @@ public class GameController{
             visitedLocations.add(locationName);
 
             // Remove the card back for this location
-            Map<String, Object> removeCardBack = new HashMap<>();
-            removeCardBack.put("locationName", locationName);
-            this.model.notifyObservers("REMOVE_CARD_BACK", removeCardBack);
+            this.model.publish(new GameEvent.RemoveCardBack(locationName));
         }
 
         // Move player on the board
         Location location = this.model.getLocations().get(locationName);
         Area area = location.getArea();
 
-        // Create a HashMap to hold the event data
-        Map<String, Object> eventData = new HashMap<>();
-
-        // Add data to eventData
-        eventData.put("locationName", locationName);
-        eventData.put("playerID", player.getID());
-        eventData.put("locationArea", area);
-
         // Add the player to the location
-        this.model.notifyObservers("PLAYER_MOVE", eventData);
+        this.model.publish(new GameEvent.PlayerMove(
+            player.getID(),
+            locationName,
+            area
+        ));
+        return true;
     }
 
 
@@ -1014,58 +996,59 @@ public class GameController{
      * Handles the work command by moving the player to the selected role.
      * 
      * @param player The player to move.
-     * @param data The role name to move to.
+     * @param data The WORK button of the role, which holds its ID and
+     *             whether it is on the scene card.
+     * @return True if the player took the role, false if it was refused.
      */
-    private void handleWorkCommand(Player player, Object data) {
-        String roleName = (String) data;
+    private boolean handleWorkCommand(Player player, Object data) {
+        GameEvent.AddButton button = (GameEvent.AddButton) data;
+        Board board = this.model.getBoard();
         // Get the current player's location
-        Location location = this.model.getLocation(this.model.getBoard().getPlayerLocationName(player));
-
-        // Get all the location and scene card roles
-        List<Role> locationRoles = location.getRoles();
-        List<Role> sceneCardRoles = this.model.getBoard().getLocationSceneCardRoles(location.getName(), this.model.getDeck());
+        Location location = this.model.getLocation(board.getPlayerLocationName(player));
 
-        // Determine if the roleName is onCard
-        boolean onCard = sceneCardRoles.stream().anyMatch(role -> role.getName().equals(roleName));
-
-        int x = 0;
-        int y = 0;
+        // Role IDs are only unique among the location roles or the card roles
+        List<Role> roles = button.onCard()
+            ? board.getLocationSceneCardRoles(location.getName(), this.model.getDeck())
+            : location.getRoles();
+        Role workedRole = null;
+        for (Role role : roles) {
+            if (role.getID() == button.roleID()) {
+                workedRole = role;
+                break;
+            }
+        }
+        // Refuse a role the buttons should not have offered
+        if (workedRole == null ||
+            workedRole.isOccupied() ||
+            board.getPlayerRole(player.getID()) != null
+        ) {
+            return false;
+        }
+        workedRole.setOccupied(true);
+        board.setPlayerRole(player.getID(), workedRole);
 
+        int x;
+        int y;
+        Area roleArea = workedRole.getArea();
         // If on card, add the player to the x and y coordinates of the location plus the role area
-        if (onCard) {
-            // Get the x and y coords for the role on the scene card
-            for (Role role : sceneCardRoles) {
-                if (role.getName().equals(roleName)) {
-                    x = role.getArea().getX() + location.getArea().getX() + 1;
-                    y = role.getArea().getY() + location.getArea().getY() + 1;
-                    role.setOccupied(true);
-                    break;
-                }
-            }
+        if (board.isPlayerOnCard(player.getID())) {
+            x = roleArea.getX() + location.getArea().getX() + 1;
+            y = roleArea.getY() + location.getArea().getY() + 1;
         } else {
-            for (Role role : locationRoles) {
-                if (role.getName().equals(roleName)) {
-                    x = role.getArea().getX() + 3;
-                    y = role.getArea().getY() + 3;
-                    role.setOccupied(true);
-                    break;
-                }
-            }
+            x = roleArea.getX() + 3;
+            y = roleArea.getY() + 3;
         }
 
-        // Create a HashMap to hold the event data
-        Map<String, Object> eventData = new HashMap<>();
-        // Add data to eventData
-        eventData.put("playerID", player.getID());
-        eventData.put("locationName", location.getName());
-        eventData.put("locationArea", new Area(x, y, 0, 0));
         // Add the player to the location
-        this.model.notifyObservers("PLAYER_WORK", eventData);
-
-        this.model.getBoard().setPlayerRole(player.getID(), roleName);
+        this.model.publish(new GameEvent.PlayerWork(
+            player.getID(),
+            location.getName(),
+            new Area(x, y, 0, 0)
+        ));
 
         // Set player as hasWorked
         player.setHasWorked(true);
+        return true;
     }
 
     /**
@@ -1092,14 +1075,32 @@ public class GameController{
 
     /**
      * Handles the UPGRADE command.
+     *
+     * @param player The player to upgrade.
+     * @param data The upgrade chosen.
+     * @return True if the player upgraded, false if the upgrade was refused.
      */
-    private void handleUpgradeCommand(Player player, Object data) {
+    private boolean handleUpgradeCommand(Player player, Object data) {
         Upgrade upgrade = (Upgrade) data;
+        Board board = this.model.getBoard();
+        int funds = upgrade.getCurrency().startsWith("dollar")
+            ? player.getDollars()
+            : player.getCredits();
+        // Refuse an upgrade the buttons should not have offered
+        if (player.getHasUpgraded() ||
+            !board.getPlayerLocationName(player).equals("Casting Office") ||
+            upgrade.getLevel() <= player.getRank() ||
+            funds < upgrade.getAmt()
+        ) {
+            return false;
+        }
         // Handle upgrade action in model
         PlayerActionUpgrade upgradeAction = (PlayerActionUpgrade) actionMap.get("upgrade");
         upgradeAction.processPayment(player, upgrade.getLevel(), upgrade.getCurrency());
         upgradeAction.upgradePlayerRank(player, upgrade.getLevel(), this.view);
         player.setHasUpgraded(true);
+        this.model.publish(new GameEvent.PlayerUpgrade(player.getID()));
+        return true;
     }
 
     /**
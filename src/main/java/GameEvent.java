@@ -0,0 +1,171 @@
+import java.util.List;
+
+/**
+ * Represents an event the model publishes to the views through the EventBus.
+ * <p>
+ * Each kind of event is a record nested in this interface, so a subscriber
+ * receives its data in typed fields instead of looking it up in a map by
+ * key.
+ */
+public sealed interface GameEvent {
+
+    /**
+     * A message for the player.
+     *
+     * @param message the message
+     */
+    record ShowMessage(String message) implements GameEvent {}
+
+    /**
+     * The player dice are placed on the board at the start of the game.
+     *
+     * @param dice the starting die of each player
+     */
+    record InitDiceLabels(List<PlayerDie> dice) implements GameEvent {}
+
+    /**
+     * The starting die of one player, part of InitDiceLabels.
+     *
+     * @param playerID the ID of the player
+     * @param rank the rank of the player
+     * @param x the x-coordinate of the player's location
+     * @param y the y-coordinate of the player's location
+     */
+    record PlayerDie(int playerID, int rank, int x, int y) {}
+
+    /**
+     * A scene card is face up at a location.
+     *
+     * @param locationName the name of the location
+     * @param sceneCardID the ID of the scene card
+     * @param x the x-coordinate of the location
+     * @param y the y-coordinate of the location
+     */
+    record AddCard(String locationName, int sceneCardID, int x, int y) implements GameEvent {}
+
+    /**
+     * A card back covers a location, grayed out if the scene has wrapped.
+     *
+     * @param locationName the name of the location
+     * @param x the x-coordinate of the location
+     * @param y the y-coordinate of the location
+     * @param wrapped true if the scene at the location has wrapped
+     */
+    record AddCardBack(String locationName, int x, int y, boolean wrapped) implements GameEvent {}
+
+    /**
+     * The card back at a location is turned over.
+     *
+     * @param locationName the name of the location
+     */
+    record RemoveCardBack(String locationName) implements GameEvent {}
+
+    /**
+     * The player stats table is created.
+     *
+     * @param players the players to show in the table
+     */
+    record CreatePlayerStatsTable(List<Player> players) implements GameEvent {}
+
+    /**
+     * The row of the player whose turn it is is highlighted.
+     *
+     * @param playerID the ID of the player
+     */
+    record HighlightPlayerRow(int playerID) implements GameEvent {}
+
+    /**
+     * A button for one of the active player's actions.
+     *
+     * @param command the command of the button
+     * @param data the data sent with the command
+     * @param area the area of the button
+     * @param roleID the ID of the role of a WORK button
+     * @param onCard true if a WORK button is for an on card role
+     * @param locationArea the area of the location of a WORK button
+     * @param upgrades the upgrades offered by an UPGRADE button
+     */
+    record AddButton(
+        String command,
+        String data,
+        Area area,
+        int roleID,
+        boolean onCard,
+        Area locationArea,
+        List<Upgrade> upgrades
+    ) implements GameEvent {
+
+        /**
+         * Constructs a MOVE, ACT, REHEARSE or END button.
+         *
+         * @param command the command of the button
+         * @param data the data sent with the command
+         * @param area the area of the button
+         */
+        public AddButton(String command, String data, Area area) {
+            this(command, data, area, SymbolTable.NONE, false, null, List.of());
+        }
+    }
+
+    /**
+     * Every action button is removed.
+     */
+    record RemoveAllButtons() implements GameEvent {}
+
+    /**
+     * A shot counter is placed on a wrapped take.
+     *
+     * @param area the area of the take
+     */
+    record AddShot(Area area) implements GameEvent {}
+
+    /**
+     * Every shot counter is removed.
+     */
+    record RemoveAllShots() implements GameEvent {}
+
+    /**
+     * The player dice are drawn above everything else.
+     */
+    record BringDiceToFront() implements GameEvent {}
+
+    /**
+     * A player moved to a location.
+     *
+     * @param playerID the ID of the player
+     * @param locationName the name of the location
+     * @param area the area of the location
+     */
+    record PlayerMove(int playerID, String locationName, Area area) implements GameEvent {}
+
+    /**
+     * A player took a role.
+     *
+     * @param playerID the ID of the player
+     * @param locationName the name of the role's location
+     * @param area the position of the role on the board
+     */
+    record PlayerWork(int playerID, String locationName, Area area) implements GameEvent {}
+
+    /**
+     * A player upgraded their rank.
+     *
+     * @param playerID the ID of the player
+     */
+    record PlayerUpgrade(int playerID) implements GameEvent {}
+
+    /**
+     * A scene wrapped.
+     *
+     * @param workerIDs the IDs of the players who had a role in the scene
+     */
+    record SceneWrapped(List<Integer> workerIDs) implements GameEvent {}
+
+    /**
+     * The game is over.
+     *
+     * @param playerScores the score line of each player
+     */
+    record ShowScores(List<String> playerScores) implements GameEvent {}
+
+}
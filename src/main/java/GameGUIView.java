@@ -8,12 +8,13 @@ import javafx.scene.control.Label;
 import javafx.stage.Stage;
 import javafx.scene.Group;
 
-import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
 
 public class GameGUIView implements GameView {
 
@@ -28,7 +29,9 @@ public class GameGUIView implements GameView {
     // JavaFX Components
     Map<String, Label> playerDiceLabels = new HashMap<>();
     private Group rootGroup;
+    private SceneGraphTransaction sceneGraph;
     private Stage stage;
+    private Map<String, ImageView> cardViews = new HashMap<>();
     private Map<String, ImageView> cardBacks = new HashMap<>();
 
     // Managers
@@ -36,6 +39,8 @@ public class GameGUIView implements GameView {
     private PlayerStatsManager playerStatsManager;
     private ButtonManager buttonManager;
     private ShotManager shotManager;
+    // true once a button is shown in the frame being delivered
+    private boolean buttonsShown = false;
 
     // Constants
     private final int BOARD_IMAGE_WIDTH = 1200;
@@ -59,6 +64,7 @@ public class GameGUIView implements GameView {
     private static final int PLAYER_STATS_HEADER_OFFSET = 28;
     private static final int PLAYER_STATS_WIDTH = 300;
 
+    private static final int CARD_WIDTH = 205;
     private static final int CARD_HEIGHT = 115;
 
     private static final int TRAILER_X_OFFSET = 11;
@@ -84,6 +90,7 @@ public class GameGUIView implements GameView {
     public GameGUIView() {
         // Initialize the root pane and other components, but not the stage
         this.rootGroup = new Group();
+        this.sceneGraph = new SceneGraphTransaction(this.rootGroup);
 
         // Add the game board image to the root pane
         createBoard();
@@ -96,13 +103,18 @@ public class GameGUIView implements GameView {
         
         // Create the console 
         this.consoleManager.createConsole(
-            this.rootGroup, 
+            this.sceneGraph, 
             SIDEBAR_LEFT_BORDER,
             CONSOLE_Y,
             CONSOLE_WIDTH,
             CONSOLE_HEIGHT
         );
 
+        // Add the overlay that holds the action buttons
+        this.sceneGraph.add(this.buttonManager.getOverlay());
+
+        // Add the board, console and overlay to the root pane
+        this.sceneGraph.commit();
     }
 
 
@@ -110,8 +122,8 @@ public class GameGUIView implements GameView {
 
 
     /**
-     * Get the singleton instance of the GameGUIView.
-     * @return the singleton instance
+     * Get the default instance of the GameGUIView used by the application.
+     * @return the default instance
      */
     public static GameGUIView getInstance() {
         if (instance == null) {
@@ -148,22 +160,26 @@ public class GameGUIView implements GameView {
     public void createBoard() {
         // Create the board label
         Label boardLabel = new Label();
-        // Load the board image
-        InputStream boardImageStream = getClass().getClassLoader().getResourceAsStream("board.jpg");
-        if (boardImageStream == null) {
-            System.err.println("Error: board.jpg not found");
+        // Load the board image at the size it is shown at
+        Image boardImage = ImageCache.getInstance().getForDisplay(
+            "board.jpg",
+            BOARD_IMAGE_WIDTH,
+            BOARD_IMAGE_HEIGHT
+        );
+        if (boardImage == null) {
             return;
         }
-        Image boardImage = new Image(boardImageStream);
         // Set the board view to the board image
         ImageView boardView = new ImageView(boardImage);
+        boardView.setFitWidth(BOARD_IMAGE_WIDTH);
+        boardView.setFitHeight(BOARD_IMAGE_HEIGHT);
         // Set the board view to the board graphic
         boardLabel.setGraphic(boardView);
         // Set the board label properties
         boardLabel.setLayoutX(BOARD_OFFSET_X);
         boardLabel.setLayoutY(0);
         // Add the board label to the board pane
-        rootGroup.getChildren().add(boardLabel);
+        sceneGraph.add(boardLabel);
     }
     
 
@@ -220,70 +236,60 @@ public class GameGUIView implements GameView {
     }
 
 
-// Observer Pattern
+// Events
 
 
     /**
-     * Updates the view.
+     * Subscribes the view to the events it displays.
      * 
-     * @param eventType The type of event
-     * @param eventData The event data
+     * @param eventBus The bus the model publishes events on
      */
-    @SuppressWarnings("unchecked")
     @Override
-    public void update(String eventType, Object eventData) {
-        switch (eventType) {
-            case "SHOW_MESSAGE":
-                showMessage((String) eventData);
-                break;
-            case "INIT_DICE_LABELS":
-                showMessage("Welcome to Deadwood!");
-                initDiceLabels((Map<Integer, Map<String, Integer>>) eventData);
-                break;
-            case "ADD_CARD":
-                addCard((Map<String, Integer>) eventData);
-                break;
-            case "ADD_CARD_BACK":
-                addCardBack((Map<String, Object>) eventData, false);
-                break;
-            case "ADD_WRAPPED_CARD_BACK":
-                addCardBack((Map<String, Object>) eventData, true);
-                break;
-            case "REMOVE_CARD_BACK":
-                removeCardBack((Map<String, Object>) eventData);
-                break;
-            case "CREATE_PLAYER_STATS_TABLE":
-                List<Player> players = (List<Player>) eventData;
-                addDiceImageListeners(players);
-                createPlayerStats(players);
-                break;
-            case "HIGHLIGHT_PLAYER_ROW":
-                playerStatsManager.highlightRow((int) eventData);
-                break;
-            case "ADD_BUTTON":
-                addButton((Map<String,Object>) eventData);
-                break;
-            case "REMOVE_ALL_BUTTONS":
-                buttonManager.clearAllButtons(this.rootGroup);
-                break;
-            case "REMOVE_ALL_SHOTS":
-                shotManager.clearShotCounters(this.rootGroup);
-                break;
-            case "BRING_DICE_TO_FRONT":
-                bringPlayerDiceToFront();
-                break;
-            case "PLAYER_MOVE":
-                handlePlayerMove((Map<String, Object>) eventData);
-                break;
-            case "PLAYER_WORK":
-                handlePlayerWork((Map<String, Object>) eventData);
-                break;
-            case "SHOW_SCORES":
-                showScores((List<String>) eventData);
-                break;
-            default:
-                System.out.println("Unknown event type: " + eventType);
-        }
+    public void subscribe(EventBus eventBus) {
+        eventBus.subscribe(GameEvent.ShowMessage.class, event ->
+            showMessage(event.message()));
+        eventBus.subscribe(GameEvent.InitDiceLabels.class, event -> {
+            showMessage("Welcome to Deadwood!");
+            initDiceLabels(event.dice());
+        });
+        eventBus.subscribe(GameEvent.AddCard.class, this::addCard);
+        eventBus.subscribe(GameEvent.AddCardBack.class, this::addCardBack);
+        eventBus.subscribe(GameEvent.RemoveCardBack.class, this::removeCardBack);
+        eventBus.subscribe(GameEvent.CreatePlayerStatsTable.class, event -> {
+            List<PlayerProperties> players = new ArrayList<>();
+            for (Player player : event.players()) {
+                players.add(new PlayerProperties(player));
+            }
+            addDiceImageListeners(players);
+            createPlayerStats(players);
+        });
+        eventBus.subscribe(GameEvent.HighlightPlayerRow.class, event ->
+            playerStatsManager.highlightRow(event.playerID()));
+        eventBus.subscribe(GameEvent.AddButton.class, this::addButton);
+        eventBus.subscribe(GameEvent.RemoveAllButtons.class, event ->
+            buttonManager.clearAllButtons());
+        eventBus.subscribe(GameEvent.AddShot.class, event ->
+            shotManager.placeShotImage(this.sceneGraph, event.area()));
+        eventBus.subscribe(GameEvent.RemoveAllShots.class, event ->
+            shotManager.clearShotCounters(this.sceneGraph));
+        eventBus.subscribe(GameEvent.BringDiceToFront.class, event ->
+            bringPlayerDiceToFront());
+        eventBus.subscribe(GameEvent.PlayerMove.class, this::handlePlayerMove);
+        eventBus.subscribe(GameEvent.PlayerWork.class, this::handlePlayerWork);
+        eventBus.subscribe(GameEvent.ShowScores.class, event ->
+            showScores(event.playerScores()));
+        // SceneWrapped and PlayerUpgrade are only used for statistics, the
+        // board is updated by the other events
+
+        // Apply the board changes of each frame to the scene graph at once,
+        // keeping any buttons shown in the frame above everything else
+        eventBus.onFrame(() -> {
+            if (buttonsShown) {
+                buttonsShown = false;
+                sceneGraph.toFront(buttonManager.getOverlay());
+            }
+            sceneGraph.commit();
+        });
     }
 
 
@@ -313,7 +319,7 @@ public class GameGUIView implements GameView {
      */
     public void bringPlayerDiceToFront() {
         for (Label label : playerDiceLabels.values()) {
-            label.toFront();
+            sceneGraph.toFront(label);
         }
     }
 
@@ -354,7 +360,7 @@ public class GameGUIView implements GameView {
     }
 
 
-// Observer Pattern Methods
+// Event Methods
 
 
     /**
@@ -369,18 +375,16 @@ public class GameGUIView implements GameView {
     /**
      * Create player dice labels.
      * 
-     * @param eventData number of players (int)
+     * @param dice The starting die of each player
      */
-    private void initDiceLabels(Map<Integer, Map<String, Integer>> playerData) {
+    private void initDiceLabels(List<GameEvent.PlayerDie> dice) {
     
         // Create player dice labels and store them in playerDiceLabels
-        for (Map.Entry<Integer, Map<String, Integer>> entry : 
-            playerData.entrySet()) {
-            Integer playerID = entry.getKey();
-            Map<String, Integer> playerInfo = entry.getValue();
-            int x = playerInfo.get("locationX") + BOARD_OFFSET_X;
-            int y = playerInfo.get("locationY");
-            int playerRank = playerInfo.get("playerRank");
+        for (GameEvent.PlayerDie die : dice) {
+            Integer playerID = die.playerID();
+            int x = die.x() + BOARD_OFFSET_X;
+            int y = die.y();
+            int playerRank = die.rank();
     
             // Create a new Label for the dice image
             Label diceImageLabel = new Label();
@@ -398,7 +402,7 @@ public class GameGUIView implements GameView {
             diceTextLabel.setLayoutY(y - 20);  // Slightly above the dice image
     
             // Add the dice image and the text label to the board
-            rootGroup.getChildren().addAll(diceImageLabel, diceTextLabel);
+            sceneGraph.addAll(diceImageLabel, diceTextLabel);
     
             // Move the dice label bounds to the new location
             movePlayerDieToCoords(diceImageLabel, x, y);
@@ -415,10 +419,12 @@ public class GameGUIView implements GameView {
      * @param diceFilename The filename of the dice image
      */
     private void setDiceLabelIcon(Label playerDiceLabel, String diceFilename) {
-        InputStream diceImageStream = getClass().getClassLoader().getResourceAsStream("dice/" + diceFilename + ".png");
-        if (diceImageStream != null) {
-            Image diceImage = new Image(diceImageStream);
-            playerDiceLabel.setGraphic(new ImageView(diceImage));
+        // Reuse the label's image view once it has one
+        ImageView diceView = playerDiceLabel.getGraphic() instanceof ImageView view
+            ? view
+            : new ImageView();
+        if (ImageCache.getInstance().show(diceView, "dice/" + diceFilename + ".png")) {
+            playerDiceLabel.setGraphic(diceView);
         } else {
             System.err.println("Error loading dice image: " + diceFilename);
         }
@@ -431,55 +437,62 @@ public class GameGUIView implements GameView {
      * 
      * @param cardInfo The card info
      */
-    public void addCard(Map<String, Integer> cardInfo) {
-        int cardID = cardInfo.get("sceneCardID");
-        String cardName = String.format("cards/%02d.png", cardID);
-        int x = cardInfo.get("locationX");
-        int y = cardInfo.get("locationY");
+    public void addCard(GameEvent.AddCard cardInfo) {
+        int cardID = cardInfo.sceneCardID();
+        String cardName = ImageCache.cardName(cardID);
+        int x = cardInfo.x();
+        int y = cardInfo.y();
         // Add offset to x to compensate for left sidebar
         int new_x = x + BOARD_OFFSET_X;
-        moveCardToLocation(new_x, y, cardName);
+        moveCardToLocation(cardInfo.locationName(), new_x, y, cardName);
     }
 
     /**
      * Add card backs to board.
      * 
-     * @param eventData The event data containing location details.
+     * @param addCardBack The event containing location details.
      */
-    private void addCardBack(Map<String, Object> addCardBack, boolean isGrayscale) {
-        String locationName = (String) addCardBack.get("locationName");
-        int x = (Integer) addCardBack.get("locationX");
-        int y = (Integer) addCardBack.get("locationY");
+    private void addCardBack(GameEvent.AddCardBack addCardBack) {
+        String locationName = addCardBack.locationName();
+        int x = addCardBack.x();
+        int y = addCardBack.y();
+        boolean isGrayscale = addCardBack.wrapped();
 
         // Add offset to x to compensate for left sidebar
         int new_x = x + BOARD_OFFSET_X;
 
-        // Load the card back image
-        InputStream cardBackImageStream = getClass().getClassLoader().getResourceAsStream("CardBack-small.jpg");
-        if (cardBackImageStream == null) {
-            System.err.println("Error: CardBack-small.jpg not found");
+        // Get the card back image at the size of a card
+        Image cardBackImage = ImageCache.getInstance().getForDisplay(
+            "CardBack-small.jpg",
+            CARD_WIDTH,
+            CARD_HEIGHT
+        );
+        if (cardBackImage == null) {
             return;
         }
-        Image cardBackImage = new Image(cardBackImageStream);
 
-        // Create an ImageView for the card back
-        ImageView cardBackView = new ImageView(cardBackImage);
+        // Reuse the location's card back, each location has at most one
+        ImageView cardBackView = cardBacks.computeIfAbsent(
+            locationName,
+            key -> {
+                ImageView view = new ImageView(cardBackImage);
+                view.setFitWidth(CARD_WIDTH);
+                view.setFitHeight(CARD_HEIGHT);
+                return view;
+            }
+        );
         cardBackView.setLayoutX(new_x);
         cardBackView.setLayoutY(y);
 
-        // Apply grayscale effect if required
+        // Apply grayscale effect if required, or clear it for a new day
         if (isGrayscale) {
             applyWrappedSceneEffect(cardBackView);
+        } else {
+            cardBackView.setEffect(null);
         }
 
-        // Add the card back to the root group
-        rootGroup.getChildren().add(cardBackView);
-
-        // Store the card back in the map if not grayscale
-        if (!isGrayscale) {
-            cardBacks.put(locationName, cardBackView);
-        }
-
+        // Add the card back on top of the location's card
+        sceneGraph.add(cardBackView);
     }
 
     /**
@@ -509,17 +522,15 @@ public class GameGUIView implements GameView {
     /**
      * Remove card backs from board.
      * 
-     * @param eventData The event data containing location details.
+     * @param removeCardBack The event containing location details.
      */
-    private void removeCardBack(Map<String, Object> removeCardBack) {
-        String locationName = (String) removeCardBack.get("locationName");
+    private void removeCardBack(GameEvent.RemoveCardBack removeCardBack) {
+        String locationName = removeCardBack.locationName();
         ImageView cardBackView = cardBacks.get(locationName);
 
         if (cardBackView != null) {
-            // Remove the card back from the root group
-            rootGroup.getChildren().remove(cardBackView);
-            // Remove the entry from the map
-            cardBacks.remove(locationName);
+            // Remove the card back from the board, keeping it for reuse
+            sceneGraph.remove(cardBackView);
         } else {
             System.err.println("Error: No card back found for location " + locationName);
         }
@@ -529,9 +540,9 @@ public class GameGUIView implements GameView {
      * Create player stats table.
      * 
      */
-    private void createPlayerStats(List<Player> players) {
+    private void createPlayerStats(List<PlayerProperties> players) {
         playerStatsManager.createPlayerStatsTable(
-            rootGroup, 
+            sceneGraph, 
             playerDiceLabels,
             PLAYER_STATS_ROW_HEIGHT,
             PLAYER_STATS_DICE_COLUMN_WIDTH,
@@ -548,11 +559,11 @@ public class GameGUIView implements GameView {
     /**
      * Adds listeners to update dice labels when rank changes.
      * 
-     * @param players The list of players to add listeners for.
+     * @param players The properties of the players to add listeners for.
      */
-    public void addDiceImageListeners(List<Player> players){
+    public void addDiceImageListeners(List<PlayerProperties> players){
         // Add listeners to update dice labels when rank changes
-        for (Player player : players) {
+        for (PlayerProperties player : players) {
             Label diceLabel = playerDiceLabels.get(String.valueOf(player.getID()));
             if (diceLabel != null) {
                 player.rankProperty().addListener((obs, oldRank, newRank) -> {
@@ -568,12 +579,16 @@ public class GameGUIView implements GameView {
     /**
      * Add a clickable area to the GUI board.
      * 
-     * @param eventData The event data
+     * @param buttonData The event data
      */
-    public void addButton(Map<String,Object> buttonData) {
-        String command = buttonData.get("command").toString();
-        String info = buttonData.get("data").toString();
-        Area area = (Area) buttonData.get("area");
+    public void addButton(GameEvent.AddButton buttonData) {
+        String command = buttonData.command();
+        String info = buttonData.data();
+        Area area = buttonData.area();
+
+        // The overlay is raised once the frame's buttons are all shown
+        buttonsShown = true;
+
         String tooltipText = 
             command.substring(0, 1).toUpperCase() +
             command.substring(1).toLowerCase();
@@ -595,17 +610,18 @@ public class GameGUIView implements GameView {
                 (int) diceLabel.getWidth() + 8
             );
 
-            buttonManager.createButton(
-                this.rootGroup, 
+            // A single END button follows the die from move to move
+            buttonManager.createMovableButton(
                 command, 
                 info, 
                 endArea,
                 tooltipText
             ); 
         } else if ( command.equals("WORK") ){ // Coomand was WORK
+            // The button sends itself, so the controller gets the role ID
 
-            boolean onCard = (boolean) buttonData.get("onCard");
-            Area locationArea = (Area) buttonData.get("locationArea");
+            boolean onCard = buttonData.onCard();
+            Area locationArea = buttonData.locationArea();
 
             if (onCard){ // Role is OnCard and needs location 
 
@@ -616,9 +632,8 @@ public class GameGUIView implements GameView {
                     offsetArea.getW() + 10
                 );
                 buttonManager.createButton(
-                        this.rootGroup, 
                         command, 
-                        info, 
+                        buttonData, 
                         workArea,
                         tooltipText
                 );
@@ -630,18 +645,15 @@ public class GameGUIView implements GameView {
                     offsetArea.getW() + 6
                 );
                 buttonManager.createButton(
-                    this.rootGroup, 
                     command, 
-                    info, 
+                    buttonData, 
                     workArea,
                     tooltipText
                 );
             }
 
         } else if ( command.equals("UPGRADE") ){
-            @SuppressWarnings("unchecked")
-            List<Upgrade> availableUpgrades = 
-                (List<Upgrade>) buttonData.get("availableUpgrades");
+            List<Upgrade> availableUpgrades = buttonData.upgrades();
 
             // Create a button for each upgrade
             for (Upgrade upgrade : availableUpgrades) {
@@ -656,7 +668,6 @@ public class GameGUIView implements GameView {
                     UPGRADE_BUTTON_W
                 );
                 buttonManager.createButton(
-                    this.rootGroup, 
                     command, 
                     upgrade, 
                     upgradeOffsetArea,
@@ -668,7 +679,6 @@ public class GameGUIView implements GameView {
         } else { // Command was MOVE, ACT, or REHEARSE
 
             buttonManager.createButton(
-                this.rootGroup, 
                 command, 
                 info, 
                 offsetArea,
@@ -681,14 +691,14 @@ public class GameGUIView implements GameView {
     /**
      * Handle player move event.
      * 
-     * @param eventData The event data
+     * @param moveData The event data
      */
-    private void handlePlayerMove(Map<String, Object> moveData) {
+    private void handlePlayerMove(GameEvent.PlayerMove moveData) {
 
         // Get the x and y coords of the new location and the player id
-        String locationName = (String) moveData.get("locationName");
-        Area area  = (Area) moveData.get("locationArea");
-        int playerID = (Integer) moveData.get("playerID");
+        String locationName = moveData.locationName();
+        Area area  = moveData.area();
+        int playerID = moveData.playerID();
         
         int x = area.getX();
         int y = area.getY();
@@ -744,13 +754,13 @@ public class GameGUIView implements GameView {
     /**
      * Handle player work event.
      * 
-     * @param eventData The event data
+     * @param workData The event data
      */
-    private void handlePlayerWork(Map<String, Object> moveData) {
+    private void handlePlayerWork(GameEvent.PlayerWork workData) {
 
         // Get the x and y coords of the new location and the player id
-        Area area  = (Area) moveData.get("locationArea");
-        int playerID = (Integer) moveData.get("playerID");
+        Area area  = workData.area();
+        int playerID = workData.playerID();
         
         int x = area.getX();
         int y = area.getY();
@@ -792,7 +802,7 @@ public class GameGUIView implements GameView {
     }
 
 
-//Observer Pattern Method Utilities
+//Event Method Utilities
 
 
     /**
@@ -810,20 +820,23 @@ public class GameGUIView implements GameView {
     /**
      * Move a card to a location on the board.
      * 
+     * @param locationName The name of the location
      * @param x The x-coordinate of the location
      * @param y The y-coordinate of the location
      * @param filename The filename of the card
      */
-    private void moveCardToLocation(int x, int y, String filename) {
-        // Load the card image
-        Image cardImage = new Image(getClass().getClassLoader().getResourceAsStream(filename));
-        // Create the card view
-        ImageView cardView = new ImageView(cardImage);
+    private void moveCardToLocation(String locationName, int x, int y, String filename) {
+        // Reuse the location's card view, each location shows one card
+        ImageView cardView = cardViews.computeIfAbsent(
+            locationName,
+            key -> new ImageView()
+        );
         // Set the card view properties
+        ImageCache.getInstance().show(cardView, filename);
         cardView.setLayoutX(x);
         cardView.setLayoutY(y);
         // Add the card view to the board pane
-        rootGroup.getChildren().add(cardView);
+        sceneGraph.add(cardView);
     }
 
     /**
@@ -836,19 +849,17 @@ public class GameGUIView implements GameView {
         return null;
     }
 
-    public CompletableFuture<Map<String, Object>> getPlayerInputFuture() {
-        CompletableFuture<Map<String, Object>> future = new CompletableFuture<>();
-        
-        // Get the clicked button's command and data when a button is clicked
-        buttonManager.setOnButtonClick((command, data) -> {
-            Map<String, Object> commandData = new HashMap<>();
-            commandData.put("command", command);
-            commandData.put("data", data);
-            // Complete the future with the clicked button's info
-            future.complete(commandData); 
-        });
-    
-        return future;
+    /**
+     * Sets the handler for the player's input in GUI mode. The handler is
+     * called with the clicked button's command and data on the JavaFX
+     * application thread, after the click itself has been handled.
+     * 
+     * @param onPlayerInput The handler for the player's input
+     */
+    public void setOnPlayerInput(BiConsumer<String, Object> onPlayerInput) {
+        buttonManager.setOnButtonClick((command, data) -> 
+            Platform.runLater(() -> onPlayerInput.accept(command, data))
+        );
     }
 
     /**
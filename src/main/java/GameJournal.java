@@ -0,0 +1,461 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Keeps an append-only journal of a game for crash recovery.
+ * <p>
+ * The journal starts with a snapshot of the game. After that, every action
+ * appends a record with the command, the dice rolled during it and the
+ * state words it changed. The record is a few dozen bytes however long the
+ * game has run. A new snapshot is written at the start of each day, so
+ * recovery replays at most a day of records. recover rebuilds a game from
+ * the last snapshot and the records after it, and stops at a torn or
+ * corrupt record at the end of the file.
+ * <p>
+ * Records are collected in memory. A background thread writes them and
+ * syncs the file to disk once per group, at most SYNC_INTERVAL_MILLIS
+ * after each record, so actions never wait for the disk.
+ * <pre>
+ *   file header: int magic "DWJ\0", short version, short reserved,
+ *                long content hash, long seed
+ *   record:      int payload length, int CRC-32 of type and payload,
+ *                byte type, payload
+ *   SNAPSHOT:    short number of words, int[] words
+ *   ACTION:      short entry length, UTF-8 entry, byte number of dice,
+ *                byte[] dice, short number of words, short number of
+ *                changes, (short index, int word)[] changes
+ * </pre>
+ */
+public class GameJournal implements Closeable {
+    public static final String EXTENSION = ".dwj";
+
+    private static final int MAGIC = 0x44574A00;
+    private static final short VERSION = 1;
+    private static final int FILE_HEADER_BYTES = 4 + 2 + 2 + 8 + 8;
+    private static final int RECORD_HEADER_BYTES = 4 + 4;
+    private static final byte SNAPSHOT = 1;
+    private static final byte ACTION = 2;
+    private static final int MAX_RECORD_BYTES = 1 << 16;
+    private static final int MAX_DICE = 255;
+    private static final long SYNC_INTERVAL_MILLIS = 20;
+
+    private final GameModel model;
+    private final GameRules rules;
+    private final FileChannel channel;
+    private final Thread syncer;
+    private final CRC32 crc = new CRC32();
+
+    // Guarded by this, groups are written while holding the channel
+    private ByteBuffer pending = ByteBuffer.allocate(4096);
+    private boolean closed;
+    private IOException failure;
+
+    // Game thread only
+    private int[] lastWords;
+    private final byte[] dice = new byte[MAX_DICE];
+    private int numDice;
+
+
+    /**
+     * Constructs a journal writing to an open channel.
+     *
+     * @param model the game model
+     * @param channel the channel of the journal file
+     */
+    private GameJournal(GameModel model, FileChannel channel) {
+        this.model = model;
+        this.rules = model.getRules();
+        this.channel = channel;
+        this.syncer = new Thread(this::syncLoop, "journal-sync");
+        this.syncer.setDaemon(true);
+    }
+
+    /**
+     * Starts a new journal of a game, replacing the file if it exists. The
+     * journal begins with a snapshot of the game and listens to its dice.
+     *
+     * @param model the game model
+     * @param path the journal file
+     * @return the journal
+     * @throws IOException if an I/O error occurs
+     */
+    public static GameJournal open(GameModel model, Path path) throws IOException {
+        FileChannel channel = FileChannel.open(
+            path,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE
+        );
+        GameJournal journal = new GameJournal(model, channel);
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES);
+        header.putInt(MAGIC);
+        header.putShort(VERSION);
+        header.putShort((short) 0);
+        header.putLong(journal.rules.getContentHash());
+        header.putLong(model.getSeed());
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        journal.snapshot();
+        model.getDice().setOnRoll(journal::recordDie);
+        journal.syncer.start();
+        return journal;
+    }
+
+
+// ============================================================
+// Recording
+// ============================================================
+
+
+    /**
+     * Appends a snapshot of the whole game. Recovery starts from the last
+     * snapshot in the journal.
+     */
+    public void snapshot() {
+        int[] words = GameState.fromModel(model, rules).getWords();
+        ByteBuffer payload = ByteBuffer.allocate(2 + 4 * words.length);
+        payload.putShort((short) words.length);
+        for (int word : words) {
+            payload.putInt(word);
+        }
+        append(SNAPSHOT, payload);
+        this.lastWords = words;
+        this.numDice = 0;
+    }
+
+    /**
+     * Appends a record of an action: the entry describing it, the dice
+     * rolled since the last record and the state words that changed. Nothing
+     * is appended if neither the game nor the dice changed.
+     *
+     * @param entry the command or phase that changed the game
+     */
+    public void record(String entry) {
+        int[] words = GameState.fromModel(model, rules).getWords();
+        int numChanges = 0;
+        for (int i = 0; i < words.length; i++) {
+            if (i >= lastWords.length || words[i] != lastWords[i]) {
+                numChanges++;
+            }
+        }
+        if (numChanges == 0 && numDice == 0 && words.length == lastWords.length) {
+            return;
+        }
+
+        byte[] text = entry.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer payload = ByteBuffer.allocate(
+            2 + text.length + 1 + numDice + 2 + 2 + 6 * numChanges
+        );
+        payload.putShort((short) text.length);
+        payload.put(text);
+        payload.put((byte) numDice);
+        payload.put(dice, 0, numDice);
+        payload.putShort((short) words.length);
+        payload.putShort((short) numChanges);
+        for (int i = 0; i < words.length; i++) {
+            if (i >= lastWords.length || words[i] != lastWords[i]) {
+                payload.putShort((short) i);
+                payload.putInt(words[i]);
+            }
+        }
+        append(ACTION, payload);
+        this.lastWords = words;
+        this.numDice = 0;
+    }
+
+    /**
+     * Remembers a die rolled for the next record.
+     *
+     * @param value the value rolled
+     */
+    private void recordDie(int value) {
+        if (numDice < MAX_DICE) {
+            dice[numDice++] = (byte) value;
+        }
+    }
+
+    /**
+     * Frames a record and adds it to the records waiting to be written.
+     *
+     * @param type the type of the record
+     * @param payload the payload, positioned at its end
+     */
+    private void append(byte type, ByteBuffer payload) {
+        payload.flip();
+        int length = payload.remaining();
+        crc.reset();
+        crc.update(type);
+        crc.update(payload.duplicate());
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            int needed = RECORD_HEADER_BYTES + 1 + length;
+            if (pending.remaining() < needed) {
+                ByteBuffer larger = ByteBuffer.allocate(
+                    Math.max(2 * pending.capacity(), pending.position() + needed)
+                );
+                pending.flip();
+                larger.put(pending);
+                pending = larger;
+            }
+            pending.putInt(length);
+            pending.putInt((int) crc.getValue());
+            pending.put(type);
+            pending.put(payload);
+            notifyAll();
+        }
+    }
+
+
+// ============================================================
+// Writing
+// ============================================================
+
+
+    /**
+     * Writes and syncs every record appended so far, waiting for the disk.
+     *
+     * @throws IOException if an earlier or this write failed
+     */
+    public void sync() throws IOException {
+        writeGroup();
+        synchronized (this) {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * Writes and syncs the remaining records, stops the background thread
+     * and closes the file.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notifyAll();
+        }
+        if (model.getDice() != null) {
+            model.getDice().setOnRoll(null);
+        }
+        try {
+            syncer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            e.printStackTrace();
+        }
+        try {
+            sync();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Waits for records, lets more records join the group for a moment and
+     * writes the group, until the journal is closed.
+     */
+    private void syncLoop() {
+        try {
+            while (true) {
+                synchronized (this) {
+                    while (!closed && pending.position() == 0) {
+                        wait();
+                    }
+                    if (closed) {
+                        return;
+                    }
+                }
+                Thread.sleep(SYNC_INTERVAL_MILLIS);
+                writeGroup();
+            }
+        } catch (InterruptedException e) {
+            // Stop, close writes what is left
+        }
+    }
+
+    /**
+     * Writes the waiting records and syncs the file once for all of them.
+     * The records are swapped out under the lock and written outside it, so
+     * appends never wait for the disk.
+     */
+    private void writeGroup() {
+        synchronized (channel) {
+            ByteBuffer group;
+            synchronized (this) {
+                if (pending.position() == 0) {
+                    return;
+                }
+                group = pending;
+                pending = ByteBuffer.allocate(group.capacity());
+            }
+            group.flip();
+            try {
+                while (group.hasRemaining()) {
+                    channel.write(group);
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                e.printStackTrace();
+                synchronized (this) {
+                    // Keep the first failure for sync and close to report
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+            }
+        }
+    }
+
+
+// ============================================================
+// Recovery
+// ============================================================
+
+
+    /**
+     * Rebuilds a game from a journal: the last snapshot with every complete
+     * record after it applied. A torn or corrupt record ends the replay. The
+     * model must have been initialized with the board and cards of the
+     * journaled game and with the same number of players.
+     *
+     * @param model the game model to overwrite
+     * @param path the journal file
+     * @return the number of records replayed after the last snapshot
+     * @throws IOException if an I/O error occurs or the file is not a
+     *         journal of this game
+     */
+    public static int recover(GameModel model, Path path) throws IOException {
+        GameRules rules = model.getRules();
+        ByteBuffer file;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Journal too large");
+            }
+            file = ByteBuffer.allocate((int) size);
+            while (file.hasRemaining() && channel.read(file) >= 0) {
+                // Keep reading
+            }
+            file.flip();
+        }
+
+        if (file.remaining() < FILE_HEADER_BYTES || file.getInt() != MAGIC) {
+            throw new IOException("Not a game journal");
+        }
+        short version = file.getShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported journal version " + version);
+        }
+        file.getShort();
+        if (file.getLong() != rules.getContentHash()) {
+            throw new IOException("Journal was written with a different board or cards");
+        }
+        long seed = file.getLong();
+
+        int[] words = null;
+        int replayed = 0;
+        CRC32 crc = new CRC32();
+        while (file.remaining() >= RECORD_HEADER_BYTES + 1) {
+            int length = file.getInt();
+            int checksum = file.getInt();
+            if (length < 0 || length > MAX_RECORD_BYTES || file.remaining() < 1 + length) {
+                break;
+            }
+            byte type = file.get();
+            ByteBuffer payload = file.slice(file.position(), length);
+            file.position(file.position() + length);
+            crc.reset();
+            crc.update(type);
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            try {
+                if (type == SNAPSHOT) {
+                    words = readSnapshot(payload);
+                    replayed = 0;
+                } else if (type == ACTION && words != null) {
+                    words = applyAction(payload, words);
+                    replayed++;
+                }
+            } catch (RuntimeException e) {
+                // A record that passed the checksum but does not parse
+                throw new IOException("Invalid journal record", e);
+            }
+        }
+        if (words == null) {
+            throw new IOException("Journal has no snapshot");
+        }
+
+        GameState state;
+        try {
+            state = GameState.fromWords(words, rules);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid journal: " + e.getMessage(), e);
+        }
+        int numPlayers = model.getPlayers().size();
+        if (state.getNumPlayers() != numPlayers) {
+            throw new IOException(
+                "Journal has " + state.getNumPlayers() +
+                " players, the game has " + numPlayers
+            );
+        }
+        state.toModel(model, rules);
+        model.setSeed(seed);
+        return replayed;
+    }
+
+    /**
+     * Reads the words of a snapshot record.
+     *
+     * @param payload the payload of the record
+     * @return the words
+     */
+    private static int[] readSnapshot(ByteBuffer payload) {
+        int[] words = new int[payload.getShort() & 0xFFFF];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = payload.getInt();
+        }
+        return words;
+    }
+
+    /**
+     * Applies the changed words of an action record.
+     *
+     * @param payload the payload of the record
+     * @param words the words before the action
+     * @return the words after the action
+     */
+    private static int[] applyAction(ByteBuffer payload, int[] words) {
+        // Skip the entry and the dice, they are kept for reading the journal
+        int entryLength = payload.getShort() & 0xFFFF;
+        payload.position(payload.position() + entryLength);
+        int numDice = payload.get() & 0xFF;
+        payload.position(payload.position() + numDice);
+        int numWords = payload.getShort() & 0xFFFF;
+        int[] next = Arrays.copyOf(words, numWords);
+        int numChanges = payload.getShort() & 0xFFFF;
+        for (int i = 0; i < numChanges; i++) {
+            next[payload.getShort() & 0xFFFF] = payload.getInt();
+        }
+        return next;
+    }
+
+}
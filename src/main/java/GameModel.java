@@ -1,16 +1,26 @@
+import com.google.gson.JsonParseException;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents the model of the game.
  * <p>
  * It manages the game state and data.
  * It initializes the game board, locations, deck, and players.
- * It also provides global access to the game state and data.
+ * Each game has its own model, so many games can run in one JVM. The
+ * application also provides global access to a default model.
+ * Every random choice of a game, from the deck shuffle to the dice, is drawn
+ * from the model's own seeded random generator, so a game can be replayed
+ * from its seed and parallel games never contend on a shared generator.
  */
-public class GameModel implements Subject {
+public class GameModel {
     private static transient GameModel instance = null;
-    private transient List<Observer> observers = new ArrayList<>();
+    // Rules of each pair of board and cards files, shared by all models
+    private static final Map<String, GameRules> rulesByFiles = new ConcurrentHashMap<>();
+    private transient EventBus eventBus = new EventBus();
     private int numDays;
     private int currentDay = 1;
     private int numPlayers;
@@ -18,21 +28,40 @@ public class GameModel implements Subject {
     private List<Player> players;
     private Deck deck;
     private Map<String, Location> locations;
+    private transient SymbolTable symbols;
     private List<Upgrade> upgrades;
     private Board board;
+    private long seed;
+    private transient SplittableRandom random;
+    private transient Dice dice;
+    private transient String boardXMLFilePath;
+    private transient String cardsXMLFilePath;
 
 
 // Constructor
 
 
     /**
-     * Initializes a new Model.
+     * Initializes a new Model with a random seed.
      */
-    private GameModel() {
+    public GameModel() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Initializes a new Model whose random choices are drawn from the given
+     * seed.
+     *
+     * @param seed The seed of the game.
+     */
+    public GameModel(long seed) {
         this.players = null;
         this.deck = null;
         this.locations = null;
         this.board = null;
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+        this.dice = new Dice(this.random);
     }
 
 
@@ -40,9 +69,9 @@ public class GameModel implements Subject {
 
 
     /**
-     * Returns the instance of the Model.
+     * Returns the default instance of the Model used by the application.
      *
-     * @return The instance of the Model.
+     * @return The default instance of the Model.
      */
     public static synchronized GameModel getInstance() {
         if (instance == null) {
@@ -76,6 +105,8 @@ public class GameModel implements Subject {
         String cardsXMLFilePath
     ) {
         this.numPlayers = numPlayers;
+        this.boardXMLFilePath = boardXMLFilePath;
+        this.cardsXMLFilePath = cardsXMLFilePath;
         initPlayers(numPlayers);
         initDeck(cardsXMLFilePath);
         initLocations(boardXMLFilePath);
@@ -139,7 +170,7 @@ public class GameModel implements Subject {
             // Get the cards from the parser
             cards = parser.getCards(cardsXMLFilePath);
             // Create a new deck with the cards
-            this.deck = new Deck(cards);
+            this.deck = new Deck(cards, this.random);
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -155,6 +186,7 @@ public class GameModel implements Subject {
         ParseBoardXML parser = new ParseBoardXML();
         try {
             this.locations = parser.getLocations(boardXMLFilePath);
+            this.symbols = parser.getSymbolTable(boardXMLFilePath);
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -182,7 +214,7 @@ public class GameModel implements Subject {
         Map<String, Location> locations
     ) {
         // Create a new board
-        this.board = new Board(deck, locations);
+        this.board = new Board(deck, locations, this.symbols);
         // Set all player locations to Trailer
         for (Player player : players) {
             this.board.setPlayerLocation(player, "Trailer");
@@ -194,32 +226,88 @@ public class GameModel implements Subject {
 
 
     /**
-     * Loads the model state from a JSON file.
+     * Loads the model state from a JSON file into this model.
      * 
      * @param jsonFilePath Path to the JSON file.
      * @return True if the model was successfully loaded, false otherwise.
-     * @throws IOException If an error occurs while loading the JSON file.
      */
-    public static synchronized boolean loadFromJson(String jsonFilePath) {
+    public boolean loadFromJson(String jsonFilePath) {
         try {
             // Load the new state from the JSON file
             GameModel newModel = JsonUtil.loadFromJsonFile(
                 jsonFilePath, 
                 GameModel.class
             );
-            // Reset the singleton instance with the new state
-            getInstance().loadModel(newModel);
+            // Replace this model's state with the new state
+            loadModel(newModel);
+            return true;
+        } catch (IOException | JsonParseException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Loads the model state from a binary snapshot file into this model.
+     *
+     * @param snapshotFilePath Path to the snapshot file.
+     * @return True if the model was successfully loaded, false otherwise.
+     */
+    public boolean loadFromSnapshot(String snapshotFilePath) {
+        try {
+            GameSnapshot.load(this, Paths.get(snapshotFilePath));
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Recovers the model state from a game journal into this model.
+     *
+     * @param journalFilePath Path to the journal file.
+     * @return True if the model was successfully recovered, false otherwise.
+     */
+    public boolean loadFromJournal(String journalFilePath) {
+        try {
+            GameJournal.recover(this, Paths.get(journalFilePath));
             return true;
         } catch (IOException e) {
+            e.printStackTrace();
             return false;
         }
     }
 
+    /**
+     * Returns the rules of the board and cards this model was initialized
+     * with. The rules are built once from a fresh game, so they know every
+     * scene card, and are shared by all models of the same files.
+     *
+     * @return The rules of the game.
+     */
+    public GameRules getRules() {
+        String key = this.boardXMLFilePath + "\n" + this.cardsXMLFilePath;
+        return rulesByFiles.computeIfAbsent(key, k -> {
+            GameModel fresh = new GameModel(this.seed);
+            fresh.initModel(2, this.boardXMLFilePath, this.cardsXMLFilePath);
+            return new GameRules(fresh);
+        });
+    }
+
     /**
      * Loads the GameModel data from the given GameModel.
+     * <p>
+     * The random generator is not saved, so the loaded game keeps drawing
+     * from this model's generator.
+     *
      * @param newModel
      */
     private void loadModel(GameModel newModel) {
+        // Saves made before the IDs have none, so they are taken from this game
+        if (newModel.board.hasLegacyNames()) {
+            assignIDsByName(newModel);
+        }
+        this.seed = newModel.seed;
         this.numDays = newModel.numDays;
         this.currentDay = newModel.currentDay;
         this.numPlayers = newModel.numPlayers;
@@ -228,6 +316,102 @@ public class GameModel implements Subject {
         this.deck = newModel.deck;
         this.locations = newModel.locations;
         this.board = newModel.board;
+        // Location IDs are saved with the locations, so the lookups are rebuilt
+        this.symbols = new SymbolTable(this.locations.values());
+        this.board.bind(this.deck, this.locations, this.symbols);
+    }
+
+    /**
+     * Copies the IDs of this game's locations and roles to a game saved
+     * before the IDs, which has none. Locations are matched by name, and
+     * roles by their place on the location or scene card, which is the
+     * order of the XML files either way.
+     *
+     * @param newModel The loaded game.
+     */
+    private void assignIDsByName(GameModel newModel) {
+        for (Location location : newModel.locations.values()) {
+            Location current = this.locations.get(location.getName());
+            location.setID(current.getID());
+            assignRoleIDs(location.getRoles(), current.getRoles());
+        }
+        GameRules rules = getRules();
+        List<SceneCard> cards = new ArrayList<>(newModel.deck.getUndrawnCards());
+        cards.addAll(newModel.deck.getDrawnCards());
+        for (SceneCard card : cards) {
+            assignRoleIDs(card.getRoles(), rules.newCard(card.getID()).getRoles());
+        }
+    }
+
+    /**
+     * Copies the IDs of roles to the roles in the same places.
+     *
+     * @param roles The roles without IDs.
+     * @param current The roles with IDs.
+     */
+    private static void assignRoleIDs(List<Role> roles, List<Role> current) {
+        for (int i = 0; i < roles.size(); i++) {
+            roles.get(i).setID(current.get(i).getID());
+        }
+    }
+
+
+// Random Numbers
+
+
+    /**
+     * Returns the board XML file this model was initialized with.
+     *
+     * @return The file path to the board XML file.
+     */
+    public String getBoardXMLFilePath() {
+        return this.boardXMLFilePath;
+    }
+
+    /**
+     * Returns the cards XML file this model was initialized with.
+     *
+     * @return The file path to the cards XML file.
+     */
+    public String getCardsXMLFilePath() {
+        return this.cardsXMLFilePath;
+    }
+
+    /**
+     * Returns the seed the game was started with.
+     *
+     * @return The seed of the game.
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Sets the seed of a loaded game. The random generator is not reseeded,
+     * so the loaded game keeps drawing from this model's generator.
+     *
+     * @param seed The seed the loaded game was started with.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Returns the random generator of the game.
+     *
+     * @return The random generator.
+     */
+    public RandomGenerator getRandom() {
+        return this.random;
+    }
+
+    /**
+     * Returns the reusable dice of the game.
+     *
+     * @return The dice.
+     */
+    public Dice getDice() {
+        return this.dice;
     }
 
 
@@ -259,6 +443,15 @@ public class GameModel implements Subject {
         this.currentDay++;
     }
 
+    /**
+     * Sets the current day.
+     *
+     * @param day The current day.
+     */
+    public void setDay(int day) {
+        this.currentDay = day;
+    }
+
     
 // Player Management
 
@@ -281,6 +474,15 @@ public class GameModel implements Subject {
         return this.currentPlayer;
     }
 
+    /**
+     * Sets the current player.
+     *
+     * @param ID The ID of the current player.
+     */
+    public void setCurrentPlayer(int ID) {
+        this.currentPlayer = ID;
+    }
+
     /**
      * Increments the current player.
      */
@@ -346,7 +548,7 @@ public class GameModel implements Subject {
      */
     public void resetPlayerRoles() {
         for (Player player : this.players) {
-            this.board.setPlayerRole(player.getID(), null);
+            this.board.setPlayerRole(player.getID(), (Role) null);
         }
     }
 
@@ -386,6 +588,16 @@ public class GameModel implements Subject {
         throw new IllegalArgumentException("No location " + name);
     }
 
+    /**
+     * Returns the location with the given ID.
+     *
+     * @param locationID The ID of the location.
+     * @return The location with the given ID.
+     */
+    Location getLocation(int locationID) {
+        return this.board.getLocation(locationID);
+    }
+
     /**
      * Returns the locations.
      *
@@ -414,34 +626,26 @@ public class GameModel implements Subject {
     }
 
 
-// Observer Pattern
+// Events
 
 
     /**
-     * Registers an observer with the model.
+     * Returns the bus the model publishes its events on. Views subscribe to
+     * the events they display.
      *
-     * @param observer The observer to register.
+     * @return The event bus.
      */
-    public void registerObserver(Observer observer) {
-        observers.add(observer);
+    public EventBus getEventBus() {
+        return eventBus;
     }
 
     /**
-     * Removes an observer from the list of observers.
+     * Publishes an event to the subscribers of its type.
      *
-     * @param observer The observer to remove.
-     */
-    public void removeObserver(Observer observer) {
-        observers.remove(observer);
-    }
-
-    /**
-     * Notifies all observers that the state has changed.
+     * @param event The event to publish.
      */
-    public void notifyObservers(String eventType, Object eventData) {
-        for (Observer observer : observers) {
-            observer.update(eventType, eventData);
-        }
+    public void publish(GameEvent event) {
+        eventBus.publish(event);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,406 @@
+import java.util.*;
+
+/**
+ * Represents the static data of a game that a GameState needs to apply
+ * actions: the board layout, the scene cards and the upgrade costs.
+ * <p>
+ * Nothing here changes during a game, so one GameRules is shared by every
+ * state searched from it. Locations, roles and cards are all referred to by
+ * dense ints: location IDs from the SymbolTable, role slots by their index in
+ * the location or card role list, and scene cards by card ID.
+ */
+public class GameRules {
+    // Highest rank a player can reach
+    public static final int MAX_RANK = 6;
+
+    private final int numLocations;
+    private final int trailerID;
+    private final int officeID;
+    private final int[][] neighbors;
+    private final int[] takes;
+    private final int[][] locationRoleRanks;
+    private final int[][] locationRoleIDs;
+    // Set locations in the order the Board deals scene cards to them
+    private final int[] dealOrder;
+    private final int[] cardBudgets;
+    private final int[][] cardRoleRanks;
+    private final int[][] cardRoleIDs;
+    private final SceneCard[] cards;
+    private final int[] dollarCosts;
+    private final int[] creditCosts;
+    private final SymbolTable symbols;
+    private final long contentHash;
+
+    // 64-bit FNV-1a, applied to whole ints
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+
+    /**
+     * Constructs the rules of the game held by the given model.
+     * <p>
+     * Build the rules at the start of a game: scene cards that were already
+     * discarded when the rules are built are not known to them.
+     *
+     * @param model an initialized game model
+     */
+    public GameRules(GameModel model) {
+        Board board = model.getBoard();
+        this.symbols = board.getSymbols();
+        this.numLocations = symbols.getNumLocations();
+        this.trailerID = symbols.getLocationID("Trailer");
+        this.officeID = symbols.getLocationID("Casting Office");
+
+        // Board layout
+        this.neighbors = new int[numLocations][];
+        this.takes = new int[numLocations];
+        this.locationRoleRanks = new int[numLocations][];
+        this.locationRoleIDs = new int[numLocations][];
+        for (int id = 0; id < numLocations; id++) {
+            Location location = board.getLocation(id);
+            List<String> names = location.getNeighbors();
+            this.neighbors[id] = new int[names.size()];
+            for (int i = 0; i < names.size(); i++) {
+                this.neighbors[id][i] = symbols.getLocationID(names.get(i));
+            }
+            this.takes[id] = location.getTakes().size();
+            List<Role> roles = location.getRoles();
+            this.locationRoleRanks[id] = new int[roles.size()];
+            this.locationRoleIDs[id] = new int[roles.size()];
+            for (int i = 0; i < roles.size(); i++) {
+                this.locationRoleRanks[id][i] = roles.get(i).getRank();
+                this.locationRoleIDs[id][i] = roles.get(i).getID();
+            }
+        }
+        List<Integer> sets = new ArrayList<>();
+        for (Location location : model.getLocations().values()) {
+            if (location.getID() != trailerID && location.getID() != officeID) {
+                sets.add(location.getID());
+            }
+        }
+        this.dealOrder = sets.stream().mapToInt(Integer::intValue).toArray();
+
+        // Scene cards that are still in the deck or on the board
+        List<SceneCard> known = model.getDeck().getUndrawnCards();
+        known.addAll(model.getDeck().getDrawnCards());
+        int maxCardID = 0;
+        for (SceneCard card : known) {
+            maxCardID = Math.max(maxCardID, card.getID());
+        }
+        this.cards = new SceneCard[maxCardID + 1];
+        this.cardBudgets = new int[maxCardID + 1];
+        this.cardRoleRanks = new int[maxCardID + 1][];
+        this.cardRoleIDs = new int[maxCardID + 1][];
+        for (SceneCard card : known) {
+            int id = card.getID();
+            List<Role> roles = card.getRoles();
+            this.cards[id] = new SceneCard(card);
+            this.cardBudgets[id] = card.getBudget();
+            this.cardRoleRanks[id] = new int[roles.size()];
+            this.cardRoleIDs[id] = new int[roles.size()];
+            for (int i = 0; i < roles.size(); i++) {
+                this.cardRoleRanks[id][i] = roles.get(i).getRank();
+                this.cardRoleIDs[id][i] = roles.get(i).getID();
+            }
+        }
+
+        // Upgrade costs indexed by rank, unaffordable if not offered
+        this.dollarCosts = new int[MAX_RANK + 1];
+        this.creditCosts = new int[MAX_RANK + 1];
+        Arrays.fill(this.dollarCosts, Integer.MAX_VALUE);
+        Arrays.fill(this.creditCosts, Integer.MAX_VALUE);
+        for (Upgrade upgrade : model.getUpgrades()) {
+            if (upgrade.getCurrency().equals("dollar")) {
+                this.dollarCosts[upgrade.getLevel()] = upgrade.getAmt();
+            } else {
+                this.creditCosts[upgrade.getLevel()] = upgrade.getAmt();
+            }
+        }
+
+        this.contentHash = computeContentHash();
+    }
+
+    /**
+     * Returns a hash of the board layout, scene cards and upgrade costs.
+     * The hash is the same in every run for the same board and cards, so a
+     * saved state can check that it is loaded into the same game.
+     *
+     * @return the content hash
+     */
+    public long getContentHash() {
+        return this.contentHash;
+    }
+
+
+// Board Layout
+
+
+    /**
+     * Returns the IDs of the locations on the board.
+     *
+     * @return the symbol table of the board
+     */
+    public SymbolTable getSymbols() {
+        return this.symbols;
+    }
+
+    /**
+     * Returns the number of locations on the board.
+     *
+     * @return the number of locations
+     */
+    public int getNumLocations() {
+        return this.numLocations;
+    }
+
+    /**
+     * Returns the ID of the Trailer.
+     *
+     * @return the ID of the Trailer
+     */
+    public int getTrailerID() {
+        return this.trailerID;
+    }
+
+    /**
+     * Returns the ID of the Casting Office.
+     *
+     * @return the ID of the Casting Office
+     */
+    public int getOfficeID() {
+        return this.officeID;
+    }
+
+    /**
+     * Returns whether a location holds a scene.
+     *
+     * @param locationID the ID of the location
+     * @return true if the location is a set, false for the Trailer and Casting Office
+     */
+    public boolean isSet(int locationID) {
+        return locationID != this.trailerID && locationID != this.officeID;
+    }
+
+    /**
+     * Returns the neighbors of a location.
+     *
+     * @param locationID the ID of the location
+     * @return the IDs of the neighbors, not to be modified
+     */
+    public int[] getNeighbors(int locationID) {
+        return this.neighbors[locationID];
+    }
+
+    /**
+     * Returns the number of takes at a location.
+     *
+     * @param locationID the ID of the location
+     * @return the number of takes
+     */
+    public int getTakes(int locationID) {
+        return this.takes[locationID];
+    }
+
+    /**
+     * Returns the number of off card roles at a location.
+     *
+     * @param locationID the ID of the location
+     * @return the number of roles
+     */
+    public int getNumLocationRoles(int locationID) {
+        return this.locationRoleRanks[locationID].length;
+    }
+
+    /**
+     * Returns the rank of an off card role.
+     *
+     * @param locationID the ID of the location
+     * @param slot the index of the role at the location
+     * @return the rank of the role
+     */
+    public int getLocationRoleRank(int locationID, int slot) {
+        return this.locationRoleRanks[locationID][slot];
+    }
+
+    /**
+     * Returns the index at its location of the off card role with the given ID.
+     *
+     * @param locationID the ID of the location
+     * @param roleID the ID of the role
+     * @return the index of the role, or SymbolTable.NONE
+     */
+    public int getLocationRoleSlot(int locationID, int roleID) {
+        return indexOf(this.locationRoleIDs[locationID], roleID);
+    }
+
+    /**
+     * Returns the sets in the order the Board deals scene cards to them.
+     *
+     * @return the IDs of the sets, not to be modified
+     */
+    public int[] getDealOrder() {
+        return this.dealOrder;
+    }
+
+
+// Scene Cards
+
+
+    /**
+     * Returns the highest scene card ID.
+     *
+     * @return the highest card ID
+     */
+    public int getMaxCardID() {
+        return this.cards.length - 1;
+    }
+
+    /**
+     * Returns whether a scene card is known to the rules.
+     *
+     * @param cardID the ID of the scene card
+     * @return true if the card is known, false otherwise
+     */
+    public boolean hasCard(int cardID) {
+        return cardID >= 0 && cardID < this.cards.length && this.cards[cardID] != null;
+    }
+
+    /**
+     * Returns a fresh copy of a scene card.
+     *
+     * @param cardID the ID of the card
+     * @return a copy of the card
+     */
+    public SceneCard newCard(int cardID) {
+        return new SceneCard(this.cards[cardID]);
+    }
+
+    /**
+     * Returns the budget of a scene card.
+     *
+     * @param cardID the ID of the card
+     * @return the budget of the card
+     */
+    public int getCardBudget(int cardID) {
+        return this.cardBudgets[cardID];
+    }
+
+    /**
+     * Returns the number of roles on a scene card.
+     *
+     * @param cardID the ID of the card
+     * @return the number of roles
+     */
+    public int getNumCardRoles(int cardID) {
+        return this.cardRoleRanks[cardID].length;
+    }
+
+    /**
+     * Returns the rank of an on card role.
+     *
+     * @param cardID the ID of the card
+     * @param slot the index of the role on the card
+     * @return the rank of the role
+     */
+    public int getCardRoleRank(int cardID, int slot) {
+        return this.cardRoleRanks[cardID][slot];
+    }
+
+    /**
+     * Returns the index on its card of the on card role with the given ID.
+     *
+     * @param cardID the ID of the card
+     * @param roleID the ID of the role
+     * @return the index of the role, or SymbolTable.NONE
+     */
+    public int getCardRoleSlot(int cardID, int roleID) {
+        return indexOf(this.cardRoleIDs[cardID], roleID);
+    }
+
+
+// Upgrades
+
+
+    /**
+     * Returns the dollar cost of a rank.
+     *
+     * @param rank the rank
+     * @return the cost, or Integer.MAX_VALUE if it cannot be bought with dollars
+     */
+    public int getDollarCost(int rank) {
+        return rank > MAX_RANK ? Integer.MAX_VALUE : this.dollarCosts[rank];
+    }
+
+    /**
+     * Returns the credit cost of a rank.
+     *
+     * @param rank the rank
+     * @return the cost, or Integer.MAX_VALUE if it cannot be bought with credits
+     */
+    public int getCreditCost(int rank) {
+        return rank > MAX_RANK ? Integer.MAX_VALUE : this.creditCosts[rank];
+    }
+
+    /**
+     * Hashes everything the rules hold.
+     *
+     * @return the content hash
+     */
+    private long computeContentHash() {
+        long hash = FNV_OFFSET_BASIS;
+        hash = mix(hash, numLocations);
+        hash = mix(hash, trailerID);
+        hash = mix(hash, officeID);
+        hash = mix(hash, neighbors);
+        hash = mix(hash, takes);
+        hash = mix(hash, locationRoleRanks);
+        hash = mix(hash, locationRoleIDs);
+        hash = mix(hash, dealOrder);
+        hash = mix(hash, cardBudgets);
+        hash = mix(hash, cardRoleRanks);
+        hash = mix(hash, cardRoleIDs);
+        hash = mix(hash, dollarCosts);
+        hash = mix(hash, creditCosts);
+        return hash;
+    }
+
+    private static long mix(long hash, int value) {
+        return (hash ^ value) * FNV_PRIME;
+    }
+
+    private static long mix(long hash, int[] values) {
+        if (values == null) {
+            return mix(hash, -1);
+        }
+        hash = mix(hash, values.length);
+        for (int value : values) {
+            hash = mix(hash, value);
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, int[][] values) {
+        hash = mix(hash, values.length);
+        for (int[] row : values) {
+            hash = mix(hash, row);
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the index of a value in an array.
+     *
+     * @param values the array
+     * @param value the value to find
+     * @return the index of the value, or SymbolTable.NONE
+     */
+    private static int indexOf(int[] values, int value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return SymbolTable.NONE;
+    }
+
+}
@@ -0,0 +1,205 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads and writes saved games in the binary .dws snapshot format.
+ * <p>
+ * A snapshot holds only what changes during a game, the packed words of a
+ * GameState, after a fixed header:
+ * <pre>
+ *   int   magic, "DWS" followed by a zero byte
+ *   short format version
+ *   short reserved, 0
+ *   long  content hash of the board and cards (GameRules.getContentHash)
+ *   long  seed of the game
+ *   int   number of state words
+ *   int[] state words
+ * </pre>
+ * All values are big-endian. The board layout, roles and cards come from the
+ * XML files when the snapshot is loaded, and the content hash makes sure
+ * they are the same ones the game was saved with. A four player game is
+ * about 200 bytes.
+ */
+public class GameSnapshot {
+    public static final String EXTENSION = ".dws";
+
+    private static final int MAGIC = 0x44575300;
+    private static final short VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 2 + 2 + 8 + 8 + 4;
+    private static final int MAX_WORDS = 1024;
+
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private GameSnapshot() {
+    }
+
+
+// ============================================================
+// Writing
+// ============================================================
+
+
+    /**
+     * Writes a snapshot of a game to a file, replacing the file if it
+     * exists.
+     *
+     * @param model the game model
+     * @param path the file to write
+     * @throws IOException if an I/O error occurs
+     */
+    public static void save(GameModel model, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(
+            path,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE
+        )) {
+            write(model, channel);
+        }
+    }
+
+    /**
+     * Writes a snapshot of a game to a channel.
+     *
+     * @param model the game model
+     * @param channel the channel to write to
+     * @throws IOException if an I/O error occurs
+     */
+    public static void write(GameModel model, WritableByteChannel channel) throws IOException {
+        GameRules rules = model.getRules();
+        GameState state = GameState.fromModel(model, rules);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + 4 * state.getNumWords());
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putShort((short) 0);
+        buffer.putLong(rules.getContentHash());
+        buffer.putLong(model.getSeed());
+        buffer.putInt(state.getNumWords());
+        state.writeTo(buffer);
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+
+// ============================================================
+// Reading
+// ============================================================
+
+
+    /**
+     * Loads a snapshot from a file into a game.
+     *
+     * @param model the game model to overwrite
+     * @param path the file to read
+     * @throws IOException if an I/O error occurs or the file is not a
+     *         snapshot of this game
+     */
+    public static void load(GameModel model, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            read(model, channel);
+        }
+    }
+
+    /**
+     * Reads a snapshot from a channel into a game. The model must have been
+     * initialized with the board and cards the snapshot was saved with and
+     * with the same number of players.
+     *
+     * @param model the game model to overwrite
+     * @param channel the channel to read from
+     * @throws IOException if an I/O error occurs or the data is not a
+     *         snapshot of this game
+     */
+    public static void read(GameModel model, ReadableByteChannel channel) throws IOException {
+        ByteBuffer header = readFully(channel, HEADER_BYTES);
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Not a saved game snapshot");
+        }
+        short version = header.getShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+        header.getShort();
+        GameRules rules = model.getRules();
+        if (header.getLong() != rules.getContentHash()) {
+            throw new IOException("Snapshot was saved with a different board or cards");
+        }
+        long seed = header.getLong();
+        int numWords = header.getInt();
+        if (numWords < 0 || numWords > MAX_WORDS) {
+            throw new IOException("Invalid snapshot size " + numWords);
+        }
+
+        GameState state;
+        try {
+            state = GameState.readFrom(readFully(channel, 4 * numWords), numWords, rules);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid snapshot: " + e.getMessage(), e);
+        }
+        int numPlayers = model.getPlayers().size();
+        if (state.getNumPlayers() != numPlayers) {
+            throw new IOException(
+                "Snapshot has " + state.getNumPlayers() +
+                " players, the game has " + numPlayers
+            );
+        }
+        state.toModel(model, rules);
+        model.setSeed(seed);
+    }
+
+    /**
+     * Reads the state words of a snapshot file without loading them into a
+     * game, for example to list the day and players of a saved game.
+     *
+     * @param path the file to read
+     * @return the state words, not checked against any rules
+     * @throws IOException if an I/O error occurs or the file is not a
+     *         snapshot
+     */
+    public static int[] readWords(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = readFully(channel, HEADER_BYTES);
+            if (header.getInt() != MAGIC || header.getShort() != VERSION) {
+                throw new IOException("Not a saved game snapshot");
+            }
+            header.position(HEADER_BYTES - 4);
+            int numWords = header.getInt();
+            if (numWords < 0 || numWords > MAX_WORDS) {
+                throw new IOException("Invalid snapshot size " + numWords);
+            }
+            ByteBuffer buffer = readFully(channel, 4 * numWords);
+            int[] words = new int[numWords];
+            buffer.asIntBuffer().get(words);
+            return words;
+        }
+    }
+
+    /**
+     * Reads exactly the given number of bytes from a channel.
+     *
+     * @param channel the channel to read from
+     * @param length the number of bytes
+     * @return a buffer holding the bytes, ready to be read
+     * @throws IOException if an I/O error occurs or the channel ends early
+     */
+    private static ByteBuffer readFully(ReadableByteChannel channel, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Snapshot ends early");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+}
@@ -0,0 +1,1037 @@
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.random.RandomGenerator;
+
+/**
+ * Represents an immutable snapshot of a game packed into a single int array.
+ * <p>
+ * The state holds everything that changes during a game: the day, the
+ * current player, each player's location, role, rank, money, credits,
+ * rehearsal tokens and turn flags, each location's scene card, shots and
+ * occupied roles, and the order of the undrawn cards. Everything that never
+ * changes lives in a shared GameRules.
+ * <p>
+ * States are never modified after they are built, so sharing one is as good
+ * as copying it. apply clones the few dozen words once and changes the clone,
+ * which makes deep look-ahead searches cheap. The transitions follow the
+ * same rules as the PlayerAction classes driven by the GameController.
+ */
+public final class GameState {
+
+    // Header words
+    private static final int H_NUM_PLAYERS = 0;
+    private static final int H_NUM_LOCATIONS = 1;
+    private static final int H_NUM_DAYS = 2;
+    private static final int H_DAY = 3;
+    private static final int H_CURRENT_PLAYER = 4;
+    private static final int H_SCENES_REMAINING = 5;
+    private static final int H_DECK_TOP = 6;
+    private static final int H_DECK_SIZE = 7;
+    private static final int HEADER_WORDS = 8;
+
+    // Words per player, after the header
+    private static final int P_STATE = 0;
+    private static final int P_DOLLARS = 1;
+    private static final int P_CREDITS = 2;
+    private static final int PLAYER_WORDS = 3;
+
+    // Bits of a player's state word
+    private static final int LOCATION_SHIFT = 0;
+    private static final int LOCATION_MASK = 0x1F;
+    private static final int ROLE_SHIFT = 5; // role slot + 1, 0 for no role
+    private static final int ROLE_MASK = 0xF;
+    private static final int ON_CARD_BIT = 1 << 9;
+    private static final int RANK_SHIFT = 10;
+    private static final int RANK_MASK = 0x7;
+    private static final int TOKENS_SHIFT = 13;
+    private static final int TOKENS_MASK = 0x3F;
+    private static final int MOVED_BIT = 1 << 19;
+    private static final int WORKED_BIT = 1 << 20;
+    private static final int UPGRADED_BIT = 1 << 21;
+    private static final int TURN_BITS = MOVED_BIT | WORKED_BIT | UPGRADED_BIT;
+
+    // Bits of a location word, one word per location after the players
+    private static final int CARD_SHIFT = 0; // card ID + 1, 0 for no card
+    private static final int CARD_MASK = 0x7F;
+    private static final int SHOTS_SHIFT = 7;
+    private static final int SHOTS_MASK = 0x7;
+    private static final int WRAPPED_BIT = 1 << 10;
+    private static final int LOCATION_ROLES_SHIFT = 11; // occupied off card roles
+    private static final int CARD_ROLES_SHIFT = 19; // occupied on card roles
+    private static final int OCCUPIED_MASK = 0xFF;
+
+    // Undrawn card IDs are packed one per byte after the locations
+    private static final int CARDS_PER_WORD = 4;
+
+    // Action types, the argument of an action is in the bits above the type
+    public static final int END = 0;
+    public static final int MOVE = 1;
+    public static final int WORK = 2;
+    public static final int ACT = 3;
+    public static final int REHEARSE = 4;
+    public static final int UPGRADE = 5;
+    private static final int TYPE_MASK = 0xF;
+    private static final int ARG_SHIFT = 4;
+
+    private final int[] words;
+
+
+    /**
+     * Constructs a GameState that owns the given words.
+     *
+     * @param words the packed state
+     */
+    private GameState(int[] words) {
+        this.words = words;
+    }
+
+
+// Conversion
+
+
+    /**
+     * Packs the state of the given model.
+     *
+     * @param model the game model
+     * @param rules the rules of the game
+     * @return the packed state
+     */
+    public static GameState fromModel(GameModel model, GameRules rules) {
+        Board board = model.getBoard();
+        Deck deck = model.getDeck();
+        List<Player> players = model.getPlayers();
+        List<SceneCard> undrawn = deck.getUndrawnCards();
+        int numPlayers = players.size();
+        int numLocations = rules.getNumLocations();
+        int deckBase = HEADER_WORDS + numPlayers * PLAYER_WORDS + numLocations;
+        int[] w = new int[deckBase + (undrawn.size() + CARDS_PER_WORD - 1) / CARDS_PER_WORD];
+
+        w[H_NUM_PLAYERS] = numPlayers;
+        w[H_NUM_LOCATIONS] = numLocations;
+        w[H_NUM_DAYS] = model.getNumDays();
+        w[H_DAY] = model.getDay();
+        w[H_CURRENT_PLAYER] = model.getCurrentPlayer();
+        w[H_SCENES_REMAINING] = board.getNumScenesRemaining();
+        w[H_DECK_TOP] = 0;
+        w[H_DECK_SIZE] = undrawn.size();
+
+        for (Player player : players) {
+            int id = player.getID();
+            int base = playerBase(id);
+            int locationID = board.getPlayerLocationID(id);
+            int state = locationID << LOCATION_SHIFT
+                | player.getRank() << RANK_SHIFT
+                | player.getRehearsalTokens() << TOKENS_SHIFT;
+            Role role = board.getPlayerRole(id);
+            if (role != null) {
+                int slot;
+                if (role.getOnCard()) {
+                    slot = rules.getCardRoleSlot(board.getLocationSceneCardID(locationID), role.getID());
+                    state |= ON_CARD_BIT;
+                } else {
+                    slot = rules.getLocationRoleSlot(locationID, role.getID());
+                }
+                state |= (slot + 1) << ROLE_SHIFT;
+            }
+            state |= player.getHasMoved() ? MOVED_BIT : 0;
+            state |= player.getHasWorked() ? WORKED_BIT : 0;
+            state |= player.getHasUpgraded() ? UPGRADED_BIT : 0;
+            w[base + P_STATE] = state;
+            w[base + P_DOLLARS] = player.getDollars();
+            w[base + P_CREDITS] = player.getCredits();
+        }
+
+        int locationBase = HEADER_WORDS + numPlayers * PLAYER_WORDS;
+        for (int id = 0; id < numLocations; id++) {
+            Location location = board.getLocation(id);
+            int cardID = board.getLocationSceneCardID(id);
+            int word = location.getShots() << SHOTS_SHIFT;
+            word |= location.getIsWrapped() ? WRAPPED_BIT : 0;
+            word |= occupiedMask(location.getRoles()) << LOCATION_ROLES_SHIFT;
+            if (cardID != SymbolTable.NONE) {
+                word |= (cardID + 1) << CARD_SHIFT;
+                word |= occupiedMask(deck.getDrawnCard(cardID).getRoles()) << CARD_ROLES_SHIFT;
+            }
+            w[locationBase + id] = word;
+        }
+
+        for (int i = 0; i < undrawn.size(); i++) {
+            w[deckBase + i / CARDS_PER_WORD] |= undrawn.get(i).getID() << (8 * (i % CARDS_PER_WORD));
+        }
+        return new GameState(w);
+    }
+
+    /**
+     * Writes this state into the given model.
+     * <p>
+     * The model must have been initialized from the same board and cards as
+     * the rules.
+     *
+     * @param model the game model to overwrite
+     * @param rules the rules of the game
+     */
+    public void toModel(GameModel model, GameRules rules) {
+        Board board = model.getBoard();
+        Deck deck = model.getDeck();
+        int numLocations = getNumLocations();
+
+        // Deck and scene cards, reusing the cards that are still drawn
+        List<SceneCard> undrawn = new ArrayList<>();
+        for (int i = words[H_DECK_TOP]; i < words[H_DECK_SIZE]; i++) {
+            undrawn.add(rules.newCard(deckCard(i)));
+        }
+        List<SceneCard> drawn = new ArrayList<>();
+        for (int id = 0; id < numLocations; id++) {
+            int cardID = getLocationCard(id);
+            if (cardID != SymbolTable.NONE) {
+                SceneCard card = deck.getDrawnCard(cardID);
+                drawn.add(card != null ? card : rules.newCard(cardID));
+            }
+        }
+        deck.restore(undrawn, drawn);
+
+        // Locations
+        for (int id = 0; id < numLocations; id++) {
+            Location location = board.getLocation(id);
+            int word = locationWord(id);
+            int cardID = getLocationCard(id);
+            board.setLocationSceneCard(id, cardID);
+            location.resetTakes();
+            for (int shot = getShotsRemaining(id); shot < rules.getTakes(id); shot++) {
+                location.wrapShot();
+            }
+            if ((word & WRAPPED_BIT) != 0) {
+                location.setWrapped();
+            } else {
+                location.setUnwrapped();
+            }
+            setOccupied(location.getRoles(), word >>> LOCATION_ROLES_SHIFT);
+            if (cardID != SymbolTable.NONE) {
+                setOccupied(deck.getDrawnCard(cardID).getRoles(), word >>> CARD_ROLES_SHIFT);
+            }
+        }
+        board.setNumScenesRemaining(words[H_SCENES_REMAINING]);
+
+        // Players
+        for (Player player : model.getPlayers()) {
+            int id = player.getID();
+            int state = playerState(id);
+            int locationID = getPlayerLocation(id);
+            board.setPlayerLocation(player, locationID);
+            Role role = null;
+            int slot = ((state >>> ROLE_SHIFT) & ROLE_MASK) - 1;
+            if (slot >= 0) {
+                List<Role> roles = (state & ON_CARD_BIT) != 0
+                    ? deck.getDrawnCard(getLocationCard(locationID)).getRoles()
+                    : board.getLocation(locationID).getRoles();
+                role = roles.get(slot);
+            }
+            board.setPlayerRole(id, role);
+            player.setRank(getRank(id));
+            player.setDollars(getDollars(id));
+            player.setCredits(getCredits(id));
+            player.setRehearsalTokens(getRehearsalTokens(id));
+            player.setHasMoved((state & MOVED_BIT) != 0);
+            player.setHasWorked((state & WORKED_BIT) != 0);
+            player.setHasUpgraded((state & UPGRADED_BIT) != 0);
+            player.setActive(id == getCurrentPlayer());
+        }
+        model.setDay(getDay());
+        model.setCurrentPlayer(getCurrentPlayer());
+    }
+
+
+// Binary Form
+
+
+    /**
+     * Returns the number of packed words of this state.
+     *
+     * @return the number of words
+     */
+    public int getNumWords() {
+        return words.length;
+    }
+
+    /**
+     * Writes the packed words of this state to a buffer.
+     *
+     * @param buffer the buffer, with room for getNumWords ints
+     */
+    public void writeTo(ByteBuffer buffer) {
+        for (int word : words) {
+            buffer.putInt(word);
+        }
+    }
+
+    /**
+     * Reads a state written by writeTo, checking that its words describe a
+     * game of the given rules.
+     *
+     * @param buffer the buffer to read from
+     * @param numWords the number of words to read
+     * @param rules the rules of the game
+     * @return the state
+     * @throws IllegalArgumentException if the words are not a valid state
+     */
+    public static GameState readFrom(ByteBuffer buffer, int numWords, GameRules rules) {
+        int[] w = new int[numWords];
+        for (int i = 0; i < numWords; i++) {
+            w[i] = buffer.getInt();
+        }
+        return fromWords(w, rules);
+    }
+
+    /**
+     * Returns a copy of the packed words of this state.
+     *
+     * @return the words
+     */
+    public int[] getWords() {
+        return words.clone();
+    }
+
+    /**
+     * Builds a state from packed words, checking that they describe a game
+     * of the given rules.
+     *
+     * @param words the packed words, copied
+     * @param rules the rules of the game
+     * @return the state
+     * @throws IllegalArgumentException if the words are not a valid state
+     */
+    public static GameState fromWords(int[] words, GameRules rules) {
+        if (words.length < HEADER_WORDS) {
+            throw new IllegalArgumentException("Too few words: " + words.length);
+        }
+        GameState state = new GameState(words.clone());
+        state.checkLayout(rules);
+        return state;
+    }
+
+    /**
+     * Checks that the words describe a game of the given rules.
+     *
+     * @param rules the rules of the game
+     * @throws IllegalArgumentException if they do not
+     */
+    private void checkLayout(GameRules rules) {
+        int numPlayers = getNumPlayers();
+        if (numPlayers < 2 || numPlayers > 8) {
+            throw new IllegalArgumentException("Invalid number of players: " + numPlayers);
+        }
+        if (getNumLocations() != rules.getNumLocations()) {
+            throw new IllegalArgumentException("Invalid number of locations: " + getNumLocations());
+        }
+        int top = words[H_DECK_TOP];
+        int size = words[H_DECK_SIZE];
+        if (top < 0 || top > size
+                || words.length != deckBase() + (size + CARDS_PER_WORD - 1) / CARDS_PER_WORD) {
+            throw new IllegalArgumentException("Invalid deck of " + size + " cards");
+        }
+        int current = getCurrentPlayer();
+        if (current < 1 || current > numPlayers) {
+            throw new IllegalArgumentException("Invalid current player: " + current);
+        }
+        for (int id = 1; id <= numPlayers; id++) {
+            int location = getPlayerLocation(id);
+            if (location >= getNumLocations()) {
+                throw new IllegalArgumentException("Invalid location of player " + id);
+            }
+        }
+        for (int id = 0; id < getNumLocations(); id++) {
+            int cardID = getLocationCard(id);
+            if (cardID != SymbolTable.NONE && !rules.hasCard(cardID)) {
+                throw new IllegalArgumentException("Invalid card at location " + id);
+            }
+        }
+        for (int i = top; i < size; i++) {
+            if (!rules.hasCard(deckCard(i))) {
+                throw new IllegalArgumentException("Invalid card in deck: " + deckCard(i));
+            }
+        }
+    }
+
+
+// Actions
+
+
+    /**
+     * Returns the action that moves the current player to a location.
+     *
+     * @param locationID the ID of the location
+     * @return the action
+     */
+    public static int move(int locationID) {
+        return MOVE | locationID << ARG_SHIFT;
+    }
+
+    /**
+     * Returns the action that makes the current player work a role.
+     *
+     * @param slot the index of the role at the location or on the card
+     * @param onCard true for a role on the scene card
+     * @return the action
+     */
+    public static int work(int slot, boolean onCard) {
+        return WORK | (slot | (onCard ? 8 : 0)) << ARG_SHIFT;
+    }
+
+    /**
+     * Returns the action that upgrades the current player.
+     *
+     * @param rank the rank to upgrade to
+     * @param byCredits true to pay with credits, false to pay with dollars
+     * @return the action
+     */
+    public static int upgrade(int rank, boolean byCredits) {
+        return UPGRADE | (rank | (byCredits ? 8 : 0)) << ARG_SHIFT;
+    }
+
+    /**
+     * Returns the type of an action.
+     *
+     * @param action the action
+     * @return END, MOVE, WORK, ACT, REHEARSE or UPGRADE
+     */
+    public static int actionType(int action) {
+        return action & TYPE_MASK;
+    }
+
+    /**
+     * Returns whether the current player can take an action.
+     *
+     * @param action the action
+     * @param rules the rules of the game
+     * @return true if the action is legal, false otherwise
+     */
+    public boolean isLegal(int action, GameRules rules) {
+        if (isGameOver()) {
+            return false;
+        }
+        int id = getCurrentPlayer();
+        int state = playerState(id);
+        int locationID = getPlayerLocation(id);
+        boolean hasRole = hasRole(id);
+        int arg = action >>> ARG_SHIFT;
+        switch (actionType(action)) {
+            case END:
+                return true;
+            case MOVE:
+                return !hasRole && (state & MOVED_BIT) == 0
+                    && contains(rules.getNeighbors(locationID), arg);
+            case WORK: {
+                if (hasRole || !rules.isSet(locationID) || isWrapped(locationID)) {
+                    return false;
+                }
+                int slot = arg & 7;
+                int word = locationWord(locationID);
+                if ((arg & 8) != 0) {
+                    int cardID = getLocationCard(locationID);
+                    return cardID != SymbolTable.NONE
+                        && slot < rules.getNumCardRoles(cardID)
+                        && rules.getCardRoleRank(cardID, slot) <= getRank(id)
+                        && ((word >>> CARD_ROLES_SHIFT) & (1 << slot)) == 0;
+                }
+                return slot < rules.getNumLocationRoles(locationID)
+                    && rules.getLocationRoleRank(locationID, slot) <= getRank(id)
+                    && ((word >>> LOCATION_ROLES_SHIFT) & (1 << slot)) == 0;
+            }
+            case ACT:
+            case REHEARSE:
+                return hasRole;
+            case UPGRADE: {
+                int rank = getRank(id);
+                int chosen = arg & 7;
+                if (locationID != rules.getOfficeID() || (state & UPGRADED_BIT) != 0
+                    || rank == GameRules.MAX_RANK || chosen <= rank
+                    || chosen > GameRules.MAX_RANK
+                ) {
+                    return false;
+                }
+                // The next rank must be affordable before any rank is offered
+                if (getDollars(id) < rules.getDollarCost(rank + 1)
+                    && getCredits(id) < rules.getCreditCost(rank + 1)
+                ) {
+                    return false;
+                }
+                return (arg & 8) != 0
+                    ? getCredits(id) >= rules.getCreditCost(chosen)
+                    : getDollars(id) >= rules.getDollarCost(chosen);
+            }
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Fills a buffer with every legal action of the current player.
+     *
+     * @param rules the rules of the game
+     * @param actions the buffer to fill, 64 actions is always enough
+     * @return the number of legal actions
+     */
+    public int legalActions(GameRules rules, int[] actions) {
+        if (isGameOver()) {
+            return 0;
+        }
+        int count = 0;
+        int id = getCurrentPlayer();
+        int locationID = getPlayerLocation(id);
+        actions[count++] = END;
+        if (hasRole(id)) {
+            actions[count++] = ACT;
+            actions[count++] = REHEARSE;
+            return count;
+        }
+        for (int neighbor : rules.getNeighbors(locationID)) {
+            if (isLegal(move(neighbor), rules)) {
+                actions[count++] = move(neighbor);
+            }
+        }
+        if (rules.isSet(locationID)) {
+            for (int slot = 0; slot < rules.getNumLocationRoles(locationID); slot++) {
+                if (isLegal(work(slot, false), rules)) {
+                    actions[count++] = work(slot, false);
+                }
+            }
+            int cardID = getLocationCard(locationID);
+            if (cardID != SymbolTable.NONE) {
+                for (int slot = 0; slot < rules.getNumCardRoles(cardID); slot++) {
+                    if (isLegal(work(slot, true), rules)) {
+                        actions[count++] = work(slot, true);
+                    }
+                }
+            }
+        }
+        if (locationID == rules.getOfficeID()) {
+            for (int rank = getRank(id) + 1; rank <= GameRules.MAX_RANK; rank++) {
+                if (isLegal(upgrade(rank, false), rules)) {
+                    actions[count++] = upgrade(rank, false);
+                }
+                if (isLegal(upgrade(rank, true), rules)) {
+                    actions[count++] = upgrade(rank, true);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the state after the current player takes an action.
+     * <p>
+     * Dice are drawn from the generator in the same order the model draws
+     * them, so a state and a model sharing a seed stay in step.
+     *
+     * @param action the action
+     * @param rules the rules of the game
+     * @param random the generator to roll dice with
+     * @return the new state
+     * @throws IllegalArgumentException If the action is not legal.
+     */
+    public GameState apply(int action, GameRules rules, RandomGenerator random) {
+        if (!isLegal(action, rules)) {
+            throw new IllegalArgumentException("Illegal action " + action);
+        }
+        GameState next = new GameState(this.words.clone());
+        int[] w = next.words;
+        int id = getCurrentPlayer();
+        int base = playerBase(id);
+        int arg = action >>> ARG_SHIFT;
+        boolean endTurn;
+        switch (actionType(action)) {
+            case MOVE:
+                w[base + P_STATE] = (w[base + P_STATE] & ~(LOCATION_MASK << LOCATION_SHIFT))
+                    | arg << LOCATION_SHIFT | MOVED_BIT;
+                endTurn = (w[base + P_STATE] & UPGRADED_BIT) != 0;
+                break;
+            case WORK: {
+                int slot = arg & 7;
+                boolean onCard = (arg & 8) != 0;
+                int locationWord = next.locationIndex(getPlayerLocation(id));
+                w[locationWord] |= (1 << slot) << (onCard ? CARD_ROLES_SHIFT : LOCATION_ROLES_SHIFT);
+                w[base + P_STATE] |= (slot + 1) << ROLE_SHIFT | (onCard ? ON_CARD_BIT : 0) | WORKED_BIT;
+                endTurn = (w[base + P_STATE] & MOVED_BIT) != 0;
+                break;
+            }
+            case ACT:
+                next.act(id, rules, random);
+                endTurn = true;
+                break;
+            case REHEARSE:
+                next.setTokens(id, next.getRehearsalTokens(id) + 1);
+                endTurn = true;
+                break;
+            case UPGRADE: {
+                int chosen = arg & 7;
+                if ((arg & 8) != 0) {
+                    w[base + P_CREDITS] -= rules.getCreditCost(chosen);
+                } else {
+                    w[base + P_DOLLARS] -= rules.getDollarCost(chosen);
+                }
+                w[base + P_STATE] = (w[base + P_STATE] & ~(RANK_MASK << RANK_SHIFT))
+                    | chosen << RANK_SHIFT | UPGRADED_BIT;
+                endTurn = (w[base + P_STATE] & MOVED_BIT) != 0;
+                break;
+            }
+            default:
+                endTurn = true;
+        }
+        if (endTurn) {
+            next.endTurn(rules);
+        }
+        if (w[H_DECK_TOP] != 0) {
+            next = next.compactDeck();
+        }
+        return next;
+    }
+
+    /**
+     * Acts in the current player's scene, wrapping it when the last shot is
+     * taken.
+     *
+     * @param id the ID of the acting player
+     * @param rules the rules of the game
+     * @param random the generator to roll dice with
+     */
+    private void act(int id, GameRules rules, RandomGenerator random) {
+        int base = playerBase(id);
+        int locationID = getPlayerLocation(id);
+        int index = locationIndex(locationID);
+        int budget = rules.getCardBudget(getLocationCard(locationID));
+        boolean onCard = isOnCard(id);
+        int roll = getRehearsalTokens(id) + random.nextInt(6) + 1;
+        if (roll >= budget) {
+            if (onCard) {
+                words[base + P_CREDITS] += 2;
+            } else {
+                words[base + P_DOLLARS] += 1;
+                words[base + P_CREDITS] += 1;
+            }
+            int shots = getShotsRemaining(locationID);
+            if (shots > 0) {
+                words[index] = (words[index] & ~(SHOTS_MASK << SHOTS_SHIFT)) | (shots - 1) << SHOTS_SHIFT;
+            } else {
+                words[index] |= WRAPPED_BIT;
+            }
+        } else if (!onCard) {
+            words[base + P_DOLLARS] += 1;
+        }
+        if (getShotsRemaining(locationID) == 0) {
+            wrap(id, locationID, rules, random);
+        }
+    }
+
+    /**
+     * Wraps the scene at a location and pays out the bonuses.
+     *
+     * @param activeID the ID of the player who wrapped the scene
+     * @param locationID the ID of the location
+     * @param rules the rules of the game
+     * @param random the generator to roll dice with
+     */
+    private void wrap(int activeID, int locationID, GameRules rules, RandomGenerator random) {
+        int numPlayers = getNumPlayers();
+        int cardID = getLocationCard(locationID);
+        int[] onCard = new int[numPlayers];
+        int numOnCard = 0;
+        for (int id = 1; id <= numPlayers; id++) {
+            if (getPlayerLocation(id) == locationID && isOnCard(id)) {
+                onCard[numOnCard++] = id;
+            }
+        }
+        if (numOnCard > 0) {
+            // Roll the budget in dice and count each face
+            int[] faces = new int[7];
+            for (int i = rules.getCardBudget(cardID); i > 0; i--) {
+                faces[random.nextInt(6) + 1]++;
+            }
+            // Pay the dice from highest to lowest round-robin, starting from
+            // the active player
+            int payee = activeID;
+            for (int face = 6; face >= 1; face--) {
+                for (int n = faces[face]; n > 0; n--) {
+                    words[playerBase(payee) + P_DOLLARS] += face;
+                    int position = indexOf(onCard, numOnCard, payee);
+                    payee = onCard[(position + 1) % numOnCard];
+                }
+            }
+            // Pay the off card players the rank of their role
+            for (int id = 1; id <= numPlayers; id++) {
+                if (getPlayerLocation(id) == locationID && hasRole(id) && !isOnCard(id)) {
+                    int slot = ((playerState(id) >>> ROLE_SHIFT) & ROLE_MASK) - 1;
+                    words[playerBase(id) + P_DOLLARS] += rules.getLocationRoleRank(locationID, slot);
+                }
+            }
+        }
+        // Remove every player at the location from their role
+        for (int id = 1; id <= numPlayers; id++) {
+            if (getPlayerLocation(id) == locationID) {
+                clearRole(id);
+                setTokens(id, 0);
+            }
+        }
+        // Reset the takes, discard the card and wrap the location
+        int index = locationIndex(locationID);
+        int word = words[index] & ~(SHOTS_MASK << SHOTS_SHIFT) & ~(CARD_MASK << CARD_SHIFT)
+            & ~(OCCUPIED_MASK << CARD_ROLES_SHIFT);
+        words[index] = word | rules.getTakes(locationID) << SHOTS_SHIFT | WRAPPED_BIT;
+        words[H_SCENES_REMAINING]--;
+    }
+
+    /**
+     * Passes the turn to the next player and ends the day when only one
+     * scene is left.
+     *
+     * @param rules the rules of the game
+     */
+    private void endTurn(GameRules rules) {
+        int next = getCurrentPlayer() % getNumPlayers() + 1;
+        words[H_CURRENT_PLAYER] = next;
+        words[playerBase(next) + P_STATE] &= ~TURN_BITS;
+        if (words[H_SCENES_REMAINING] > 1) {
+            return;
+        }
+        // The deck only holds enough cards to deal every day once
+        if (getDay() < getNumDays()) {
+            endDay(rules);
+        }
+        words[H_DAY]++;
+    }
+
+    /**
+     * Sends everyone back to the Trailer and deals new scenes.
+     *
+     * @param rules the rules of the game
+     */
+    private void endDay(GameRules rules) {
+        for (int id = 1; id <= getNumPlayers(); id++) {
+            int base = playerBase(id);
+            words[base + P_STATE] = (words[base + P_STATE]
+                & ~(LOCATION_MASK << LOCATION_SHIFT))
+                | rules.getTrailerID() << LOCATION_SHIFT;
+            clearRole(id);
+            setTokens(id, 0);
+        }
+        // Unwrap every location, reset its takes and free its roles
+        for (int id = 0; id < getNumLocations(); id++) {
+            words[locationIndex(id)] = rules.getTakes(id) << SHOTS_SHIFT;
+        }
+        // Deal a new card to every set
+        for (int locationID : rules.getDealOrder()) {
+            int top = words[H_DECK_TOP]++;
+            int cardID = deckCard(top);
+            words[locationIndex(locationID)] |= (cardID + 1) << CARD_SHIFT;
+        }
+        words[H_SCENES_REMAINING] = rules.getDealOrder().length;
+    }
+
+
+    /**
+     * Returns a copy of this state without the cards dealt from the deck, so
+     * that equal games always pack to equal words.
+     *
+     * @return the compacted state
+     */
+    private GameState compactDeck() {
+        int deckBase = deckBase();
+        int top = words[H_DECK_TOP];
+        int size = words[H_DECK_SIZE] - top;
+        int[] w = Arrays.copyOf(words, deckBase + (size + CARDS_PER_WORD - 1) / CARDS_PER_WORD);
+        Arrays.fill(w, deckBase, w.length, 0);
+        for (int i = 0; i < size; i++) {
+            w[deckBase + i / CARDS_PER_WORD] |= deckCard(top + i) << (8 * (i % CARDS_PER_WORD));
+        }
+        w[H_DECK_TOP] = 0;
+        w[H_DECK_SIZE] = size;
+        return new GameState(w);
+    }
+
+
+// Queries
+
+
+    /**
+     * Returns the number of players.
+     *
+     * @return the number of players
+     */
+    public int getNumPlayers() {
+        return words[H_NUM_PLAYERS];
+    }
+
+    /**
+     * Returns the number of days in the game.
+     *
+     * @return the number of days
+     */
+    public int getNumDays() {
+        return words[H_NUM_DAYS];
+    }
+
+    /**
+     * Returns the current day.
+     *
+     * @return the current day
+     */
+    public int getDay() {
+        return words[H_DAY];
+    }
+
+    /**
+     * Returns the current day of packed words, without building a state.
+     *
+     * @param words the packed words
+     * @return the current day, or -1 if the words are too few
+     */
+    public static int dayOf(int[] words) {
+        return words.length < HEADER_WORDS ? -1 : words[H_DAY];
+    }
+
+    /**
+     * Returns the number of players of packed words, without building a
+     * state.
+     *
+     * @param words the packed words
+     * @return the number of players, or -1 if the words are too few
+     */
+    public static int numPlayersOf(int[] words) {
+        return words.length < HEADER_WORDS ? -1 : words[H_NUM_PLAYERS];
+    }
+
+    /**
+     * Returns whether every day has been played.
+     *
+     * @return true if the game is over, false otherwise
+     */
+    public boolean isGameOver() {
+        return getDay() > getNumDays();
+    }
+
+    /**
+     * Returns the ID of the player whose turn it is.
+     *
+     * @return the ID of the current player
+     */
+    public int getCurrentPlayer() {
+        return words[H_CURRENT_PLAYER];
+    }
+
+    /**
+     * Returns the number of unwrapped scenes left today.
+     *
+     * @return the number of scenes remaining
+     */
+    public int getNumScenesRemaining() {
+        return words[H_SCENES_REMAINING];
+    }
+
+    /**
+     * Returns the location of a player.
+     *
+     * @param id the ID of the player
+     * @return the ID of the location
+     */
+    public int getPlayerLocation(int id) {
+        return (playerState(id) >>> LOCATION_SHIFT) & LOCATION_MASK;
+    }
+
+    /**
+     * Returns whether a player has a role.
+     *
+     * @param id the ID of the player
+     * @return true if the player has a role, false otherwise
+     */
+    public boolean hasRole(int id) {
+        return ((playerState(id) >>> ROLE_SHIFT) & ROLE_MASK) != 0;
+    }
+
+    /**
+     * Returns whether a player has a role on a scene card.
+     *
+     * @param id the ID of the player
+     * @return true if the player has an on card role, false otherwise
+     */
+    public boolean isOnCard(int id) {
+        return hasRole(id) && (playerState(id) & ON_CARD_BIT) != 0;
+    }
+
+    /**
+     * Returns the rank of a player.
+     *
+     * @param id the ID of the player
+     * @return the rank
+     */
+    public int getRank(int id) {
+        return (playerState(id) >>> RANK_SHIFT) & RANK_MASK;
+    }
+
+    /**
+     * Returns the rehearsal tokens of a player.
+     *
+     * @param id the ID of the player
+     * @return the number of rehearsal tokens
+     */
+    public int getRehearsalTokens(int id) {
+        return (playerState(id) >>> TOKENS_SHIFT) & TOKENS_MASK;
+    }
+
+    /**
+     * Returns the dollars of a player.
+     *
+     * @param id the ID of the player
+     * @return the dollars
+     */
+    public int getDollars(int id) {
+        return words[playerBase(id) + P_DOLLARS];
+    }
+
+    /**
+     * Returns the credits of a player.
+     *
+     * @param id the ID of the player
+     * @return the credits
+     */
+    public int getCredits(int id) {
+        return words[playerBase(id) + P_CREDITS];
+    }
+
+    /**
+     * Returns the score of a player, scored like Player.getScore.
+     *
+     * @param id the ID of the player
+     * @return the score
+     */
+    public int getScore(int id) {
+        return 5 * getRank(id) + getCredits(id) + getDollars(id);
+    }
+
+    /**
+     * Returns the scene card at a location.
+     *
+     * @param locationID the ID of the location
+     * @return the ID of the scene card, or SymbolTable.NONE
+     */
+    public int getLocationCard(int locationID) {
+        return ((locationWord(locationID) >>> CARD_SHIFT) & CARD_MASK) - 1;
+    }
+
+    /**
+     * Returns the shots remaining at a location.
+     *
+     * @param locationID the ID of the location
+     * @return the number of shots remaining
+     */
+    public int getShotsRemaining(int locationID) {
+        return (locationWord(locationID) >>> SHOTS_SHIFT) & SHOTS_MASK;
+    }
+
+    /**
+     * Returns whether the scene at a location is wrapped.
+     *
+     * @param locationID the ID of the location
+     * @return true if the location is wrapped, false otherwise
+     */
+    public boolean isWrapped(int locationID) {
+        return (locationWord(locationID) & WRAPPED_BIT) != 0;
+    }
+
+    /**
+     * Compares the packed words of two states.
+     *
+     * @param other the other object
+     * @return true if both states are the same, false otherwise
+     */
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof GameState
+            && Arrays.equals(this.words, ((GameState) other).words);
+    }
+
+    /**
+     * Returns a hash of the packed words.
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.words);
+    }
+
+
+// Packing Helpers
+
+
+    private static int playerBase(int id) {
+        return HEADER_WORDS + (id - 1) * PLAYER_WORDS;
+    }
+
+    private int playerState(int id) {
+        return words[playerBase(id) + P_STATE];
+    }
+
+    private int getNumLocations() {
+        return words[H_NUM_LOCATIONS];
+    }
+
+    private int locationIndex(int locationID) {
+        return HEADER_WORDS + getNumPlayers() * PLAYER_WORDS + locationID;
+    }
+
+    private int locationWord(int locationID) {
+        return words[locationIndex(locationID)];
+    }
+
+    private int deckBase() {
+        return HEADER_WORDS + getNumPlayers() * PLAYER_WORDS + getNumLocations();
+    }
+
+    private int deckCard(int position) {
+        return (words[deckBase() + position / CARDS_PER_WORD] >>> (8 * (position % CARDS_PER_WORD))) & 0xFF;
+    }
+
+    private void clearRole(int id) {
+        words[playerBase(id) + P_STATE] &= ~(ROLE_MASK << ROLE_SHIFT | ON_CARD_BIT);
+    }
+
+    private void setTokens(int id, int tokens) {
+        int base = playerBase(id);
+        words[base + P_STATE] = (words[base + P_STATE] & ~(TOKENS_MASK << TOKENS_SHIFT))
+            | Math.min(tokens, TOKENS_MASK) << TOKENS_SHIFT;
+    }
+
+    private static int occupiedMask(List<Role> roles) {
+        int mask = 0;
+        for (int slot = 0; slot < roles.size(); slot++) {
+            if (roles.get(slot).isOccupied()) {
+                mask |= 1 << slot;
+            }
+        }
+        return mask;
+    }
+
+    private static void setOccupied(List<Role> roles, int mask) {
+        for (int slot = 0; slot < roles.size(); slot++) {
+            roles.get(slot).setOccupied((mask & (1 << slot)) != 0);
+        }
+    }
+
+    private static boolean contains(int[] values, int value) {
+        for (int v : values) {
+            if (v == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int indexOf(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return SymbolTable.NONE;
+    }
+
+}
@@ -1,10 +1,10 @@
 /**
  * GameView interface
  */
-public interface GameView extends Observer{
+public interface GameView {
     public String getPlayerInput();
     public int getNumPlayers();
     public void showMessage(String message);
-    public void update(String eventType, Object eventData);
+    public void subscribe(EventBus eventBus);
     // public void setGameActionListener(GameActionListener listener);
 }
@@ -0,0 +1,141 @@
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Represents a view with no user interface for the Deadwood game.
+ * <p>
+ * Player input is answered by a PlayerPolicy instead of a Scanner, and
+ * messages are discarded, so whole games can be played without blocking.
+ * Scene wraps and upgrades are counted per player for simulation statistics.
+ */
+public class HeadlessGameView implements GameView {
+    // Maximum policy decisions in one turn before the turn is forced to end
+    private static final int MAX_DECISIONS_PER_TURN = 16;
+
+    private final int numPlayers;
+    private final PlayerPolicy policy;
+    private final GameModel model;
+    private final Deque<String> pendingInput = new ArrayDeque<>();
+    private int lastPlayerID = -1;
+    private int decisionsThisTurn = 0;
+    // Statistics indexed by player ID - 1
+    private final int[] wraps;
+    private final int[] upgrades;
+
+
+// Constructor
+
+
+    /**
+     * Constructs a new HeadlessGameView.
+     *
+     * @param numPlayers The number of players in the game
+     * @param policy The policy that answers player input
+     * @param model The model the policy decides on
+     */
+    public HeadlessGameView(int numPlayers, PlayerPolicy policy, GameModel model) {
+        this.numPlayers = numPlayers;
+        this.policy = policy;
+        this.model = model;
+        this.wraps = new int[numPlayers];
+        this.upgrades = new int[numPlayers];
+    }
+
+
+// View
+
+
+    /**
+     * Get the player's input from the policy.
+     * <p>
+     * A policy decision is a command followed by its inputs, so the policy is
+     * only consulted again once every input of the last decision is used.
+     *
+     * @return The player's input
+     */
+    @Override
+    public String getPlayerInput() {
+        if (pendingInput.isEmpty()) {
+            Player player = this.model.getActivePlayer();
+            if (player.getID() != lastPlayerID) {
+                lastPlayerID = player.getID();
+                decisionsThisTurn = 0;
+            }
+            // Guard against a policy that keeps choosing invalid actions
+            if (++decisionsThisTurn > MAX_DECISIONS_PER_TURN) {
+                return "end";
+            }
+            pendingInput.addAll(this.policy.chooseAction(player, this.model));
+        }
+        return pendingInput.poll();
+    }
+
+    /**
+     * Get the number of players.
+     *
+     * @return The number of players
+     */
+    @Override
+    public int getNumPlayers() {
+        return this.numPlayers;
+    }
+
+    /**
+     * Discard a message.
+     *
+     * @param message The message to discard
+     */
+    @Override
+    public void showMessage(String message) {
+        // Nothing is displayed in headless mode
+    }
+
+
+// Events
+
+
+    /**
+     * Subscribes the view to the events it counts.
+     * <p>
+     * Only the events needed for statistics are subscribed to, nothing else
+     * is displayed in headless mode.
+     *
+     * @param eventBus The bus the model publishes events on
+     */
+    @Override
+    public void subscribe(EventBus eventBus) {
+        eventBus.subscribe(GameEvent.SceneWrapped.class, event -> {
+            for (int playerID : event.workerIDs()) {
+                wraps[playerID - 1]++;
+            }
+        });
+        eventBus.subscribe(GameEvent.PlayerUpgrade.class, event ->
+            upgrades[event.playerID() - 1]++
+        );
+    }
+
+
+// Statistics
+
+
+    /**
+     * Get the number of wrapped scenes the player worked on.
+     *
+     * @param playerID The ID of the player
+     * @return The number of wrapped scenes
+     */
+    public int getWraps(int playerID) {
+        return this.wraps[playerID - 1];
+    }
+
+    /**
+     * Get the number of times the player upgraded.
+     *
+     * @param playerID The ID of the player
+     * @return The number of upgrades
+     */
+    public int getUpgrades(int playerID) {
+        return this.upgrades[playerID - 1];
+    }
+
+}
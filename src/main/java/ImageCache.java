@@ -0,0 +1,294 @@
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the decoded images of the game by resource name.
+ * <p>
+ * A JavaFX Image can be shown by any number of ImageViews, so each image is
+ * decoded once and then shared. preload decodes the scene cards, dice and
+ * card backs on a background thread at startup, and get decodes anything
+ * not yet loaded on the calling thread.
+ * <p>
+ * The build packs the scene cards and the dice into one atlas image each,
+ * with an index of where every image sits in its atlas. show points an
+ * ImageView at the image's region of the atlas, so all the cards share one
+ * decoded image and one texture. Without the atlases, for example when run
+ * from the sources, show falls back to the separate images.
+ * <p>
+ * Large images such as the board are decoded at the size they are shown
+ * at. getForDisplay also picks a "@2x" variant of an image on a screen that
+ * scales its output, when the resources have one, and decodes it at the
+ * screen's pixel size.
+ */
+public class ImageCache {
+    private static final int NUM_SCENE_CARDS = 40;
+    private static final String DICE_COLORS = "bcgoprvwy";
+    private static final int MAX_RANK = 6;
+    private static final String[] ATLASES = { "cards", "dice" };
+    private static final String HIGH_RESOLUTION_SUFFIX = "@2x";
+
+    private static ImageCache instance;
+
+    private final Map<String, Image> images = new ConcurrentHashMap<>();
+    private final Map<String, Rectangle2D> regions = new ConcurrentHashMap<>();
+    private final Map<String, String> regionAtlas = new ConcurrentHashMap<>();
+    private volatile double outputScale = 1;
+
+
+    /**
+     * Constructs a new ImageCache and reads the index of each atlas.
+     */
+    private ImageCache() {
+        for (String atlas : ATLASES) {
+            loadAtlasIndex(atlas);
+        }
+    }
+
+    /**
+     * Returns the singleton instance of the ImageCache.
+     *
+     * @return the instance of the ImageCache
+     */
+    public static synchronized ImageCache getInstance() {
+        if (instance == null) {
+            instance = new ImageCache();
+        }
+        return instance;
+    }
+
+
+// ============================================================
+// Loading
+// ============================================================
+
+
+    /**
+     * Starts decoding the game's images on a background thread.
+     */
+    public void preload() {
+        Thread loader = new Thread(() -> {
+            for (int card = 1; card <= NUM_SCENE_CARDS; card++) {
+                getAtlasOrImage(cardName(card));
+            }
+            for (char color : DICE_COLORS.toCharArray()) {
+                for (int rank = 1; rank <= MAX_RANK; rank++) {
+                    getAtlasOrImage(diceName(color, rank));
+                }
+            }
+            get("shot.png");
+        }, "image-preloader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Returns the image of a resource, decoding it the first time.
+     *
+     * @param name the resource name of the image
+     * @return the image, or null if the resource can not be loaded
+     */
+    public Image get(String name) {
+        return get(name, 0, 0);
+    }
+
+    /**
+     * Returns the image of a resource decoded at the given size in pixels,
+     * decoding it the first time. The image keeps its aspect ratio within
+     * the size.
+     *
+     * @param name the resource name of the image
+     * @param width the width to decode at, or 0 for the image's own width
+     * @param height the height to decode at, or 0 for the image's own height
+     * @return the image, or null if the resource can not be loaded
+     */
+    public Image get(String name, double width, double height) {
+        String key = width > 0 || height > 0
+            ? name + "#" + (int) width + "x" + (int) height
+            : name;
+        Image image = images.get(key);
+        if (image == null) {
+            image = load(name, width, height);
+            if (image != null) {
+                Image loaded = images.putIfAbsent(key, image);
+                if (loaded != null) {
+                    image = loaded;
+                }
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Returns the image of a resource for display at the given size. On a
+     * screen that scales its output the "@2x" variant of the image is used
+     * when there is one, decoded at the screen's pixel size. The ImageView
+     * showing the image should be fitted to the given size.
+     *
+     * @param name the resource name of the image
+     * @param width the width the image is shown at
+     * @param height the height the image is shown at
+     * @return the image, or null if the resource can not be loaded
+     */
+    public Image getForDisplay(String name, double width, double height) {
+        double scale = this.outputScale;
+        if (scale > 1) {
+            String variant = highResolutionName(name);
+            if (getClass().getClassLoader().getResource(variant) != null) {
+                return get(variant, width * scale, height * scale);
+            }
+        }
+        return get(name, width, height);
+    }
+
+    /**
+     * Sets the output scale of the screen the game is shown on.
+     *
+     * @param outputScale the number of pixels per unit of the scene
+     */
+    public void setOutputScale(double outputScale) {
+        this.outputScale = outputScale;
+    }
+
+    /**
+     * Shows an image in an ImageView, as a region of its atlas when the
+     * image has been packed into one.
+     *
+     * @param view the image view
+     * @param name the resource name of the image
+     * @return true if the image was found, false otherwise
+     */
+    public boolean show(ImageView view, String name) {
+        Image image = getAtlasOrImage(name);
+        // Looked up after loading, a missing atlas drops its regions
+        Rectangle2D region = regions.get(name);
+        view.setImage(image);
+        view.setViewport(image != null ? region : null);
+        return image != null;
+    }
+
+    /**
+     * Returns the atlas holding an image, or the image itself if it is not
+     * in an atlas.
+     *
+     * @param name the resource name of the image
+     * @return the atlas or image, or null if it can not be loaded
+     */
+    private Image getAtlasOrImage(String name) {
+        String atlas = regionAtlas.get(name);
+        if (atlas != null) {
+            Image image = get(atlas);
+            if (image != null) {
+                return image;
+            }
+            // Fall back to the separate image
+            regions.remove(name);
+            regionAtlas.remove(name);
+        }
+        return get(name);
+    }
+
+    /**
+     * Reads the index of an atlas, which maps the file name of each image
+     * in the atlas to its x, y, width and height.
+     *
+     * @param atlas the name of the atlas
+     */
+    private void loadAtlasIndex(String atlas) {
+        try (InputStream stream = getClass().getClassLoader()
+                .getResourceAsStream("atlas/" + atlas + ".properties")) {
+            if (stream == null) {
+                // Not packed, the separate images are used
+                return;
+            }
+            Properties index = new Properties();
+            index.load(stream);
+            for (String file : index.stringPropertyNames()) {
+                String[] bounds = index.getProperty(file).split(",");
+                String name = atlas + "/" + file;
+                regions.put(name, new Rectangle2D(
+                    Integer.parseInt(bounds[0].trim()),
+                    Integer.parseInt(bounds[1].trim()),
+                    Integer.parseInt(bounds[2].trim()),
+                    Integer.parseInt(bounds[3].trim())
+                ));
+                regionAtlas.put(name, "atlas/" + atlas + ".png");
+            }
+        } catch (IOException | RuntimeException e) {
+            e.printStackTrace();
+            regions.clear();
+            regionAtlas.clear();
+        }
+    }
+
+    /**
+     * Decodes the image of a resource, at a requested size if one is given.
+     *
+     * @param name the resource name of the image
+     * @param width the width to decode at, or 0 for the image's own width
+     * @param height the height to decode at, or 0 for the image's own height
+     * @return the image, or null if the resource can not be loaded
+     */
+    private Image load(String name, double width, double height) {
+        try (InputStream stream = getClass().getClassLoader().getResourceAsStream(name)) {
+            if (stream == null) {
+                System.err.println("Error: " + name + " not found");
+                return null;
+            }
+            if (width > 0 || height > 0) {
+                return new Image(stream, width, height, true, true);
+            }
+            return new Image(stream);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+
+// ============================================================
+// Resource Names
+// ============================================================
+
+
+    /**
+     * Returns the resource name of the high resolution variant of an image,
+     * for example "board@2x.jpg" for "board.jpg".
+     *
+     * @param name the resource name of the image
+     * @return the resource name of the variant
+     */
+    public static String highResolutionName(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot < 0
+            ? name + HIGH_RESOLUTION_SUFFIX
+            : name.substring(0, dot) + HIGH_RESOLUTION_SUFFIX + name.substring(dot);
+    }
+
+    /**
+     * Returns the resource name of a scene card image.
+     *
+     * @param sceneCardID the ID of the scene card
+     * @return the resource name
+     */
+    public static String cardName(int sceneCardID) {
+        return String.format("cards/%02d.png", sceneCardID);
+    }
+
+    /**
+     * Returns the resource name of a dice image.
+     *
+     * @param color the first letter of the dice color
+     * @param rank the rank shown on the die
+     * @return the resource name
+     */
+    public static String diceName(char color, int rank) {
+        return "dice/" + color + rank + ".png";
+    }
+
+}
@@ -1,15 +1,28 @@
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
 import java.io.FileWriter;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Utility class for serializing and deserializing objects to and from JSON.
+ * Files whose name ends in ".gz" hold GZIP compressed JSON.
  */
 public class JsonUtil {
-    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private static final String GZIP_SUFFIX = ".gz";
+    private static final Gson gson = new GsonBuilder()
+        .setPrettyPrinting()
+        .registerTypeAdapterFactory(new Board.JsonAdapter())
+        .create();
 
     /**
      * Serialize object to JSON string
@@ -45,8 +58,24 @@ public class JsonUtil {
         }
     }
 
+    /**
+     * Serialize object to GZIP compressed JSON
+     *
+     * @param obj the object to serialize
+     * @return the compressed JSON
+     * @throws IOException if an I/O error occurs
+     */
+    public static byte[] toGzipJson(Object obj) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(
+                new GZIPOutputStream(bytes), StandardCharsets.UTF_8)) {
+            gson.toJson(obj, writer);
+        }
+        return bytes.toByteArray();
+    }
+
     /** 
-     * Load object from JSON file
+     * Load object from JSON file, decompressing it if its name ends in ".gz"
      * 
      * @param filename the filename to load from
      * @param classOfT the class of the object
@@ -54,8 +83,28 @@ public class JsonUtil {
      * @throws IOException if an I/O error occurs
      */
     public static <T> T loadFromJsonFile(String filename, Class<T> classOfT) throws IOException {
-        try (Reader reader = new FileReader(filename)) {
+        try (Reader reader = openReader(filename)) {
             return gson.fromJson(reader, classOfT);
         }
     }
+
+    /**
+     * Open a reader of a JSON file, decompressing it if its name ends in ".gz"
+     *
+     * @param filename the filename to read
+     * @return the reader
+     * @throws IOException if an I/O error occurs
+     */
+    public static Reader openReader(String filename) throws IOException {
+        if (!filename.endsWith(GZIP_SUFFIX)) {
+            return new FileReader(filename);
+        }
+        FileInputStream input = new FileInputStream(filename);
+        try {
+            return new InputStreamReader(new GZIPInputStream(input), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            input.close();
+            throw e;
+        }
+    }
 }
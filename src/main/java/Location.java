@@ -4,6 +4,7 @@ import java.util.*;
  * Represents a Location in the game.
  */
 public class Location {
+    private int id;
     private String name;
     private List<String> neighbors;
     private Area area;
@@ -33,10 +34,46 @@ public class Location {
         this.locationRoles = roles;
     }
 
+    /**
+     * Constructs a new unwrapped copy of the given Location with unwrapped
+     * takes and unoccupied roles. The neighbors and area are shared since
+     * they never change.
+     *
+     * @param other the Location to copy
+     */
+    public Location(Location other) {
+        this(other.name, other.neighbors, other.area, new ArrayList<>(), new ArrayList<>());
+        this.id = other.id;
+        for (Take take : other.takes) {
+            this.takes.add(new Take(take));
+        }
+        for (Role role : other.locationRoles) {
+            this.locationRoles.add(new Role(role));
+        }
+    }
+
 
 // Location Management
 
 
+    /**
+     * Returns the ID of the Location.
+     *
+     * @return the ID of the Location
+     */
+    public int getID() {
+        return id;
+    }
+
+    /**
+     * Sets the ID of the Location.
+     *
+     * @param id the ID assigned to the Location when it was parsed
+     */
+    public void setID(int id) {
+        this.id = id;
+    }
+
     /**
      * Returns the name of the Location.
      *
@@ -1,6 +0,0 @@
-/**
- * Observer interface for the Observer pattern.
- */
-public interface Observer {
-    void update(String eventType, Object eventData);
-}
@@ -1,5 +1,6 @@
 import org.w3c.dom.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Represents a class for parsing board data from an XML file.
@@ -9,6 +10,12 @@ import java.util.*;
  * This class also provides a method for getting the parsed locations.
  */
 public class ParseBoardXML extends AbstractParseXML {
+    // Parsed locations by file name, copied for every caller
+    private static final Map<String, Map<String, Location>> cache =
+        new ConcurrentHashMap<>();
+    // Location IDs by file name, shared since they never change
+    private static final Map<String, SymbolTable> symbolCache =
+        new ConcurrentHashMap<>();
 
     /**
      * Initializes a new ParseBoardXML object.
@@ -55,34 +62,66 @@ public class ParseBoardXML extends AbstractParseXML {
     }
 
     /**
-     * Returns a map of the parsed locations from the given NodeList object.
+     * Returns a map of fresh copies of the locations parsed from the given
+     * file. The file is only parsed the first time it is requested.
      * 
-     * @param locationsList NodeList containing location elements.
+     * @param fileName The XML file name to read from.
      * @return the map of parsed locations
      */
     public Map<String, Location> getLocations(String fileName) {
+        Map<String, Location> parsed = cache.get(fileName);
+        if (parsed == null) {
+            try {
+                NodeList locationsNodeList = readData(fileName);
+                parsed = parseLocations(locationsNodeList);
+                symbolCache.put(fileName, new SymbolTable(parsed.values()));
+                cache.put(fileName, parsed);
+            } catch (Exception e) {
+                e.printStackTrace();
+                return new HashMap<>();
+            }
+        }
         Map<String, Location> locations = new HashMap<>();
-        try {
-            NodeList locationsNodeList = readData(fileName);
-            locations = parseLocations(locationsNodeList);
-        } catch (Exception e) {
-            e.printStackTrace();
+        for (Location location : parsed.values()) {
+            locations.put(location.getName(), new Location(location));
         }
         return locations;
     }
 
+    /**
+     * Returns the IDs of the locations parsed from the given file.
+     *
+     * @param fileName The XML file name to read from.
+     * @return the symbol table of the board
+     */
+    public SymbolTable getSymbolTable(String fileName) {
+        SymbolTable symbols = symbolCache.get(fileName);
+        if (symbols == null) {
+            getLocations(fileName);
+            symbols = symbolCache.get(fileName);
+        }
+        return symbols;
+    }
+
     /**
      * Returns a map of the parsed locations from the given NodeList object.
+     * <p>
+     * Locations and their roles are given dense IDs in XML order.
      * 
      * @param locationsList
      * @return the map of parsed locations
      */
     private Map<String, Location> parseLocations(NodeList locationsList) {
         Map<String, Location> locations = new HashMap<>();
+        int nextRoleID = 0;
         for (int i = 0; i < locationsList.getLength(); i++) {
             Node location = locationsList.item(i);
             if (location.getNodeType() == Node.ELEMENT_NODE) {
                 Location newLocation = parseLocation((Element) location);
+                newLocation.setID(locations.size());
+                for (Role role : newLocation.getRoles()) {
+                    role.setID(nextRoleID++);
+                }
                 locations.put(newLocation.getName(), newLocation);
             }
         }
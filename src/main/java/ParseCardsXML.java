@@ -1,5 +1,6 @@
 import org.w3c.dom.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Represents a class for parsing scene cards from an XML file.
@@ -9,6 +10,9 @@ import java.util.*;
  * This class also provides a method for getting the parsed scene cards.
  */
 public class ParseCardsXML extends AbstractParseXML {
+    // Parsed scene cards by file name, copied for every caller
+    private static final Map<String, List<SceneCard>> cache =
+        new ConcurrentHashMap<>();
 
     
     /**
@@ -34,15 +38,21 @@ public class ParseCardsXML extends AbstractParseXML {
     
     /**
      * Returns a list of the scene cards from the given NodeList object.
+     * <p>
+     * The roles on the cards are given dense IDs in XML order.
      * 
      * @param cardsList
      * @return the list of parsed scene cards
      */
     private List<SceneCard> parseCards(NodeList cardsList) {
         List<SceneCard> cards = new ArrayList<>();
+        int nextRoleID = 0;
         for (int i = 0; i < cardsList.getLength(); i++) {
             Node card = cardsList.item(i);
             SceneCard newCard = parseCard((Element) card);
+            for (Role role : newCard.getRoles()) {
+                role.setID(nextRoleID++);
+            }
             cards.add(newCard);
         }
         return cards;
@@ -104,18 +114,27 @@ public class ParseCardsXML extends AbstractParseXML {
     }
 
     /**
-     * Returns a list of the parsed scene cards from the given filename.
+     * Returns a list of fresh copies of the scene cards parsed from the given
+     * filename. The file is only parsed the first time it is requested.
      * 
      * @param filename
      * @return the list of parsed scene cards
      */
     public List<SceneCard> getCards(String filename) {
-        List<SceneCard> cards = new ArrayList<>();
-        try {
-            NodeList cardsNodeList = readData(filename);
-            cards = parseCards(cardsNodeList);
-        } catch (Exception e) {
-            e.printStackTrace();
+        List<SceneCard> parsed = cache.get(filename);
+        if (parsed == null) {
+            try {
+                NodeList cardsNodeList = readData(filename);
+                parsed = parseCards(cardsNodeList);
+                cache.put(filename, parsed);
+            } catch (Exception e) {
+                e.printStackTrace();
+                return new ArrayList<>();
+            }
+        }
+        List<SceneCard> cards = new ArrayList<>(parsed.size());
+        for (SceneCard card : parsed) {
+            cards.add(new SceneCard(card));
         }
         return cards;
     }
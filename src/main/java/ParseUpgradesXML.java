@@ -1,5 +1,6 @@
 import org.w3c.dom.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Represents a class for parsing upgrade data from an XML file.
@@ -9,6 +10,9 @@ import java.util.*;
  * It also provides a method for getting the parsed upgrades.
  */
 public class ParseUpgradesXML extends AbstractParseXML {
+    // Parsed upgrades by file name, shared since upgrades never change
+    private static final Map<String, List<Upgrade>> cache =
+        new ConcurrentHashMap<>();
 
     /**
      * Initializes a new ParseUpgradesXML object.
@@ -42,19 +46,24 @@ public class ParseUpgradesXML extends AbstractParseXML {
 
     /**
      * Returns a list of Upgrade objects parsed from the given file.
+     * The file is only parsed the first time it is requested.
      * 
      * @param fileName The XML file name to read from.
      * @return the list of parsed upgrades
      */
     public List<Upgrade> getUpgrades(String fileName) {
-        List<Upgrade> upgrades = new ArrayList<>();
-        try {
-            NodeList upgradesNodeList = readData(fileName);
-            upgrades = parseUpgrades(upgradesNodeList);
-        } catch (Exception e) {
-            e.printStackTrace();
+        List<Upgrade> parsed = cache.get(fileName);
+        if (parsed == null) {
+            try {
+                NodeList upgradesNodeList = readData(fileName);
+                parsed = parseUpgrades(upgradesNodeList);
+                cache.put(fileName, parsed);
+            } catch (Exception e) {
+                e.printStackTrace();
+                return new ArrayList<>();
+            }
         }
-        return upgrades;
+        return new ArrayList<>(parsed);
     }
 
     /**
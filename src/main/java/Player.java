@@ -1,8 +1,3 @@
-import javafx.beans.property.IntegerProperty;
-import javafx.beans.property.SimpleIntegerProperty;
-import javafx.beans.property.BooleanProperty;
-import javafx.beans.property.SimpleBooleanProperty;
-
 /**
  * This class represents a player in the game.
  * It holds information about the player's state, including:
@@ -16,17 +11,34 @@ import javafx.beans.property.SimpleBooleanProperty;
  * - whether they have worked
  * - whether they have upgraded
  * It also provides methods to modify the player's state.
+ * <p>
+ * The state is held in plain fields so headless games do not pay for
+ * JavaFX properties. A view that needs to react to changes registers a
+ * Listener, as PlayerProperties does for the GUI.
  */
 public class Player {
-    private final IntegerProperty id;
-    private final IntegerProperty rank;
-    private final IntegerProperty dollars;
-    private final IntegerProperty credits;
-    private final IntegerProperty rehearsalTokens;
-    private final BooleanProperty active;
-    private final BooleanProperty hasMoved;
-    private final BooleanProperty hasWorked;
-    private final BooleanProperty hasUpgraded;
+    private final int id;
+    private int rank;
+    private int dollars;
+    private int credits;
+    private int rehearsalTokens;
+    private boolean active;
+    private boolean hasMoved;
+    private boolean hasWorked;
+    private boolean hasUpgraded;
+    private transient Listener listener;
+
+    /**
+     * Listens for changes to the state of a player.
+     */
+    public interface Listener {
+        /**
+         * Called after any field of the player has changed.
+         *
+         * @param player the player that changed
+         */
+        void playerChanged(Player player);
+    }
 
     /**
      * Constructs a new Player with the specified rank and credits.
@@ -36,38 +48,48 @@ public class Player {
      * @param credits the initial number of credits for the player
      */
     public Player(int id, int rank, int credits) {
-        this.id = new SimpleIntegerProperty(id);
-        this.rank = new SimpleIntegerProperty(rank);
-        this.dollars = new SimpleIntegerProperty(0);
-        this.credits = new SimpleIntegerProperty(credits);
-        this.rehearsalTokens = new SimpleIntegerProperty(0);
-        this.active = new SimpleBooleanProperty(false);
-        this.hasMoved = new SimpleBooleanProperty(false);
-        this.hasWorked = new SimpleBooleanProperty(false);
-        this.hasUpgraded = new SimpleBooleanProperty(false);
+        this.id = id;
+        this.rank = rank;
+        this.credits = credits;
     }
 
 
 // ============================================================
-// ID
+// Listener
 // ============================================================
 
 
     /**
-     * Returns the ID of the player.
+     * Sets the listener notified of changes to the player, replacing any
+     * previous listener.
      *
-     * @return the ID of the player
+     * @param listener the listener, or null for none
      */
-    public int getID() {
-        return this.id.get();
+    public void setListener(Listener listener) {
+        this.listener = listener;
     }
 
     /**
-     * Returns the property for the ID of the player.
+     * Notifies the listener, if any, that the player has changed.
+     */
+    private void changed() {
+        if (this.listener != null) {
+            this.listener.playerChanged(this);
+        }
+    }
+
+
+// ============================================================
+// ID
+// ============================================================
+
+
+    /**
+     * Returns the ID of the player.
      *
-     * @return the property for the ID of the player
+     * @return the ID of the player
      */
-    public IntegerProperty idProperty() {
+    public int getID() {
         return this.id;
     }
     
@@ -83,7 +105,7 @@ public class Player {
      * @return the rank of the player
      */
     public int getRank() {
-        return this.rank.get();
+        return this.rank;
     }
     
     /**
@@ -92,16 +114,8 @@ public class Player {
      * @param rank the new rank of the player
      */
     public void setRank(int rank) {
-        this.rank.set(rank);
-    }
-
-    /**
-     * Returns the property for the rank of the player.
-     *
-     * @return the property for the rank of the player
-     */
-    public IntegerProperty rankProperty() {
-        return this.rank;
+        this.rank = rank;
+        changed();
     }
 
 
@@ -116,7 +130,7 @@ public class Player {
      * @return the amount of dollars the player has
      */
     public int getDollars() {
-        return this.dollars.get();
+        return this.dollars;
     }
 
     /**
@@ -125,7 +139,8 @@ public class Player {
      * @param dollars the amount of dollar for the player
      */
     public void setDollars(int dollars) {
-        this.dollars.set(dollars);
+        this.dollars = dollars;
+        changed();
     }
 
     /**
@@ -134,7 +149,8 @@ public class Player {
      * @param amount the amount of dollars to add for the player
      */
     public void addDollars(int amount) {
-        this.dollars.set(this.dollars.get() + amount);
+        this.dollars += amount;
+        changed();
     }
 
     /**
@@ -143,16 +159,8 @@ public class Player {
      * @param amount the amount of dollars to subtract from the player
      */
     public void decreaseDollars(int amount) {
-        this.dollars.set(this.dollars.get() - amount);
-    }
-
-    /**
-     * Returns the property for the player's dollars.
-     *
-     * @return the property for the player's dollars
-     */
-    public IntegerProperty dollarsProperty() {
-        return this.dollars;
+        this.dollars -= amount;
+        changed();
     }
 
 
@@ -167,7 +175,7 @@ public class Player {
      * @return the number of credits the player has
      */
     public int getCredits() {
-        return this.credits.get();
+        return this.credits;
     }
 
     /**
@@ -176,7 +184,8 @@ public class Player {
      * @param credits the number of credits for the player
      */
     public void setCredits(int credits) {
-        this.credits.set(credits);
+        this.credits = credits;
+        changed();
     }
 
     /**
@@ -185,7 +194,8 @@ public class Player {
      * @param amount the number of credits to add for the player
      */
     public void addCredits(int amount) {
-        this.credits.set(this.credits.get() + amount);
+        this.credits += amount;
+        changed();
     }
 
     /**
@@ -194,16 +204,8 @@ public class Player {
      * @param amount the number of credits to subtract from the player
      */
     public void decreaseCredits(int amount) {
-        this.credits.set(this.credits.get() - amount);
-    }
-
-    /**
-     * Returns the property for the number of credits the player has.
-     *
-     * @return the property for the number of credits the player has
-     */
-    public IntegerProperty creditsProperty() {
-        return this.credits;
+        this.credits -= amount;
+        changed();
     }
     
 
@@ -218,7 +220,7 @@ public class Player {
      * @return the number of rehearsal tokens the player has
      */
     public int getRehearsalTokens() {
-        return rehearsalTokens.get();
+        return this.rehearsalTokens;
     }
 
     /**
@@ -227,30 +229,24 @@ public class Player {
      * @param tokens the number of rehearsal tokens the player has
      */
     public void setRehearsalTokens(int tokens) {
-        this.rehearsalTokens.set(tokens);
+        this.rehearsalTokens = tokens;
+        changed();
     }
 
         /**
      * Increments the number of rehearsal tokens the player has.
      */
     public void incrementRehearsalTokens() {
-        this.rehearsalTokens.set(this.rehearsalTokens.get() + 1);
+        this.rehearsalTokens++;
+        changed();
     }
 
     /**
      * Resets the number of rehearsal tokens the player has.
      */
     public void resetRehearsalTokens() {
-        this.rehearsalTokens.set(0);
-    }
-
-    /**
-     * Returns the property for the number of rehearsal tokens the player has.
-     * 
-     * @return the property for the number of rehearsal tokens the player has
-     */
-    public IntegerProperty rehearsalTokensProperty() {
-        return rehearsalTokens;
+        this.rehearsalTokens = 0;
+        changed();
     }
 
 
@@ -265,7 +261,7 @@ public class Player {
      * @return true if the player is active, false otherwise
      */
     public boolean isActive() {
-        return active.get();
+        return this.active;
     }
 
     /**
@@ -274,16 +270,8 @@ public class Player {
      * @param active true if the player is active, false otherwise
      */
     public void setActive(boolean active) {
-        this.active.set(active);
-    }
-
-    /**
-     * Returns the property for whether the player is active.
-     * 
-     * @return the property for whether the player is active
-     */
-    public BooleanProperty activeProperty() {
-        return active;
+        this.active = active;
+        changed();
     }
 
 
@@ -297,7 +285,7 @@ public class Player {
      * @return true if the player has moved, false otherwise
      */
     public boolean getHasMoved() {
-        return hasMoved.get();
+        return this.hasMoved;
     }
 
     /**
@@ -305,24 +293,17 @@ public class Player {
      * @param hasMoved true if the player has moved, false otherwise
      */
     public void setHasMoved(boolean hasMoved) {
-        this.hasMoved.set(hasMoved);
+        this.hasMoved = hasMoved;
+        changed();
     }
 
-    /**
-     * Returns the property for whether the player has moved.
-     * 
-     * @return the property for whether the player has moved
-     */
-    public BooleanProperty hasMovedProperty() {
-        return hasMoved;
-    }
 
     /**
      * Returns whether the player has worked.
      * @return true if the player has worked, false otherwise
      */
     public boolean getHasWorked() {
-        return hasWorked.get();
+        return this.hasWorked;
     }
 
     /**
@@ -330,24 +311,17 @@ public class Player {
      * @param hasWorked true if the player has worked, false otherwise
      */
     public void setHasWorked(boolean hasWorked) {
-        this.hasWorked.set(hasWorked);
+        this.hasWorked = hasWorked;
+        changed();
     }
 
-    /**
-     * Returns the property for whether the player has worked.
-     * 
-     * @return the property for whether the player has worked
-     */
-    public BooleanProperty hasWorkedProperty() {
-        return hasWorked;
-    }
     
     /**
      * Returns whether the player has upgraded.
      * @return true if the player has upgraded, false otherwise
      */
     public boolean getHasUpgraded() {
-        return hasUpgraded.get();
+        return this.hasUpgraded;
     }
 
     /**
@@ -355,16 +329,8 @@ public class Player {
      * @param hasUpgraded true if the player has upgraded, false otherwise
      */
     public void setHasUpgraded(boolean hasUpgraded) {
-        this.hasUpgraded.set(hasUpgraded);
-    }
-
-    /**
-     * Returns the property for whether the player has upgraded.
-     * 
-     * @return the property for whether the player has upgraded
-     */
-    public BooleanProperty hasUpgradedProperty() {
-        return hasUpgraded;
+        this.hasUpgraded = hasUpgraded;
+        changed();
     }
     
 
@@ -1,7 +1,4 @@
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 /*
@@ -22,7 +19,7 @@ public class PlayerActionAct implements PlayerAction {
         Board board = model.getBoard();
         int playerID = player.getID();
         // Check if player has a role
-        if (board.getPlayerRole(playerID) == null) {
+        if (!board.hasPlayerRole(playerID)) {
             view.showMessage("You do not have a role to act.");
             return false;
         }
@@ -41,16 +38,16 @@ public class PlayerActionAct implements PlayerAction {
     public boolean execute(Player player, GameModel model, GameView view) {
         Deck deck = model.getDeck();
         Board board = model.getBoard();
-        Location location = model.getLocation(board.getPlayerLocationName(player));
+        Location location = model.getLocation(board.getPlayerLocationID(player.getID()));
         int budget = getSceneBudget(player, deck, board, model);
-        int roll = performDiceRoll(player);
+        int roll = performDiceRoll(player, model);
         // Check if the player succeeded
         if (roll >= budget) {
             processSuccess(player, roll, deck, board, model, view);
             location.removeShotCounter();
             // If GUI view, add shot image to last wrapped take
             if (view instanceof GameGUIView) {
-                addShotImageToLastWrappedTake(location, ((GameGUIView) view));
+                addShotImageToLastWrappedTake(location, model);
             }
         } else {
             processFailure(player,roll, deck, board, model, view);
@@ -69,8 +66,8 @@ public class PlayerActionAct implements PlayerAction {
      * @return the budget of the scene
      */
     private int getSceneBudget(Player player, Deck deck, Board board, GameModel model) {
-        String locationName = board.getPlayerLocationName(player);
-        Integer sceneCardID = board.getLocationSceneCardID(locationName);
+        int locationID = board.getPlayerLocationID(player.getID());
+        int sceneCardID = board.getLocationSceneCardID(locationID);
         SceneCard sceneCard = deck.getDrawnCard(sceneCardID);
         return sceneCard.getBudget();
     }
@@ -79,10 +76,11 @@ public class PlayerActionAct implements PlayerAction {
      * Performs a dice roll for the player.
      *  
      * @param player the player
+     * @param model the game model
      * @return the result of the dice roll
      */
-    private int performDiceRoll(Player player) {
-        Dice dice = new Dice();
+    private int performDiceRoll(Player player, GameModel model) {
+        Dice dice = model.getDice();
         dice.roll();
         return player.getRehearsalTokens() + dice.getValue();
     }
@@ -98,13 +96,10 @@ public class PlayerActionAct implements PlayerAction {
      */
     private void processSuccess(Player player, int roll, Deck deck, Board board, GameModel model, GameView view) {
         view.showMessage("Rolled a " + roll + ". Success!");
-        String locationName = board.getPlayerLocationName(player);
-        Integer sceneCardID = board.getLocationSceneCardID(locationName);
-        SceneCard sceneCard = deck.getDrawnCard(sceneCardID);
-        // Check if player has a role that matches a role on the SceneCard
-        if (sceneCard.getRoles().stream().anyMatch(r -> r.getName().equals(board.getPlayerRole(player.getID())))) {
+        // Check if player has a role on the SceneCard
+        if (board.isPlayerOnCard(player.getID())) {
             player.addCredits(2);
-        } else if (board.getPlayerRole(player.getID()) != null) { //check if player has a role (that must be off card)
+        } else if (board.hasPlayerRole(player.getID())) { //check if player has a role (that must be off card)
             player.addDollars(1);
             player.addCredits(1);
         }
@@ -120,11 +115,8 @@ public class PlayerActionAct implements PlayerAction {
      */
     private void processFailure(Player player, int roll, Deck deck, Board board, GameModel model, GameView view) {
         view.showMessage("Rolled a " + roll + ". Failure.");
-        String locationName = board.getPlayerLocationName(player);
-        Integer sceneCardID = board.getLocationSceneCardID(locationName);
-        SceneCard sceneCard = deck.getDrawnCard(sceneCardID);
         // Check if the player is off-card
-        if (!sceneCard.getRoles().stream().anyMatch(r -> r.getName().equals(board.getPlayerRole(player.getID())))) {
+        if (!board.isPlayerOnCard(player.getID())) {
             player.addDollars(1);
         }
     }
@@ -138,8 +130,7 @@ public class PlayerActionAct implements PlayerAction {
      * @return true if the scene is ready to be wrapped, false otherwise
      */
     private boolean noShotsRemain(Player player, Board board, GameModel model) {
-        String locationName = board.getPlayerLocationName(player);
-        Location location = model.getLocation(locationName);
+        Location location = model.getLocation(board.getPlayerLocationID(player.getID()));
         if (location.getShots() == 0) {
             return true;
         }
@@ -155,42 +146,49 @@ public class PlayerActionAct implements PlayerAction {
      * @param view the game view
      */
     private void wrapLocationScene(Player player, Location location, Deck deck, Board board, GameModel model, GameView view) {
-        List<Integer> diceRolls;
+        int[] diceRolls;
+        int numDice = 0;
         String locationName = location.getName();
-        // Get all players
-        List<Player> players = model.getPlayers();
         // Get just the players at the location
-        List<Player> playersAtLocation = players.stream()
-                .filter(p -> board.getPlayerLocationName(p).equals(locationName))
-                .collect(Collectors.toList());
+        List<Player> playersAtLocation = board.getLocationPlayers(model.getPlayers(), location);
         // Check if any player at the location has an on-card role
-        boolean anyPlayerOnCard = playersAtLocation.stream().anyMatch(p -> board.getLocationSceneCardRoles(locationName, deck).stream()
-                .anyMatch(r -> r.getName().equals(board.getPlayerRole(p.getID()))));
+        boolean anyPlayerOnCard = false;
+        for (Player p : playersAtLocation) {
+            anyPlayerOnCard |= board.isPlayerOnCard(p.getID());
+        }
         // Display bonus payout message if there are any players on-card
         if (anyPlayerOnCard) {
             view.showMessage("Bonus payout!");
             // Get the scene card at the location
-            int sceneCardID = board.getLocationSceneCardID(location.getName());
+            int sceneCardID = board.getLocationSceneCardID(location.getID());
             SceneCard sceneCard = deck.getDrawnCard(sceneCardID);
             // Get the movie budget
             int movieBudget = sceneCard.getBudget();
-            // Roll a number of dice equal to the budget
-            diceRolls = rollDice(movieBudget);
+            // Roll a number of dice equal to the budget, highest first
+            numDice = movieBudget;
+            diceRolls = model.getDice().rollSortedDescending(numDice);
             // Print out the dice rolls nicely formatted
-            view.showMessage("Dice rolls: " + diceRolls.stream()
-                    .map(Object::toString)
-                    .collect(Collectors.joining(", ")));
+            view.showMessage("Dice rolls: " + formatDiceRolls(diceRolls, numDice));
         } else {
-            diceRolls = new ArrayList<>();
+            diceRolls = null;
         }
         // get active player
         Player activePlayer = model.getActivePlayer();
-        board.wrapScene(activePlayer, playersAtLocation, deck, location, diceRolls);
+        // Get the players who worked the scene before their roles are cleared
+        List<Integer> workerIDs = playersAtLocation.stream()
+                .filter(p -> board.hasPlayerRole(p.getID()))
+                .map(Player::getID)
+                .collect(Collectors.toList());
+        board.wrapScene(activePlayer, playersAtLocation, deck, location, diceRolls, numDice);
+        model.publish(new GameEvent.SceneWrapped(workerIDs));
         if (view instanceof GameCLIView) {
             view.showMessage("The scene is wrapped.");
         } 
 
         if (view instanceof GameGUIView) {
+            // Deliver the wrap to the view as one frame
+            model.getEventBus().beginBatch();
+
             // Add a grayscale card back to the location
             addWrappedCardback(locationName, model);
 
@@ -198,16 +196,15 @@ public class PlayerActionAct implements PlayerAction {
             
             // Iterate through each player and move them back to the location
             for (Player playerEntry : playersAtLocation) {
-                // Create a HashMap to hold the event data
-                Map<String, Object> moveData = new HashMap<>();
-                // Add data to eventData
-                moveData.put("locationName", locationName);
-                moveData.put("playerID", playerEntry.getID());
-                moveData.put("locationArea", area);
                 // Move player to location
-                model.notifyObservers("PLAYER_MOVE", moveData);
+                model.publish(new GameEvent.PlayerMove(
+                    playerEntry.getID(),
+                    locationName,
+                    area
+                ));
             }
 
+            model.getEventBus().endBatch();
         }
     }
 
@@ -216,33 +213,34 @@ public class PlayerActionAct implements PlayerAction {
      * GUI mode.
      * 
      * @param location the location
-     * @param guiView the game GUI view
+     * @param model the game model
      */
-    public void addShotImageToLastWrappedTake(Location location, GameGUIView guiView) {
-        // Get the burron manager
-        ShotManager shotManager = guiView.getShotManager();
+    public void addShotImageToLastWrappedTake(Location location, GameModel model) {
         // Get the are of the wrapped take with the largest number
         Take wrappedTake = location.getTakes().stream()
                 .filter(t -> t.isWrapped())
                 .max((t1, t2) -> Integer.compare(t1.getNumber(), 
                                                     t2.getNumber()))
                 .get();
-        shotManager.placeShotImage(guiView.getGroup(), wrappedTake.getArea());
+        model.publish(new GameEvent.AddShot(wrappedTake.getArea()));
     }
 
     /**
-     * Rolls a number of dice and returns the results.
+     * Formats dice rolls as a comma separated list.
      *
-     * @param numDice the number of dice to roll
-     * @return the results of the dice rolls
+     * @param diceRolls the dice rolls
+     * @param numDice the number of dice rolled
+     * @return the formatted dice rolls
      */
-    private List<Integer> rollDice(int numDice) {
-        List<Integer> rolls = new ArrayList<>();
+    private String formatDiceRolls(int[] diceRolls, int numDice) {
+        StringBuilder rolls = new StringBuilder();
         for (int i = 0; i < numDice; i++) {
-            Dice dice = new Dice(); // Use the Dice class to roll the dice
-            rolls.add(dice.getValue()); // Get the value of the roll
+            if (i > 0) {
+                rolls.append(", ");
+            }
+            rolls.append(diceRolls[i]);
         }
-        return rolls;
+        return rolls.toString();
     }
 
     /**
@@ -253,16 +251,17 @@ public class PlayerActionAct implements PlayerAction {
         // Retrieve the location details from the model
         Location location = model.getLocation(locationName);
         Area area = location.getArea();
-        Map<String, Object> eventData = new HashMap<>();
-        eventData.put("locationName", locationName);
-        eventData.put("locationX", area.getX());
-        eventData.put("locationY", area.getY());
 
-        // Notify observers to add a grayscale card back
-        model.notifyObservers("ADD_WRAPPED_CARD_BACK", eventData);
+        // Add a grayscale card back
+        model.publish(new GameEvent.AddCardBack(
+            locationName,
+            area.getX(),
+            area.getY(),
+            true
+        ));
 
         // Immediately bring all player dice to the front
-        model.notifyObservers("BRING_DICE_TO_FRONT", null);
+        model.publish(new GameEvent.BringDiceToFront());
     }
 
 }
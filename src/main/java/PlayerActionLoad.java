@@ -1,16 +1,11 @@
 import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.stream.Stream;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /*
  * Represents the load action for the player.
  */
 public class PlayerActionLoad implements PlayerAction {
+    private static final int PAGE_SIZE = 50;
 
     /**
      * Validates the load action for the player.
@@ -42,28 +37,34 @@ public class PlayerActionLoad implements PlayerAction {
     }
     
     /**
-     * Displays the saved games to the player.
+     * Displays the first page of saved games to the player.
      * 
      * @param view
      */
     private void displaySavedGames(GameView view) {
         // Display a header to indicate the start of the saved games list
         view.showMessage("Current saved games:");
-        try (Stream<Path> paths = Files.walk(Paths.get("./saved"))) {
-            // Create a sorted list of saved game names by processing each file in the "./saved" directory
-            List<String> sortedFileNames = paths
-                .filter(Files::isRegularFile) // Ensure we only deal with files (not directories)
-                .map(Path::toFile) // Convert Path to File for easier manipulation
-                .filter(file -> file.getName().endsWith(".json")) // Filter to include only JSON files
-                .map(file -> file.getName().substring(0, file.getName().length() - ".json".length())) // Remove the ".json" extension from the file name
-                .sorted() // Sort the file names alphabetically
-                .collect(Collectors.toList()); // Collect the results into a list
-            
-            // Display each file name in the sorted list
-            sortedFileNames.forEach(view::showMessage);
-        } catch (IOException e) {
-            // Handle any IO exceptions that occur during directory traversal or file processing
-            e.printStackTrace();
+        displaySavedGames("", view);
+    }
+
+    /**
+     * Displays the first page of saved games whose names start with a
+     * prefix, with the number of others that match.
+     * 
+     * @param prefix the start of the names, or "" for every saved game
+     * @param view
+     */
+    private void displaySavedGames(String prefix, GameView view) {
+        SaveCatalog catalog = SaveCatalog.getInstance();
+        List<SaveCatalog.Entry> page = catalog.list(prefix, 0, PAGE_SIZE);
+        for (SaveCatalog.Entry entry : page) {
+            view.showMessage(entry.day() > 0
+                ? entry.loadName() + "  (day " + entry.day() + ", " + entry.numPlayers() + " players)"
+                : entry.loadName());
+        }
+        int more = catalog.count(prefix) - page.size();
+        if (more > 0) {
+            view.showMessage("... and " + more + " more, type the start of a name followed by * to list them");
         }
     }
     
@@ -74,8 +75,15 @@ public class PlayerActionLoad implements PlayerAction {
      * @return the saved game name
      */
     private String getSavedGameNameFromUser(GameView view) {
-        view.showMessage("Enter saved game name to load:");
-        return view.getPlayerInput();
+        while (true) {
+            view.showMessage("Enter saved game name to load:");
+            String input = view.getPlayerInput();
+            if (!input.endsWith("*")) {
+                return input;
+            }
+            // List the saved games with the typed prefix and ask again
+            displaySavedGames(input.substring(0, input.length() - 1), view);
+        }
     }
     
     /**
@@ -88,20 +96,40 @@ public class PlayerActionLoad implements PlayerAction {
      */
     private void loadGameFromFile(String filename, GameModel model, GameView view) {
         // Validate filename: only allow alphanumeric characters and dashes/underscores
-        if (!filename.matches("^[a-zA-Z0-9_-]+$")) {
+        boolean snapshot = filename.endsWith(GameSnapshot.EXTENSION);
+        boolean journal = filename.endsWith(GameJournal.EXTENSION);
+        boolean autosave = filename.endsWith(Autosave.EXTENSION);
+        String extension = snapshot ? GameSnapshot.EXTENSION
+            : journal ? GameJournal.EXTENSION
+            : autosave ? Autosave.EXTENSION
+            : "";
+        String name = filename.substring(0, filename.length() - extension.length());
+        if (!name.matches("^[a-zA-Z0-9_-]+$")) {
             view.showMessage("Invalid filename. Only alphanumeric characters, dashes, and underscores are allowed.");
             return;
         }
         // construct the full path to the saved game file
-        String fullPath = "./saved/" + filename + ".json";
+        String fullPath = snapshot || journal || autosave
+            ? "./saved/" + filename
+            : "./saved/" + filename + ".json";
+        // let a save of the same game finish first
+        SaveService.getInstance().awaitPending();
         // check if the file exists
         File file = new File(fullPath);
         if (!file.exists()) {
             view.showMessage("Saved game not found.");
             return;
         }
-        // load the game from the JSON file
-        if (GameModel.loadFromJson(fullPath)) {
+        // load the game from the snapshot, journal or JSON file
+        boolean loaded;
+        if (snapshot) {
+            loaded = model.loadFromSnapshot(fullPath);
+        } else if (journal) {
+            loaded = model.loadFromJournal(fullPath);
+        } else {
+            loaded = model.loadFromJson(fullPath);
+        }
+        if (loaded) {
             view.showMessage("Game loaded successfully.");
         } else {
             view.showMessage("Error loading game.");
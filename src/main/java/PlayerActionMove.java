@@ -1,6 +1,4 @@
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /*
  * Represents the move action for the player.
@@ -30,7 +28,7 @@ public class PlayerActionMove implements PlayerAction {
      * @return true if the player has no role, false otherwise
      */
     private boolean checkPlayerHasNoRole(Player player, Board board, GameView view) {
-        if (board.getPlayerRole(player.getID()) != null) {
+        if (board.hasPlayerRole(player.getID())) {
             view.showMessage("You must finish your role before moving.");
             return false;
         }
@@ -71,16 +69,13 @@ public class PlayerActionMove implements PlayerAction {
             view.showMessage("Invalid location.");
             return false;
         }
+        location = locationFormatted;
         movePlayerToLocation(player, board, view, location);
         player.setHasMoved(true);
 
-        // Create a map with player ID and new location's Area
-        Map<Integer, Area> moveDetails = new HashMap<>();
+        // Tell the view the player moved
         Area newArea = model.getLocation(location).getArea();
-        moveDetails.put(player.getID(), newArea);
-
-        // Notify observers with the map
-        model.notifyObservers("PLAYER_MOVE", moveDetails);
+        model.publish(new GameEvent.PlayerMove(player.getID(), location, newArea));
         
         return player.getHasUpgraded();
     }
@@ -129,11 +124,12 @@ public class PlayerActionMove implements PlayerAction {
      * @return the formatted location
      */
     private String formatLocationForNeighbors(String location) {
+        // Neighbor names are normalized by the board parser
         switch (location) {
-            case "Trailer":
-                return "trailer";
-            case "Casting Office":
-                return "office";
+            case "trailer":
+                return "Trailer";
+            case "office":
+                return "Casting Office";
             default:
                 return location;
         }
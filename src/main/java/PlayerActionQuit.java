@@ -26,7 +26,8 @@ public class PlayerActionQuit implements PlayerAction {
      */
     @Override
     public boolean execute(Player player, GameModel model, GameView view) {
-        // Exit game
+        // Let saves in progress reach the disk, then exit game
+        SaveService.getInstance().awaitPending();
         System.exit(0);
         return true;
     }
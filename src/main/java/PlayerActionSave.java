@@ -1,15 +1,13 @@
-import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.stream.Stream;
+import java.util.concurrent.CompletableFuture;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /*
  * Represents the save action for the player.
  */
 public class PlayerActionSave implements PlayerAction {
+    private static final int PAGE_SIZE = 50;
 
     /**
      * Validates the save action for the player.
@@ -41,28 +39,19 @@ public class PlayerActionSave implements PlayerAction {
     }
 
     /**
-     * Displays the saved games to the player.
+     * Displays the first page of saved games to the player.
      * 
      * @param view
      */
     private void displaySavedGames(GameView view) {
         // Display a header to indicate the start of the saved games list
         view.showMessage("Current saved games:");
-        try (Stream<Path> paths = Files.walk(Paths.get("./saved"))) {
-            // Create a sorted list of saved game names by processing each file in the "./saved" directory
-            List<String> sortedFileNames = paths
-                .filter(Files::isRegularFile) // Ensure we only deal with files (not directories)
-                .map(Path::toFile) // Convert Path to File for easier manipulation
-                .filter(file -> file.getName().endsWith(".json")) // Filter to include only JSON files
-                .map(file -> file.getName().substring(0, file.getName().length() - ".json".length())) // Remove the ".json" extension from the file name
-                .sorted() // Sort the file names alphabetically
-                .collect(Collectors.toList()); // Collect the results into a list
-            
-            // Display each file name in the sorted list
-            sortedFileNames.forEach(view::showMessage);
-        } catch (IOException e) {
-            // Handle any IO exceptions that occur during directory traversal or file processing
-            e.printStackTrace();
+        SaveCatalog catalog = SaveCatalog.getInstance();
+        List<SaveCatalog.Entry> page = catalog.list("", 0, PAGE_SIZE);
+        page.forEach(entry -> view.showMessage(entry.loadName()));
+        int more = catalog.count("") - page.size();
+        if (more > 0) {
+            view.showMessage("... and " + more + " more");
         }
     }
 
@@ -73,25 +62,35 @@ public class PlayerActionSave implements PlayerAction {
      * @return the name of the saved game
      */
     private String getSavedGameNameForSaving(GameView view) {
-        view.showMessage("Enter name for new saved game:");
+        view.showMessage("Enter name for new saved game (end it with " + GameSnapshot.EXTENSION + " for a binary snapshot):");
         return view.getPlayerInput();
     }
 
     /**
-     * Saves the game to a file as JSON.
+     * Saves the game to a file as JSON, or as a binary snapshot if the name
+     * ends with the snapshot extension. The game is copied right away and
+     * written in the background, and the view is told once it is on disk.
      * 
      * @param filename the name of the file
      * @param model the game model
      * @param view the game view
      */
     private void saveGameToFile(String filename, GameModel model, GameView view) {
-        try {
-            JsonUtil.saveToJsonFile(model, "saved/" + filename + ".json");
-            view.showMessage("Game saved successfully as " + filename + ".json");
-        } catch (IOException e) {
-            view.showMessage("Failed to save the game.");
-            e.printStackTrace();
-        }
+        SaveService saveService = SaveService.getInstance();
+        int day = model.getDay();
+        int numPlayers = model.getNumPlayers();
+        CompletableFuture<Path> saved = filename.endsWith(GameSnapshot.EXTENSION)
+            ? saveService.saveSnapshot(model, Paths.get("saved", filename))
+            : saveService.saveJson(model, Paths.get("saved", filename + ".json"));
+        saved.whenComplete((path, error) -> {
+            if (error == null) {
+                SaveCatalog.getInstance().saved(path, day, numPlayers);
+                view.showMessage("Game saved successfully as " + path.getFileName());
+            } else {
+                view.showMessage("Failed to save the game.");
+                error.printStackTrace();
+            }
+        });
     }
     
 }
@@ -127,6 +127,7 @@ public class PlayerActionUpgrade implements PlayerAction {
         }
         processPayment(player, chosenRank, paymentMethod);
         upgradePlayerRank(player, chosenRank, view);
+        model.publish(new GameEvent.PlayerUpgrade(player.getID()));
         // End the turn if the player has already moved
         return player.getHasMoved();
     }
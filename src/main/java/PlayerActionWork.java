@@ -6,6 +6,8 @@ import java.util.ArrayList;
  * Represents the work action for the player.
  */
 public class PlayerActionWork implements PlayerAction {
+    // Follows the name of an off card role in the list of roles
+    static final String FOR_SCALE = " (for scale)";
 
     /**
      * Validates the work action for the player.
@@ -85,17 +87,8 @@ public class PlayerActionWork implements PlayerAction {
      * @return true if the player has no role, false otherwise
      */
     private boolean playerHasNoRole(Player player, Deck deck, Board board, GameModel model, GameView view) {
-        // Get player location Name
-        String locationName = board.getPlayerLocationName(player);
-        // Create new ArrayList containing the roles at the location
-        List<Role> roles = new ArrayList<Role>(model.getLocation(locationName).getRoles());
-        // Add the SCeneCard roles to roles
-        roles.addAll(board.getLocationSceneCardRoles(locationName, deck));
-        // Get player role by finding which role in the list of roles matches the players role
-        Role role = roles.stream()
-                .filter(r -> r.getName().equals(board.getPlayerRole(player.getID())))
-                .findFirst()
-                .orElse(null);
+        // Get the player's role
+        Role role = board.getPlayerRole(player.getID());
         // If the player has a role, display the role and return false
         if (role != null) {
             String roleName = role.getName();
@@ -160,13 +153,17 @@ public class PlayerActionWork implements PlayerAction {
         roles.sort(Comparator.comparingInt(Role::getRank)
                 .thenComparing(Role::getOnCard));
         roles.forEach(role -> {
-            String message = role.getName() + (role.getOnCard() ? "" : " (for scale)") + " -> Rank " + role.getRank();
+            String message = role.getName() + (role.getOnCard() ? "" : FOR_SCALE) + " -> Rank " + role.getRank();
             view.showMessage(message);
         });
     }
 
     /**
      * Gets the role selected by the player.
+     * <p>
+     * A role is entered as it is listed, so an off card role can be entered
+     * with " (for scale)" after its name. A name alone picks the role on the
+     * scene card when the location has a role of the same name.
      *
      * @param roles the available roles for the player
      * @param view the game view
@@ -174,10 +171,19 @@ public class PlayerActionWork implements PlayerAction {
      */
     private Role getPlayerSelectedRole(List<Role> roles, GameView view) {
         String roleString = view.getPlayerInput();
-        return roles.stream() // Get the role with the same name as the input
-                .filter(r -> r.getName().equals(roleString))
-                .findFirst()
-                .orElse(null);
+        boolean forScale = roleString.endsWith(FOR_SCALE);
+        String roleName = forScale
+            ? roleString.substring(0, roleString.length() - FOR_SCALE.length())
+            : roleString;
+        Role selectedRole = null;
+        for (Role role : roles) {
+            if (role.getName().equals(roleName) && !(forScale && role.getOnCard())) {
+                if (selectedRole == null || role.getOnCard()) {
+                    selectedRole = role;
+                }
+            }
+        }
+        return selectedRole;
     }
 
     /**
@@ -189,9 +195,7 @@ public class PlayerActionWork implements PlayerAction {
      * @param view the game view
      */
     private void assignRoleToPlayer(Player player, Role role, Board board, GameView view) {
-        // Get role name
-        String roleName = role.getName();
-        board.setPlayerRole(player.getID(), roleName);
+        board.setPlayerRole(player.getID(), role);
         // Display the role the player is working
         view.showMessage("You are now working the role of " + role.getName());
         // Set the player as having worked
@@ -0,0 +1,13 @@
+import java.util.List;
+
+/**
+ * PlayerPolicy interface
+ * <p>
+ * Decides what a player does when the game asks for input in headless mode.
+ * A decision is a command followed by the inputs its action will prompt for,
+ * e.g. ["move", "Main Street"], ["work", "Crusty Prospector"] or
+ * ["upgrade", "3", "dollars"].
+ */
+public interface PlayerPolicy {
+    public List<String> chooseAction(Player player, GameModel model);
+}
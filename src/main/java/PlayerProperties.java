@@ -0,0 +1,134 @@
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+
+/**
+ * This class adapts a Player to JavaFX properties for the GUI.
+ * It registers itself as the player's listener and copies the player's
+ * state into its properties whenever the player changes, so table cells
+ * and dice labels can bind to the properties while the Player itself stays
+ * free of JavaFX. It also holds whether the player's row is highlighted,
+ * which is state of the view only.
+ */
+public class PlayerProperties implements Player.Listener {
+    private final Player player;
+    private final IntegerProperty rank;
+    private final IntegerProperty dollars;
+    private final IntegerProperty credits;
+    private final IntegerProperty rehearsalTokens;
+    private final BooleanProperty active;
+    private final BooleanProperty highlighted = new SimpleBooleanProperty(false);
+
+    /**
+     * Constructs new PlayerProperties that follow the given player.
+     *
+     * @param player the player to follow
+     */
+    public PlayerProperties(Player player) {
+        this.player = player;
+        this.rank = new SimpleIntegerProperty(player.getRank());
+        this.dollars = new SimpleIntegerProperty(player.getDollars());
+        this.credits = new SimpleIntegerProperty(player.getCredits());
+        this.rehearsalTokens = new SimpleIntegerProperty(player.getRehearsalTokens());
+        this.active = new SimpleBooleanProperty(player.isActive());
+        player.setListener(this);
+    }
+
+    /**
+     * Copies the state of the player into the properties. A property only
+     * notifies its own listeners when its value actually changes.
+     *
+     * @param player the player that changed
+     */
+    @Override
+    public void playerChanged(Player player) {
+        this.rank.set(player.getRank());
+        this.dollars.set(player.getDollars());
+        this.credits.set(player.getCredits());
+        this.rehearsalTokens.set(player.getRehearsalTokens());
+        this.active.set(player.isActive());
+    }
+
+    /**
+     * Returns the player these properties follow.
+     *
+     * @return the player
+     */
+    public Player getPlayer() {
+        return this.player;
+    }
+
+    /**
+     * Returns the ID of the player.
+     *
+     * @return the ID of the player
+     */
+    public int getID() {
+        return this.player.getID();
+    }
+
+    /**
+     * Returns the rank of the player.
+     *
+     * @return the rank of the player
+     */
+    public int getRank() {
+        return this.rank.get();
+    }
+
+    /**
+     * Returns the property for the rank of the player.
+     *
+     * @return the property for the rank of the player
+     */
+    public IntegerProperty rankProperty() {
+        return this.rank;
+    }
+
+    /**
+     * Returns the property for the player's dollars.
+     *
+     * @return the property for the player's dollars
+     */
+    public IntegerProperty dollarsProperty() {
+        return this.dollars;
+    }
+
+    /**
+     * Returns the property for the number of credits the player has.
+     *
+     * @return the property for the number of credits the player has
+     */
+    public IntegerProperty creditsProperty() {
+        return this.credits;
+    }
+
+    /**
+     * Returns the property for the number of rehearsal tokens the player has.
+     *
+     * @return the property for the number of rehearsal tokens the player has
+     */
+    public IntegerProperty rehearsalTokensProperty() {
+        return this.rehearsalTokens;
+    }
+
+    /**
+     * Returns the property for whether the player is active.
+     *
+     * @return the property for whether the player is active
+     */
+    public BooleanProperty activeProperty() {
+        return this.active;
+    }
+
+    /**
+     * Returns the property for whether the player's row is highlighted.
+     *
+     * @return the property for whether the player's row is highlighted
+     */
+    public BooleanProperty highlightedProperty() {
+        return this.highlighted;
+    }
+
+}
@@ -2,28 +2,33 @@ import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableRow;
 import javafx.scene.control.TableView;
 import javafx.scene.control.cell.PropertyValueFactory;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.css.PseudoClass;
 import javafx.geometry.Pos;
-import javafx.scene.Group;
-import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.util.Callback;
 import javafx.scene.control.TableCell;
 
-import java.io.InputStream;
+import java.net.URL;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 public class PlayerStatsManager {
 
-    private final TableView<Player> playerStatsTable;
-    private final ObservableList<Player> observablePlayerList;
+    // Set on the row of the player whose turn it is, styled in player-stats.css
+    private static final PseudoClass CURRENT_PLAYER =
+        PseudoClass.getPseudoClass("current-player");
+
+    private final TableView<PlayerProperties> playerStatsTable;
+    private final ObservableList<PlayerProperties> observablePlayerList;
+    private final Map<Integer, PlayerProperties> rowsByID = new HashMap<>();
+    private PlayerProperties highlightedRow;
     private final String[] diceColor;
 
     public PlayerStatsManager(String[] diceColor) {
@@ -35,7 +40,7 @@ public class PlayerStatsManager {
     /**
      * Creates a table structure for displaying player stats without data.
      *
-     * @param group                 The group where the table will be added.
+     * @param transaction           The scene graph transaction that adds the table.
      * @param playerLabels          List of player labels (one for each player).
      * @param rowHeight             The height of each row.
      * @param diceColumnWidth       The width of the player label (icon) column.
@@ -45,7 +50,7 @@ public class PlayerStatsManager {
      * @param tableWidth            The total width of the table.
      */
     public void createPlayerStatsTable(
-        Group group, 
+        SceneGraphTransaction transaction, 
         Map<String, Label> playerLabels, 
         int rowHeight, 
         int diceColumnWidth, 
@@ -80,11 +85,20 @@ public class PlayerStatsManager {
         // Bind the observable list to the TableView
         playerStatsTable.setItems(observablePlayerList);
 
+        // Style the highlighted row through its pseudo-class
+        playerStatsTable.setRowFactory(table -> new PlayerStatsRow());
+        URL stylesheet = getClass().getClassLoader().getResource("player-stats.css");
+        if (stylesheet != null) {
+            playerStatsTable.getStylesheets().add(stylesheet.toExternalForm());
+        } else {
+            System.err.println("Error: player-stats.css not found");
+        }
+
         // // Disable scroll bars
         // disableScrollBars(playerStatsTable);
 
         // Add the empty table to the pane
-        group.getChildren().add(playerStatsTable);
+        transaction.add(playerStatsTable);
     }
 
     /**
@@ -97,7 +111,7 @@ public class PlayerStatsManager {
     @SuppressWarnings("unchecked")
     private void setupTableColumns(int diceColumnWidth, int tableWidth) {
         // Create the "Player" label column (icon column with custom width)
-        TableColumn<Player, Player> labelColumn = new TableColumn<>("Player");
+        TableColumn<PlayerProperties, PlayerProperties> labelColumn = new TableColumn<>("Player");
         labelColumn.setPrefWidth(48);
         labelColumn.setMinWidth(48);
         labelColumn.setMaxWidth(48);
@@ -105,15 +119,15 @@ public class PlayerStatsManager {
 
         // Set up the cell factory to listen to rank changes and update the icon
         labelColumn.setCellValueFactory(param -> new ReadOnlyObjectWrapper<>(param.getValue()));
-        labelColumn.setCellFactory(new Callback<TableColumn<Player, Player>, TableCell<Player, Player>>() {
+        labelColumn.setCellFactory(new Callback<TableColumn<PlayerProperties, PlayerProperties>, TableCell<PlayerProperties, PlayerProperties>>() {
             @Override
-            public TableCell<Player, Player> call(TableColumn<Player, Player> param) {
-                return new TableCell<Player, Player>() {
+            public TableCell<PlayerProperties, PlayerProperties> call(TableColumn<PlayerProperties, PlayerProperties> param) {
+                return new TableCell<PlayerProperties, PlayerProperties>() {
                     private final ImageView imageView = new ImageView();
                     private ChangeListener<Number> rankListener;
 
                     @Override
-                    protected void updateItem(Player player, boolean empty) {
+                    protected void updateItem(PlayerProperties player, boolean empty) {
                         super.updateItem(player, empty);
                         if (empty || player == null) {
                             setGraphic(null);
@@ -146,13 +160,9 @@ public class PlayerStatsManager {
                     /**
                      * Updates the dice icon based on the player's current rank.
                      */
-                    private void updateImage(Player player) {
+                    private void updateImage(PlayerProperties player) {
                         String diceFilename = diceColor[player.getID() - 1].substring(0, 1) + player.getRank() + ".png";
-                        InputStream diceImageStream = getClass().getClassLoader().getResourceAsStream("dice/" + diceFilename);
-                        if (diceImageStream != null) {
-                            Image diceImage = new Image(diceImageStream);
-                            imageView.setImage(diceImage);
-                        } else {
+                        if (!ImageCache.getInstance().show(imageView, "dice/" + diceFilename)) {
                             System.err.println("Error loading dice image: " + diceFilename);
                             imageView.setImage(null); // Optionally set a default image
                         }
@@ -164,9 +174,9 @@ public class PlayerStatsManager {
         });
 
         // Create the "Dollars" column and center the content
-        TableColumn<Player, Number> dollarsColumn = new TableColumn<>("Dollars");
+        TableColumn<PlayerProperties, Number> dollarsColumn = new TableColumn<>("Dollars");
         dollarsColumn.setCellValueFactory(new PropertyValueFactory<>("dollars"));
-        dollarsColumn.setCellFactory(column -> new TableCell<Player, Number>() {
+        dollarsColumn.setCellFactory(column -> new TableCell<PlayerProperties, Number>() {
             @Override
             protected void updateItem(Number item, boolean empty) {
                 super.updateItem(item, empty);
@@ -180,9 +190,9 @@ public class PlayerStatsManager {
         });
 
         // Create the "Credits" column and center the content
-        TableColumn<Player, Number> creditsColumn = new TableColumn<>("Credits");
+        TableColumn<PlayerProperties, Number> creditsColumn = new TableColumn<>("Credits");
         creditsColumn.setCellValueFactory(new PropertyValueFactory<>("credits"));
-        creditsColumn.setCellFactory(column -> new TableCell<Player, Number>() {
+        creditsColumn.setCellFactory(column -> new TableCell<PlayerProperties, Number>() {
             @Override
             protected void updateItem(Number item, boolean empty) {
                 super.updateItem(item, empty);
@@ -196,9 +206,9 @@ public class PlayerStatsManager {
         });
 
         // Create the "Tokens" column and center the content
-        TableColumn<Player, Number> tokensColumn = new TableColumn<>("Tokens");
+        TableColumn<PlayerProperties, Number> tokensColumn = new TableColumn<>("Tokens");
         tokensColumn.setCellValueFactory(new PropertyValueFactory<>("rehearsalTokens"));
-        tokensColumn.setCellFactory(column -> new TableCell<Player, Number>() {
+        tokensColumn.setCellFactory(column -> new TableCell<PlayerProperties, Number>() {
             @Override
             protected void updateItem(Number item, boolean empty) {
                 super.updateItem(item, empty);
@@ -246,48 +256,77 @@ public class PlayerStatsManager {
      * @param tokens New value for tokens.
      */
     public void updatePlayerStat(int playerID, int dollars, int credits, int tokens) {
-        // Iterate over the table's items (PlayerStat instances)
-        for (Player player : playerStatsTable.getItems()) {
-            // Find the player by their ID
-            if (player.getID() == playerID) {
-                // Update the player's stats
-                player.setDollars(dollars);
-                player.setCredits(credits);
-                player.setRehearsalTokens(tokens);
-
-                break;
-            }
+        PlayerProperties properties = rowsByID.get(playerID);
+        if (properties != null) {
+            // Update the player's stats, the properties follow the player
+            Player player = properties.getPlayer();
+            player.setDollars(dollars);
+            player.setCredits(credits);
+            player.setRehearsalTokens(tokens);
         }
     }
 
     /**
      * Adds player data to the table.
      *
-     * @param players The list of players to be added to the table.
+     * @param players The properties of the players to be added to the table.
      */
-    public void addPlayerData(List<Player> players) {
+    public void addPlayerData(List<PlayerProperties> players) {
+        for (PlayerProperties properties : players) {
+            rowsByID.put(properties.getID(), properties);
+        }
         observablePlayerList.addAll(players);
     }
 
-    public TableView<Player> getPlayerStatsTable() {
+    public TableView<PlayerProperties> getPlayerStatsTable() {
         return playerStatsTable;
     }
 
     /**
-     * Highlights the row corresponding to the given row index.
+     * Highlights the row of the given player and clears the row highlighted
+     * before, so only those two rows change.
      *
-     * @param index The index of the row to be highlighted (0-based index).
+     * @param playerID The ID of the player whose row is highlighted.
      */
-    @SuppressWarnings("unchecked")
-    public void highlightRow(int index) {
-        for (Node node : playerStatsTable.lookupAll(".table-row-cell")) {
-            if (node instanceof TableRow) {
-                TableRow<Player> row = (TableRow<Player>) node;
-                if (row.getIndex() == index - 1) {
-                    row.setStyle("-fx-background-color: #AAAAAA;"); // medium gray
-                } else {
-                    row.setStyle(""); // reset to default style
-                }
+    public void highlightRow(int playerID) {
+        PlayerProperties row = rowsByID.get(playerID);
+        if (row == highlightedRow) {
+            return;
+        }
+        if (highlightedRow != null) {
+            highlightedRow.highlightedProperty().set(false);
+        }
+        if (row != null) {
+            row.highlightedProperty().set(true);
+        }
+        highlightedRow = row;
+    }
+
+    /**
+     * A row of the player stats table that follows whether its player is
+     * highlighted through the current-player pseudo-class.
+     */
+    private static class PlayerStatsRow extends TableRow<PlayerProperties> {
+        private final ChangeListener<Boolean> highlightListener =
+            (observable, wasHighlighted, isHighlighted) ->
+                pseudoClassStateChanged(CURRENT_PLAYER, isHighlighted);
+
+        @Override
+        protected void updateItem(PlayerProperties player, boolean empty) {
+            // Stop following the player the row showed before
+            PlayerProperties previous = getItem();
+            if (previous != null) {
+                previous.highlightedProperty().removeListener(highlightListener);
+            }
+            super.updateItem(player, empty);
+            if (empty || player == null) {
+                pseudoClassStateChanged(CURRENT_PLAYER, false);
+            } else {
+                player.highlightedProperty().addListener(highlightListener);
+                pseudoClassStateChanged(
+                    CURRENT_PLAYER,
+                    player.highlightedProperty().get()
+                );
             }
         }
     }
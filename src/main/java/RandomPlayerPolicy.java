@@ -0,0 +1,160 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Represents a policy that plays a random legal action for a player.
+ * <p>
+ * Players with a role act once their rehearsal tokens guarantee success and
+ * otherwise act or rehearse at random. Players without a role upgrade to the
+ * highest rank they can afford, take a random available role or move to a
+ * random neighbor, and end their turn when nothing else is left to do.
+ */
+public class RandomPlayerPolicy implements PlayerPolicy {
+    private final SplittableRandom random;
+
+
+    /**
+     * Constructs a new RandomPlayerPolicy with the given seed.
+     *
+     * @param seed the seed for the random choices
+     */
+    public RandomPlayerPolicy(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Chooses a random legal action for the player.
+     *
+     * @param player the player
+     * @param model the game model
+     * @return the command followed by its inputs
+     */
+    @Override
+    public List<String> chooseAction(Player player, GameModel model) {
+        Board board = model.getBoard();
+        // Players with a role can only act or rehearse
+        if (board.hasPlayerRole(player.getID())) {
+            return List.of(chooseActOrRehearse(player, board, model));
+        }
+        String locationName = board.getPlayerLocationName(player);
+        Location location = model.getLocation(locationName);
+        // Upgrade whenever possible at the Casting Office
+        if (locationName.equals("Casting Office") && !player.getHasUpgraded()) {
+            List<String> upgrade = chooseUpgrade(player, model);
+            if (upgrade != null) {
+                return upgrade;
+            }
+        }
+        // Take a role if one is available at the current location
+        if (!player.getHasWorked() && !location.getIsWrapped() &&
+            !locationName.equals("Trailer") &&
+            !locationName.equals("Casting Office")
+        ) {
+            Role role = chooseRole(player, board, model, locationName);
+            if (role != null) {
+                String roleName = role.getOnCard()
+                    ? role.getName()
+                    : role.getName() + PlayerActionWork.FOR_SCALE;
+                return List.of("work", roleName);
+            }
+        }
+        // Move to a random neighbor
+        if (!player.getHasMoved()) {
+            List<String> neighbors = location.getNeighbors();
+            return List.of("move", neighbors.get(random.nextInt(neighbors.size())));
+        }
+        return List.of("end");
+    }
+
+    /**
+     * Chooses between acting and rehearsing.
+     *
+     * @param player the player
+     * @param board the game board
+     * @param model the game model
+     * @return "act" or "rehearse"
+     */
+    private String chooseActOrRehearse(Player player, Board board, GameModel model) {
+        String locationName = board.getPlayerLocationName(player);
+        int sceneCardID = board.getLocationSceneCardID(locationName);
+        int budget = model.getDeck().getDrawnCard(sceneCardID).getBudget();
+        // Act once the lowest roll is guaranteed to succeed
+        if (player.getRehearsalTokens() + 1 >= budget || random.nextBoolean()) {
+            return "act";
+        }
+        return "rehearse";
+    }
+
+    /**
+     * Chooses the highest rank the player can afford.
+     *
+     * @param player the player
+     * @param model the game model
+     * @return the upgrade command and its inputs, or null if none is affordable
+     */
+    private List<String> chooseUpgrade(Player player, GameModel model) {
+        int bestRank = 0;
+        boolean byDollars = false;
+        boolean byCredits = false;
+        for (Upgrade upgrade : model.getUpgrades()) {
+            int level = upgrade.getLevel();
+            if (level <= player.getRank() || level < bestRank) {
+                continue;
+            }
+            boolean affordable = upgrade.getCurrency().equals("dollar")
+                ? player.getDollars() >= upgrade.getAmt()
+                : player.getCredits() >= upgrade.getAmt();
+            if (!affordable) {
+                continue;
+            }
+            if (level > bestRank) {
+                bestRank = level;
+                byDollars = false;
+                byCredits = false;
+            }
+            if (upgrade.getCurrency().equals("dollar")) {
+                byDollars = true;
+            } else {
+                byCredits = true;
+            }
+        }
+        if (bestRank == 0) {
+            return null;
+        }
+        // The payment method is only asked for when both can be afforded
+        if (byDollars && byCredits) {
+            String payment = random.nextBoolean() ? "dollars" : "credits";
+            return List.of("upgrade", String.valueOf(bestRank), payment);
+        }
+        return List.of("upgrade", String.valueOf(bestRank));
+    }
+
+    /**
+     * Chooses a random role the player can work at the location.
+     *
+     * @param player the player
+     * @param board the game board
+     * @param model the game model
+     * @param locationName the name of the player's location
+     * @return the role, or null if none is available
+     */
+    private Role chooseRole(Player player, Board board, GameModel model, String locationName) {
+        List<Role> available = new ArrayList<>();
+        for (Role role : model.getLocation(locationName).getRoles()) {
+            if (role.getRank() <= player.getRank() && !role.isOccupied()) {
+                available.add(role);
+            }
+        }
+        for (Role role : board.getLocationSceneCardRoles(locationName, model.getDeck())) {
+            if (role.getRank() <= player.getRank() && !role.isOccupied()) {
+                available.add(role);
+            }
+        }
+        if (available.isEmpty()) {
+            return null;
+        }
+        return available.get(random.nextInt(available.size()));
+    }
+
+}
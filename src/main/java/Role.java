@@ -2,6 +2,7 @@
  * Represents a Role with a name, rank, line, and indicator if it is on a Scene Card or at a Location.
  */
 public class Role {
+    private int id;
     private String name;
     private int rank;
     private Area area;
@@ -27,6 +28,37 @@ public class Role {
         this.occupied = false;
     }
 
+    /**
+     * Initializes a new unoccupied copy of the given Role.
+     *
+     * @param other The Role to copy.
+     */
+    public Role(Role other) {
+        this(other.name, other.rank, other.area, other.line, other.onCard);
+        this.id = other.id;
+    }
+
+    /**
+     * Returns the ID of the Role.
+     * <p>
+     * On card and off card Roles are numbered separately when they are
+     * parsed, so a Role is identified by its ID and whether it is on card.
+     *
+     * @return The ID of the Role.
+     */
+    public int getID() {
+        return this.id;
+    }
+
+    /**
+     * Sets the ID of the Role.
+     *
+     * @param id The ID assigned to the Role when it was parsed.
+     */
+    public void setID(int id) {
+        this.id = id;
+    }
+
     /**
      * Returns the name of the Role.
      *
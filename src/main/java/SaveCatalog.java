@@ -0,0 +1,441 @@
+import com.google.gson.stream.JsonReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps an index of the saved games so they can be listed without reading
+ * the saved games directory.
+ * <p>
+ * The catalog holds the name, time, day, number of players and size of
+ * every saved game, sorted by name, so listing a page or the names with a
+ * prefix only reads memory. The index is kept in the file .catalog in the
+ * saved games directory and read at startup. A background thread watches
+ * the directory with a WatchService and updates the entries of files that
+ * are added, changed or removed, and saves report their files right away.
+ * The index file is rewritten at most once per INDEX_WRITE_DELAY_MILLIS
+ * while it has changes.
+ * <p>
+ * At startup the thread checks every file against the index and reads the
+ * day and players only of files that are new or have changed, so a large
+ * directory is not parsed again.
+ */
+public class SaveCatalog {
+    public static final Path DIRECTORY = Paths.get("saved");
+
+    private static final String INDEX_NAME = ".catalog";
+    private static final String INDEX_HEADER = "# Deadwood saved game catalog 1";
+    private static final long INDEX_WRITE_DELAY_MILLIS = 1000;
+    private static final Pattern SAVE_NAME = Pattern.compile(
+        "[a-zA-Z0-9_-]+(" +
+        Pattern.quote(".json") + "|" +
+        Pattern.quote(Autosave.EXTENSION) + "|" +
+        Pattern.quote(GameSnapshot.EXTENSION) + "|" +
+        Pattern.quote(GameJournal.EXTENSION) + ")"
+    );
+
+    private static SaveCatalog instance;
+
+    private final Path directory;
+    private final ConcurrentSkipListMap<String, Entry> entries = new ConcurrentSkipListMap<>();
+    private final CountDownLatch ready = new CountDownLatch(1);
+    private final AtomicBoolean indexDirty = new AtomicBoolean(false);
+
+    /**
+     * A saved game in the catalog.
+     *
+     * @param name the file name of the saved game
+     * @param modified the time the file was last written, in milliseconds
+     * @param day the day of the saved game, or -1 if not known
+     * @param numPlayers the number of players, or -1 if not known
+     * @param size the size of the file in bytes
+     */
+    public record Entry(String name, long modified, int day, int numPlayers, long size) {
+
+        /**
+         * Returns the name the player types to load the saved game: the file
+         * name, without the extension for JSON saves.
+         *
+         * @return the name to load the saved game by
+         */
+        public String loadName() {
+            return name.endsWith(".json")
+                ? name.substring(0, name.length() - ".json".length())
+                : name;
+        }
+    }
+
+
+    /**
+     * Constructs a new SaveCatalog of a directory, reading its index and
+     * starting the thread that keeps it up to date.
+     *
+     * @param directory the saved games directory
+     */
+    private SaveCatalog(Path directory) {
+        this.directory = directory;
+        if (readIndex()) {
+            // Listings can use the index while the thread checks it
+            ready.countDown();
+        }
+        Thread watcher = new Thread(this::watch, "save-catalog");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * Returns the singleton instance of the SaveCatalog.
+     *
+     * @return the instance of the SaveCatalog
+     */
+    public static synchronized SaveCatalog getInstance() {
+        if (instance == null) {
+            instance = new SaveCatalog(DIRECTORY);
+        }
+        return instance;
+    }
+
+
+// ============================================================
+// Queries
+// ============================================================
+
+
+    /**
+     * Returns a page of the saved games whose names start with a prefix,
+     * sorted by name.
+     *
+     * @param prefix the start of the names, or "" for every saved game
+     * @param offset the number of matching saved games to skip
+     * @param limit the largest number of saved games to return
+     * @return the saved games
+     */
+    public List<Entry> list(String prefix, int offset, int limit) {
+        List<Entry> page = new ArrayList<>(Math.min(limit, 64));
+        int skipped = 0;
+        for (Entry entry : withPrefix(prefix).values()) {
+            if (page.size() >= limit) {
+                break;
+            }
+            if (skipped < offset) {
+                skipped++;
+            } else {
+                page.add(entry);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Returns the number of saved games whose names start with a prefix.
+     *
+     * @param prefix the start of the names, or "" for every saved game
+     * @return the number of saved games
+     */
+    public int count(String prefix) {
+        return withPrefix(prefix).size();
+    }
+
+    /**
+     * Returns the entries whose names start with a prefix, once the catalog
+     * has been read.
+     *
+     * @param prefix the start of the names
+     * @return the entries
+     */
+    private NavigableMap<String, Entry> withPrefix(String prefix) {
+        try {
+            ready.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            e.printStackTrace();
+        }
+        return prefix.isEmpty()
+            ? entries
+            : entries.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+
+// ============================================================
+// Updates
+// ============================================================
+
+
+    /**
+     * Records a game that has just been saved, so it is listed at once with
+     * its day and players.
+     *
+     * @param path the file of the saved game
+     * @param day the day of the saved game
+     * @param numPlayers the number of players
+     */
+    public void saved(Path path, int day, int numPlayers) {
+        String name = path.getFileName().toString();
+        Path parent = path.toAbsolutePath().getParent();
+        if (!SAVE_NAME.matcher(name).matches()
+                || !directory.toAbsolutePath().equals(parent)) {
+            return;
+        }
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            put(new Entry(
+                name,
+                attributes.lastModifiedTime().toMillis(),
+                day,
+                numPlayers,
+                attributes.size()
+            ));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Watches the directory and keeps the entries up to date, after checking
+     * the whole directory once.
+     */
+    private void watch() {
+        try (WatchService watcher = directory.getFileSystem().newWatchService()) {
+            Files.createDirectories(directory);
+            // Registered before the check, so no change is missed
+            directory.register(
+                watcher,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_DELETE,
+                StandardWatchEventKinds.ENTRY_MODIFY
+            );
+            checkAll();
+            ready.countDown();
+
+            long writeAt = 0;
+            while (true) {
+                WatchKey key;
+                if (!indexDirty.get()) {
+                    key = watcher.take();
+                } else {
+                    if (writeAt == 0) {
+                        writeAt = System.currentTimeMillis() + INDEX_WRITE_DELAY_MILLIS;
+                    }
+                    long wait = writeAt - System.currentTimeMillis();
+                    key = wait > 0 ? watcher.poll(wait, TimeUnit.MILLISECONDS) : null;
+                }
+                if (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            checkAll();
+                        } else {
+                            check(event.context().toString());
+                        }
+                    }
+                    if (!key.reset()) {
+                        // The directory was removed
+                        entries.clear();
+                        return;
+                    }
+                }
+                if (indexDirty.get() && writeAt != 0 && System.currentTimeMillis() >= writeAt) {
+                    writeIndex();
+                    writeAt = 0;
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        } catch (InterruptedException e) {
+            // Stop watching
+        } finally {
+            ready.countDown();
+        }
+    }
+
+    /**
+     * Checks every file in the directory against the entries and removes
+     * the entries of files that are gone.
+     *
+     * @throws IOException if the directory can not be read
+     */
+    private void checkAll() throws IOException {
+        Set<String> names = new HashSet<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (SAVE_NAME.matcher(name).matches()) {
+                    names.add(name);
+                    check(name);
+                }
+            }
+        }
+        if (entries.keySet().retainAll(names)) {
+            indexDirty.set(true);
+        }
+    }
+
+    /**
+     * Updates the entry of a file, reading its day and players only if the
+     * file is new or has changed.
+     *
+     * @param name the file name
+     */
+    private void check(String name) {
+        if (!SAVE_NAME.matcher(name).matches()) {
+            return;
+        }
+        Path path = directory.resolve(name);
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            // Removed
+            if (entries.remove(name) != null) {
+                indexDirty.set(true);
+            }
+            return;
+        }
+        long modified = attributes.lastModifiedTime().toMillis();
+        long size = attributes.size();
+        Entry old = entries.get(name);
+        if (old != null && old.modified() == modified && old.size() == size) {
+            return;
+        }
+        int[] dayAndPlayers = readDayAndPlayers(path, name);
+        put(new Entry(name, modified, dayAndPlayers[0], dayAndPlayers[1], size));
+    }
+
+    /**
+     * Adds or replaces an entry. The index file is only rewritten for a new
+     * entry or a new day or number of players, the time and size of the
+     * others are checked again at startup.
+     *
+     * @param entry the entry
+     */
+    private void put(Entry entry) {
+        Entry old = entries.put(entry.name(), entry);
+        if (old == null
+                || old.day() != entry.day()
+                || old.numPlayers() != entry.numPlayers()) {
+            indexDirty.set(true);
+        }
+    }
+
+    /**
+     * Reads the day and number of players of a saved game without loading
+     * it. Journals are not read, their day is only known by replaying them.
+     *
+     * @param path the file of the saved game
+     * @param name the file name
+     * @return the day and the number of players, -1 where not known
+     */
+    private static int[] readDayAndPlayers(Path path, String name) {
+        int[] dayAndPlayers = { -1, -1 };
+        try {
+            if (name.endsWith(GameSnapshot.EXTENSION)) {
+                int[] words = GameSnapshot.readWords(path);
+                dayAndPlayers[0] = GameState.dayOf(words);
+                dayAndPlayers[1] = GameState.numPlayersOf(words);
+            } else if (!name.endsWith(GameJournal.EXTENSION)) {
+                // Stop reading the JSON once both fields are found
+                try (JsonReader reader = new JsonReader(JsonUtil.openReader(path.toString()))) {
+                    reader.beginObject();
+                    while (reader.hasNext() && (dayAndPlayers[0] < 0 || dayAndPlayers[1] < 0)) {
+                        String field = reader.nextName();
+                        if (field.equals("currentDay")) {
+                            dayAndPlayers[0] = reader.nextInt();
+                        } else if (field.equals("numPlayers")) {
+                            dayAndPlayers[1] = reader.nextInt();
+                        } else {
+                            reader.skipValue();
+                        }
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Listed without a day and players
+            System.err.println("Error: could not read " + name + ": " + e.getMessage());
+        }
+        return dayAndPlayers;
+    }
+
+
+// ============================================================
+// Index File
+// ============================================================
+
+
+    /**
+     * Reads the index file into the entries.
+     *
+     * @return true if the index was read, false if there is none or it is
+     *         invalid
+     */
+    private boolean readIndex() {
+        Path path = directory.resolve(INDEX_NAME);
+        if (!Files.exists(path)) {
+            return false;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            if (!INDEX_HEADER.equals(reader.readLine())) {
+                return false;
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t");
+                entries.put(fields[0], new Entry(
+                    fields[0],
+                    Long.parseLong(fields[1]),
+                    Integer.parseInt(fields[2]),
+                    Integer.parseInt(fields[3]),
+                    Long.parseLong(fields[4])
+                ));
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            // Rebuilt from the directory
+            e.printStackTrace();
+            entries.clear();
+            return false;
+        }
+    }
+
+    /**
+     * Writes the entries to the index file, one tab separated line each.
+     */
+    private void writeIndex() {
+        indexDirty.set(false);
+        StringBuilder index = new StringBuilder(INDEX_HEADER).append('\n');
+        for (Entry entry : entries.values()) {
+            index.append(entry.name()).append('\t')
+                .append(entry.modified()).append('\t')
+                .append(entry.day()).append('\t')
+                .append(entry.numPlayers()).append('\t')
+                .append(entry.size()).append('\n');
+        }
+        try {
+            SaveService.writeAtomically(
+                index.toString().getBytes(StandardCharsets.UTF_8),
+                directory.resolve(INDEX_NAME)
+            );
+        } catch (IOException e) {
+            e.printStackTrace();
+            indexDirty.set(true);
+        }
+    }
+
+}
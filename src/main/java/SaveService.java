@@ -0,0 +1,239 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Writes saved games on a background thread.
+ * <p>
+ * A save takes a copy of the game in memory on the calling thread, so it
+ * holds the state at the moment of the save however the game goes on, and
+ * hands the bytes to a single writer thread. The writer puts them in a
+ * temporary file next to the save, syncs it and renames it over the save in
+ * one atomic step, so a save file is always either the old or the new game,
+ * never half written. Saves are written in the order they were made, and
+ * each one returns a future that completes with the file once it is on
+ * disk.
+ */
+public class SaveService {
+    private static SaveService instance;
+
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "save-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Writer thread only
+    private GameModel scratch;
+
+
+    /**
+     * Constructs a new SaveService.
+     */
+    private SaveService() {
+    }
+
+    /**
+     * Returns the singleton instance of the SaveService.
+     *
+     * @return the instance of the SaveService
+     */
+    public static synchronized SaveService getInstance() {
+        if (instance == null) {
+            instance = new SaveService();
+        }
+        return instance;
+    }
+
+
+// ============================================================
+// Saving
+// ============================================================
+
+
+    /**
+     * Saves a game as JSON. Only the state of the game is packed on the
+     * calling thread; the writer thread rebuilds it and serializes it.
+     *
+     * @param model the game model
+     * @param path the file to write
+     * @return a future completed with the file once it is written
+     */
+    public CompletableFuture<Path> saveJson(GameModel model, Path path) {
+        return saveState(model, path, false);
+    }
+
+    /**
+     * Saves a game as GZIP compressed JSON, packing it like saveJson.
+     *
+     * @param model the game model
+     * @param path the file to write
+     * @return a future completed with the file once it is written
+     */
+    public CompletableFuture<Path> saveGzipJson(GameModel model, Path path) {
+        return saveState(model, path, true);
+    }
+
+    /**
+     * Saves a game as a binary snapshot.
+     *
+     * @param model the game model
+     * @param path the file to write
+     * @return a future completed with the file once it is written
+     */
+    public CompletableFuture<Path> saveSnapshot(GameModel model, Path path) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            GameSnapshot.write(model, Channels.newChannel(out));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return save(out.toByteArray(), path);
+    }
+
+    /**
+     * Writes the bytes of a saved game on the writer thread.
+     *
+     * @param data the bytes of the saved game, not changed afterwards
+     * @param path the file to write
+     * @return a future completed with the file once it is written
+     */
+    public CompletableFuture<Path> save(byte[] data, Path path) {
+        return save(() -> data, path);
+    }
+
+    /**
+     * Encodes a saved game and writes it, both on the writer thread. The
+     * encoder must work from a copy of the game, not the live model.
+     *
+     * @param encoder returns the bytes of the saved game
+     * @param path the file to write
+     * @return a future completed with the file once it is written
+     */
+    public CompletableFuture<Path> save(Callable<byte[]> encoder, Path path) {
+        CompletableFuture<Path> saved = new CompletableFuture<>();
+        writer.execute(() -> {
+            try {
+                writeAtomically(encoder.call(), path);
+                saved.complete(path);
+            } catch (Exception e) {
+                saved.completeExceptionally(e);
+            }
+        });
+        return saved;
+    }
+
+    /**
+     * Packs the state words of a game and hands them to the writer thread,
+     * which rebuilds the game and serializes it as JSON.
+     *
+     * @param model the game model
+     * @param path the file to write
+     * @param compress true to GZIP compress the JSON
+     * @return a future completed with the file once it is written
+     */
+    private CompletableFuture<Path> saveState(GameModel model, Path path, boolean compress) {
+        GameRules rules = model.getRules();
+        GameState state = GameState.fromModel(model, rules);
+        long seed = model.getSeed();
+        String boardXMLFilePath = model.getBoardXMLFilePath();
+        String cardsXMLFilePath = model.getCardsXMLFilePath();
+        return save(() -> {
+            GameModel copy = rebuild(state, rules, seed, boardXMLFilePath, cardsXMLFilePath);
+            return compress
+                ? JsonUtil.toGzipJson(copy)
+                : JsonUtil.toJson(copy).getBytes(StandardCharsets.UTF_8);
+        }, path);
+    }
+
+    /**
+     * Rebuilds a game from its state in the writer thread's own model.
+     *
+     * @param state the state of the game
+     * @param rules the rules of the game
+     * @param seed the seed of the game
+     * @param boardXMLFilePath the board XML file of the game
+     * @param cardsXMLFilePath the cards XML file of the game
+     * @return the writer thread's model, holding the game
+     */
+    private GameModel rebuild(
+        GameState state,
+        GameRules rules,
+        long seed,
+        String boardXMLFilePath,
+        String cardsXMLFilePath
+    ) {
+        if (scratch == null
+                || scratch.getNumPlayers() != state.getNumPlayers()
+                || !boardXMLFilePath.equals(scratch.getBoardXMLFilePath())
+                || !cardsXMLFilePath.equals(scratch.getCardsXMLFilePath())) {
+            scratch = new GameModel(seed);
+            scratch.initModel(state.getNumPlayers(), boardXMLFilePath, cardsXMLFilePath);
+        }
+        state.toModel(scratch, rules);
+        scratch.setSeed(seed);
+        return scratch;
+    }
+
+    /**
+     * Waits until every save made so far is written, for example before
+     * loading a game or exiting.
+     */
+    public void awaitPending() {
+        try {
+            writer.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            e.printStackTrace();
+        } catch (ExecutionException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Writes a file through a synced temporary file in the same directory
+     * that is then renamed over it.
+     *
+     * @param data the bytes to write
+     * @param path the file to write
+     * @throws IOException if an I/O error occurs
+     */
+    static void writeAtomically(byte[] data, Path path) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, path,
+                    StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            // Only left if the write or the rename failed
+            Files.deleteIfExists(temp);
+        }
+    }
+
+}
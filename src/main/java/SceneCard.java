@@ -31,6 +31,29 @@ public class SceneCard {
         this.roles = roles;
     }
 
+    /**
+     * Initializes a new copy of the given SceneCard with unoccupied roles.
+     *
+     * @param other The SceneCard to copy.
+     */
+    public SceneCard(SceneCard other) {
+        this(other.title, other.image, other.budget, other.id, other.desc, copyRoles(other.roles));
+    }
+
+    /**
+     * Returns unoccupied copies of the given roles.
+     *
+     * @param roles The roles to copy.
+     * @return The copied roles.
+     */
+    private static List<Role> copyRoles(List<Role> roles) {
+        List<Role> copies = new ArrayList<>(roles.size());
+        for (Role role : roles) {
+            copies.add(new Role(role));
+        }
+        return copies;
+    }
+
     /**
      * Returns the title of the SceneCard.
      *
@@ -0,0 +1,129 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import javafx.scene.Group;
+import javafx.scene.Node;
+
+/**
+ * Collects changes to the children of a Group and applies them together.
+ * <p>
+ * Adding, removing or raising a child of a Group one node at a time fires a
+ * change on the children list and invalidates the scene each time. The
+ * transaction stages the changes instead and commit applies the final list
+ * of children with a single setAll, so a burst such as the end of a day
+ * reaches the scene graph in one pulse. A commit that only raises nodes
+ * moves each of them with Node.toFront instead of replacing every child.
+ * <p>
+ * Every change to the children of the group goes through the transaction,
+ * so a commit never undoes a change made to the group directly.
+ */
+public class SceneGraphTransaction {
+    private final Group group;
+    private final Set<Node> added = new LinkedHashSet<>();
+    private final Set<Node> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<Node> raised = new LinkedHashSet<>();
+
+    /**
+     * Constructs a new transaction on the children of a group.
+     *
+     * @param group the group whose children are changed
+     */
+    public SceneGraphTransaction(Group group) {
+        this.group = group;
+    }
+
+    /**
+     * Stages a node to be added on top of the group.
+     *
+     * @param node the node to add
+     */
+    public void add(Node node) {
+        removed.remove(node);
+        added.add(node);
+    }
+
+    /**
+     * Stages nodes to be added on top of the group, in order.
+     *
+     * @param nodes the nodes to add
+     */
+    public void addAll(Node... nodes) {
+        for (Node node : nodes) {
+            add(node);
+        }
+    }
+
+    /**
+     * Stages a node to be removed from the group.
+     *
+     * @param node the node to remove
+     */
+    public void remove(Node node) {
+        // A node added in this transaction is simply never added
+        if (!added.remove(node)) {
+            removed.add(node);
+        }
+        raised.remove(node);
+    }
+
+    /**
+     * Stages nodes to be removed from the group.
+     *
+     * @param nodes the nodes to remove
+     */
+    public void removeAll(Iterable<? extends Node> nodes) {
+        for (Node node : nodes) {
+            remove(node);
+        }
+    }
+
+    /**
+     * Stages a node to be brought to the front of the group.
+     *
+     * @param node the node to raise
+     */
+    public void toFront(Node node) {
+        raised.remove(node);
+        raised.add(node);
+    }
+
+    /**
+     * Applies every staged change to the group in one update of its
+     * children.
+     */
+    public void commit() {
+        if (added.isEmpty() && removed.isEmpty()) {
+            // Raising a few nodes should not replace every child
+            for (Node node : raised) {
+                if (node.getParent() == group) {
+                    node.toFront();
+                }
+            }
+            raised.clear();
+            return;
+        }
+        List<Node> current = group.getChildren();
+        List<Node> children = new ArrayList<>(current.size() + added.size());
+        for (Node node : current) {
+            if (!removed.contains(node) && !added.contains(node) && !raised.contains(node)) {
+                children.add(node);
+            }
+        }
+        children.addAll(added);
+        for (Node node : raised) {
+            if (current.contains(node) || added.contains(node)) {
+                // Raised nodes go last, above any node added with them
+                children.remove(node);
+                children.add(node);
+            }
+        }
+        added.clear();
+        removed.clear();
+        raised.clear();
+        group.getChildren().setAll(children);
+    }
+
+}
@@ -1,6 +1,5 @@
 import java.util.ArrayList;
 import java.util.List;
-import javafx.scene.Group;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 
@@ -24,23 +23,17 @@ public class ShotManager {
      */
     public ShotManager(int BOARD_OFFSET_X) {
         this.BOARD_OFFSET_X = BOARD_OFFSET_X;
-        // Load the shot.png image from the resources folder
-        Image tempImage = null;
-        try {
-            tempImage = new Image(getClass().getResourceAsStream("shot.png"));
-        } catch (Exception e) {
-            System.out.println("Error loading shot.png: " + e.getMessage());
-        }
-        shotImage = tempImage;
+        // Get the shot.png image from the image cache
+        shotImage = ImageCache.getInstance().get("shot.png");
     }
 
     /**
      * Places a shot image at the location of the given area.
      * 
-     * @param group The group to which the shot image is added.
+     * @param transaction The scene graph transaction that adds the shot image.
      * @param area  The area where the image is placed.
      */
-    public void placeShotImage(Group group, Area area) {
+    public void placeShotImage(SceneGraphTransaction transaction, Area area) {
         if (shotImage == null) {
             System.out.println("Shot image not loaded.");
             return;
@@ -57,8 +50,8 @@ public class ShotManager {
         shotImageView.setLayoutX(shotX);
         shotImageView.setLayoutY(shotY);
 
-        // Add the shot image to the group
-        group.getChildren().add(shotImageView);
+        // Add the shot image to the board
+        transaction.add(shotImageView);
 
         // Store the ImageView in the list
         shotImageViews.add(shotImageView);
@@ -66,11 +59,11 @@ public class ShotManager {
     
     /**
      * Clears all shot counters from the board.
+     * 
+     * @param transaction the scene graph transaction that removes the shots
      */
-    public void clearShotCounters(Group group) {
-        for (ImageView shotImageView : shotImageViews) {
-            group.getChildren().remove(shotImageView);
-        }
+    public void clearShotCounters(SceneGraphTransaction transaction) {
+        transaction.removeAll(shotImageViews);
         shotImageViews.clear();
     }
 
@@ -0,0 +1,135 @@
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Represents a headless engine that plays complete Deadwood games.
+ * <p>
+ * Each game is driven by the regular GameController with a HeadlessGameView,
+ * so every player decision comes from a PlayerPolicy instead of the console.
+ * Every game gets its own GameContext, so playGame can be called from many
+ * threads at once.
+ */
+public class SimulationEngine {
+    private final int numPlayers;
+    private final String boardXMLFilePath;
+    private final String cardsXMLFilePath;
+
+
+    /**
+     * Constructs a new SimulationEngine.
+     *
+     * @param numPlayers the number of players in each game
+     * @param boardXMLFilePath the file path to the board XML file
+     * @param cardsXMLFilePath the file path to the cards XML file
+     */
+    public SimulationEngine(
+        int numPlayers,
+        String boardXMLFilePath,
+        String cardsXMLFilePath
+    ) {
+        this.numPlayers = numPlayers;
+        this.boardXMLFilePath = boardXMLFilePath;
+        this.cardsXMLFilePath = cardsXMLFilePath;
+    }
+
+    /**
+     * Plays one complete game with random policies.
+     *
+     * @param seed the seed of the game
+     * @return the final scores indexed by player ID - 1
+     */
+    public int[] playGame(long seed) {
+        return scores(playSeededGame(seed).getModel());
+    }
+
+    /**
+     * Plays one complete game with random policies and returns it, so a
+     * caller can read more than the scores from the finished game.
+     * <p>
+     * The model and the policy draw from separate generators split from the
+     * seed, so the same seed always plays the same game.
+     *
+     * @param seed the seed of the game
+     * @return the context of the finished game, whose view is the
+     *         HeadlessGameView that played it
+     */
+    public GameContext playSeededGame(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        GameModel model = new GameModel(random.nextLong());
+        return playGame(model, new RandomPlayerPolicy(random.nextLong()));
+    }
+
+    /**
+     * Plays one complete game with the given policy.
+     *
+     * @param policy the policy that decides for every player
+     * @return the final scores indexed by player ID - 1
+     */
+    public int[] playGame(PlayerPolicy policy) {
+        return scores(playGame(new GameModel(), policy).getModel());
+    }
+
+    /**
+     * Plays one complete game on the given model with the given policy.
+     *
+     * @param model the model to play the game on
+     * @param policy the policy that decides for every player
+     * @return the context of the finished game
+     */
+    private GameContext playGame(GameModel model, PlayerPolicy policy) {
+        GameContext context = new GameContext(
+            model,
+            new HeadlessGameView(numPlayers, policy, model)
+        );
+        context.initializeGame(boardXMLFilePath, cardsXMLFilePath);
+        context.playGame();
+        return context;
+    }
+
+    /**
+     * Returns the scores of a finished game.
+     *
+     * @param model the model of the game
+     * @return the final scores indexed by player ID - 1
+     */
+    private static int[] scores(GameModel model) {
+        List<Player> players = model.getPlayers();
+        int[] scores = new int[players.size()];
+        for (Player player : players) {
+            scores[player.getID() - 1] = player.getScore();
+        }
+        return scores;
+    }
+
+    /**
+     * Plays the given number of games with random policies and prints the
+     * win counts and the throughput.
+     *
+     * @param numGames the number of games to play
+     * @param seed the seed of the first game
+     */
+    public void run(int numGames, long seed) {
+        int[] wins = new int[numPlayers];
+        long start = System.nanoTime();
+        for (int i = 0; i < numGames; i++) {
+            int[] scores = playGame(seed + i);
+            int highestScore = Integer.MIN_VALUE;
+            for (int score : scores) {
+                highestScore = Math.max(highestScore, score);
+            }
+            for (int p = 0; p < numPlayers; p++) {
+                if (scores[p] == highestScore) {
+                    wins[p]++;
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Played %d games with %d players in %.2f s (%.0f games/sec)%n",
+                          numGames, numPlayers, seconds, numGames / seconds);
+        for (int p = 0; p < numPlayers; p++) {
+            System.out.printf("Player %d wins: %d%n", p + 1, wins[p]);
+        }
+    }
+
+}
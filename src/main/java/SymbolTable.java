@@ -0,0 +1,64 @@
+import java.util.*;
+
+/**
+ * Represents the dense integer IDs of the locations on a board.
+ * <p>
+ * Location IDs are assigned in XML order when the board is parsed, so the
+ * Board can keep its state in int arrays indexed by location ID instead of
+ * maps keyed by location name. Role IDs are assigned at parse time as well
+ * and live on the Role objects themselves, since role names are not unique.
+ */
+public class SymbolTable {
+    // Marks a player without a role or a location without a scene card
+    public static final int NONE = -1;
+
+    private final String[] locationNames;
+    private final Map<String, Integer> locationIDs;
+
+
+    /**
+     * Constructs a new SymbolTable from locations whose IDs are already
+     * assigned.
+     *
+     * @param locations the locations of the board
+     */
+    public SymbolTable(Collection<Location> locations) {
+        this.locationNames = new String[locations.size()];
+        this.locationIDs = new HashMap<>();
+        for (Location location : locations) {
+            this.locationNames[location.getID()] = location.getName();
+            this.locationIDs.put(location.getName(), location.getID());
+        }
+    }
+
+    /**
+     * Returns the ID of the location with the given name.
+     *
+     * @param locationName the name of the location
+     * @return the ID of the location, or NONE if there is no such location
+     */
+    public int getLocationID(String locationName) {
+        Integer id = this.locationIDs.get(locationName);
+        return id == null ? NONE : id;
+    }
+
+    /**
+     * Returns the name of the location with the given ID.
+     *
+     * @param locationID the ID of the location
+     * @return the name of the location
+     */
+    public String getLocationName(int locationID) {
+        return this.locationNames[locationID];
+    }
+
+    /**
+     * Returns the number of locations on the board.
+     *
+     * @return the number of locations
+     */
+    public int getNumLocations() {
+        return this.locationNames.length;
+    }
+
+}
@@ -17,6 +17,15 @@ public class Take {
         this.area = area;
     }
 
+    /**
+     * Initializes a new unwrapped copy of the given Take.
+     *
+     * @param other The Take to copy.
+     */
+    public Take(Take other) {
+        this(other.number, other.area);
+    }
+
     /**
      * Returns the number of the Take.
      * 
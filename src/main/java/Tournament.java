@@ -0,0 +1,164 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Represents a Monte-Carlo tournament that plays many seeded headless games
+ * in parallel.
+ * <p>
+ * The range of games is split in half recursively on a ForkJoinPool until a
+ * range is small enough to play on one thread. Each game has its own
+ * GameContext and each range has its own TournamentResult, so the workers
+ * share nothing but the cached XML data and the results are merged as the
+ * tasks join.
+ */
+public class Tournament {
+    // Number of games below which a range is played instead of split
+    private static final int GAMES_PER_TASK = 8;
+    // Odd constant that spreads consecutive game indexes over the seed space
+    private static final long SEED_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final int numPlayers;
+    private final SimulationEngine engine;
+    private final ForkJoinPool pool;
+
+
+    /**
+     * Constructs a new Tournament that uses every available core.
+     *
+     * @param numPlayers the number of players in each game
+     * @param boardXMLFilePath the file path to the board XML file
+     * @param cardsXMLFilePath the file path to the cards XML file
+     */
+    public Tournament(
+        int numPlayers,
+        String boardXMLFilePath,
+        String cardsXMLFilePath
+    ) {
+        this(
+            numPlayers,
+            boardXMLFilePath,
+            cardsXMLFilePath,
+            Runtime.getRuntime().availableProcessors()
+        );
+    }
+
+    /**
+     * Constructs a new Tournament with the given number of worker threads.
+     *
+     * @param numPlayers the number of players in each game
+     * @param boardXMLFilePath the file path to the board XML file
+     * @param cardsXMLFilePath the file path to the cards XML file
+     * @param parallelism the number of worker threads
+     */
+    public Tournament(
+        int numPlayers,
+        String boardXMLFilePath,
+        String cardsXMLFilePath,
+        int parallelism
+    ) {
+        this.numPlayers = numPlayers;
+        this.engine = new SimulationEngine(numPlayers, boardXMLFilePath, cardsXMLFilePath);
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Plays the given number of games and merges their statistics.
+     * <p>
+     * Game i is played with the seed returned by gameSeed, so any single game
+     * of a tournament can be played again on its own.
+     *
+     * @param numGames the number of games to play
+     * @param seed the seed of the tournament
+     * @return the merged statistics of every game
+     */
+    public TournamentResult run(int numGames, long seed) {
+        long start = System.nanoTime();
+        TournamentResult result = pool.invoke(new GamesTask(0, numGames, seed));
+        result.setElapsedNanos(System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Shuts down the worker threads.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Returns the seed of one game of a tournament.
+     *
+     * @param seed the seed of the tournament
+     * @param game the index of the game
+     * @return the seed of the game
+     */
+    public static long gameSeed(long seed, int game) {
+        return seed + game * SEED_GAMMA;
+    }
+
+    /**
+     * Plays one game and adds its statistics to the result.
+     * <p>
+     * The game is the one SimulationEngine plays for the seed, so a game of
+     * a tournament can be played again with the simulation engine.
+     *
+     * @param seed the seed of the game
+     * @param result the result to add the game to
+     */
+    private void playGame(long seed, TournamentResult result) {
+        GameContext game = engine.playSeededGame(seed);
+        result.addGame(game.getModel(), (HeadlessGameView) game.getView());
+    }
+
+
+// ============================================================
+// Fork-Join Task
+// ============================================================
+
+
+    /**
+     * Plays the games in [from, to), splitting the range while it is large.
+     */
+    private class GamesTask extends RecursiveTask<TournamentResult> {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final long seed;
+
+        /**
+         * Constructs a new GamesTask.
+         *
+         * @param from the index of the first game
+         * @param to the index after the last game
+         * @param seed the seed of the tournament
+         */
+        GamesTask(int from, int to, long seed) {
+            this.from = from;
+            this.to = to;
+            this.seed = seed;
+        }
+
+        /**
+         * Plays the range of games or splits it in half.
+         *
+         * @return the statistics of the range
+         */
+        @Override
+        protected TournamentResult compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                TournamentResult result = new TournamentResult(numPlayers);
+                for (int game = from; game < to; game++) {
+                    playGame(gameSeed(seed, game), result);
+                }
+                return result;
+            }
+            int middle = (from + to) >>> 1;
+            GamesTask left = new GamesTask(from, middle, seed);
+            left.fork();
+            TournamentResult right = new GamesTask(middle, to, seed).compute();
+            return left.join().merge(right);
+        }
+    }
+
+}
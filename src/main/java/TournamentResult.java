@@ -0,0 +1,173 @@
+import java.util.List;
+
+/**
+ * Represents the merged per-player statistics of a set of simulated games.
+ * <p>
+ * Each fork-join task fills its own result and the results are merged as the
+ * tasks join, so no result is ever shared between threads while it is being
+ * updated.
+ */
+public class TournamentResult {
+    private final int numPlayers;
+    private int games = 0;
+    private long days = 0;
+    private long elapsedNanos = 0;
+    // Totals indexed by player ID - 1
+    private final long[] scores;
+    private final long[] wins;
+    private final long[] wraps;
+    private final long[] upgrades;
+
+
+    /**
+     * Constructs a new empty TournamentResult.
+     *
+     * @param numPlayers the number of players in each game
+     */
+    public TournamentResult(int numPlayers) {
+        this.numPlayers = numPlayers;
+        this.scores = new long[numPlayers];
+        this.wins = new long[numPlayers];
+        this.wraps = new long[numPlayers];
+        this.upgrades = new long[numPlayers];
+    }
+
+    /**
+     * Adds the statistics of one finished game.
+     * <p>
+     * Every player tied for the highest score is counted as a winner.
+     *
+     * @param model the model of the finished game
+     * @param view the headless view that played the game
+     */
+    public void addGame(GameModel model, HeadlessGameView view) {
+        List<Player> players = model.getPlayers();
+        int highestScore = Integer.MIN_VALUE;
+        for (Player player : players) {
+            highestScore = Math.max(highestScore, player.getScore());
+        }
+        for (Player player : players) {
+            int index = player.getID() - 1;
+            scores[index] += player.getScore();
+            wraps[index] += view.getWraps(player.getID());
+            upgrades[index] += view.getUpgrades(player.getID());
+            if (player.getScore() == highestScore) {
+                wins[index]++;
+            }
+        }
+        // Once the game is over the day is one past the last day played
+        days += model.getDay() - 1;
+        games++;
+    }
+
+    /**
+     * Adds the statistics of another result to this one.
+     *
+     * @param other the result to merge
+     * @return this result
+     */
+    public TournamentResult merge(TournamentResult other) {
+        for (int p = 0; p < numPlayers; p++) {
+            scores[p] += other.scores[p];
+            wins[p] += other.wins[p];
+            wraps[p] += other.wraps[p];
+            upgrades[p] += other.upgrades[p];
+        }
+        days += other.days;
+        games += other.games;
+        return this;
+    }
+
+    /**
+     * Sets the wall clock time it took to play every game.
+     *
+     * @param elapsedNanos the elapsed time in nanoseconds
+     */
+    public void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the number of games played.
+     *
+     * @return the number of games
+     */
+    public int getGames() {
+        return this.games;
+    }
+
+    /**
+     * Returns the number of games played per second of wall clock time.
+     *
+     * @return the throughput in games per second
+     */
+    public double getGamesPerSecond() {
+        return this.elapsedNanos == 0 ? 0 : this.games / (this.elapsedNanos / 1e9);
+    }
+
+    /**
+     * Returns the total score of the player over every game.
+     *
+     * @param playerID the ID of the player
+     * @return the total score
+     */
+    public long getTotalScore(int playerID) {
+        return this.scores[playerID - 1];
+    }
+
+    /**
+     * Returns the number of games the player won or tied for the win.
+     *
+     * @param playerID the ID of the player
+     * @return the number of wins
+     */
+    public long getWins(int playerID) {
+        return this.wins[playerID - 1];
+    }
+
+    /**
+     * Returns the number of wrapped scenes the player worked on.
+     *
+     * @param playerID the ID of the player
+     * @return the number of wraps
+     */
+    public long getWraps(int playerID) {
+        return this.wraps[playerID - 1];
+    }
+
+    /**
+     * Returns the number of times the player upgraded.
+     *
+     * @param playerID the ID of the player
+     * @return the number of upgrades
+     */
+    public long getUpgrades(int playerID) {
+        return this.upgrades[playerID - 1];
+    }
+
+    /**
+     * Returns the total number of days played over every game.
+     *
+     * @return the number of days
+     */
+    public long getDays() {
+        return this.days;
+    }
+
+    /**
+     * Prints the throughput and the per-player averages.
+     */
+    public void printSummary() {
+        System.out.printf("Played %d games with %d players in %.2f s (%.0f games/sec)%n",
+                          games, numPlayers, elapsedNanos / 1e9, getGamesPerSecond());
+        double perGame = Math.max(games, 1);
+        System.out.printf("Average days per game: %.2f%n", days / perGame);
+        System.out.println("Player   Wins   Avg score   Avg wraps   Avg upgrades");
+        for (int p = 0; p < numPlayers; p++) {
+            System.out.printf("%6d %6d %11.2f %11.2f %14.2f%n",
+                              p + 1, wins[p], scores[p] / perGame,
+                              wraps[p] / perGame, upgrades[p] / perGame);
+        }
+    }
+
+}
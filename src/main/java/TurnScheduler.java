@@ -0,0 +1,181 @@
+/**
+ * Represents the game flow as an explicit state machine of day, turn and
+ * action phases.
+ * <p>
+ * Each call to step advances the game by one phase, so a whole game runs in
+ * a loop in constant stack space no matter how many turns it takes. A
+ * driver can step the game one phase at a time, or run it until it is over
+ * or paused. pause may be called from another thread; the scheduler stops
+ * at the next phase boundary and resume carries on from there.
+ */
+public class TurnScheduler {
+
+    /**
+     * The phases of the game, in the order they normally follow each other.
+     */
+    public enum Phase {
+        // Announce the day
+        START_DAY,
+        // Reset the current player's turn flags and make them active
+        START_TURN,
+        // Read and process one command of the current player
+        AWAIT_ACTION,
+        // Deactivate the player and pass the turn on
+        END_TURN,
+        // Reset the board for the next day and move to the next day
+        END_DAY,
+        // Every day has been played
+        GAME_OVER
+    }
+
+    private final GameController controller;
+    private final GameModel model;
+    private Phase phase;
+    private Player turnPlayer;
+    private volatile boolean paused;
+
+
+    /**
+     * Constructs a new TurnScheduler at the start of the current day.
+     *
+     * @param controller the controller that carries out each phase
+     * @param model the game model
+     */
+    public TurnScheduler(GameController controller, GameModel model) {
+        this.controller = controller;
+        this.model = model;
+        this.phase = model.getDay() > model.getNumDays()
+            ? Phase.GAME_OVER
+            : Phase.START_DAY;
+    }
+
+
+// ============================================================
+// Driving
+// ============================================================
+
+
+    /**
+     * Advances the game by one phase.
+     *
+     * @return true if there is more to play, false once the game is over
+     */
+    public boolean step() {
+        switch (phase) {
+            case START_DAY:
+                controller.startDay();
+                phase = nextTurnOrEndDay();
+                break;
+            case START_TURN:
+                turnPlayer = controller.startTurn(model.getCurrentPlayer());
+                controller.recordJournal("START_TURN");
+                phase = Phase.AWAIT_ACTION;
+                break;
+            case AWAIT_ACTION:
+                if (controller.processCommand(turnPlayer)) {
+                    phase = Phase.END_TURN;
+                } else {
+                    // A load replaces the players, continue with the one who
+                    // was active in the save
+                    turnPlayer = model.getActivePlayer();
+                }
+                break;
+            case END_TURN:
+                turnPlayer.setActive(false);
+                turnPlayer = null;
+                model.setNextPlayerToCurrentPlayer();
+                controller.recordJournal("END_TURN");
+                phase = nextTurnOrEndDay();
+                break;
+            case END_DAY:
+                // The deck only holds enough cards to deal every day once
+                if (model.getDay() < model.getNumDays()) {
+                    controller.endDay();
+                }
+                model.incrementDay();
+                controller.autosaveAfterEndDay();
+                phase = model.getDay() > model.getNumDays()
+                    ? Phase.GAME_OVER
+                    : Phase.START_DAY;
+                break;
+            case GAME_OVER:
+                break;
+        }
+        return phase != Phase.GAME_OVER;
+    }
+
+    /**
+     * Steps the game until it is over or paused.
+     *
+     * @return true if the game is over, false if it was paused
+     */
+    public boolean run() {
+        while (!paused && step()) {
+            // Keep stepping
+        }
+        return phase == Phase.GAME_OVER;
+    }
+
+    /**
+     * Asks a running scheduler to stop at the next phase boundary.
+     */
+    public void pause() {
+        this.paused = true;
+    }
+
+    /**
+     * Clears a pause and runs the game until it is over or paused again.
+     *
+     * @return true if the game is over, false if it was paused
+     */
+    public boolean resume() {
+        this.paused = false;
+        return run();
+    }
+
+
+// ============================================================
+// State
+// ============================================================
+
+
+    /**
+     * Returns the phase the next call to step will carry out.
+     *
+     * @return the current phase
+     */
+    public Phase getPhase() {
+        return this.phase;
+    }
+
+    /**
+     * Returns whether the scheduler has been asked to pause.
+     *
+     * @return true if paused, false otherwise
+     */
+    public boolean isPaused() {
+        return this.paused;
+    }
+
+    /**
+     * Returns the player whose turn is in progress.
+     *
+     * @return the player, or null between turns
+     */
+    public Player getTurnPlayer() {
+        return this.turnPlayer;
+    }
+
+    /**
+     * Returns the phase after a turn or at the start of a day: another turn
+     * while more than one scene is left, otherwise the end of the day.
+     *
+     * @return the next phase
+     */
+    private Phase nextTurnOrEndDay() {
+        return model.getBoard().getNumScenesRemaining() > 1
+            ? Phase.START_TURN
+            : Phase.END_DAY;
+    }
+
+}
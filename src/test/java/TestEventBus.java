@@ -0,0 +1,240 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests an EventBus that delivers on a single thread executor, the way the
+ * GUI delivers on the FX thread.
+ * <p>
+ * Events are HighlightPlayerRow events whose player ID packs the publishing
+ * thread and a sequence number, so a subscriber can tell which frame and
+ * which publisher each event came from.
+ */
+public class TestEventBus {
+    private static final int NUM_THREADS = 4;
+    private static final int FRAMES_PER_THREAD = 5000;
+    private static final int BATCH_SIZE = 3;
+    private static final int SEQUENCE_LIMIT = 1_000_000;
+    private static final long TIMEOUT_SECONDS = 30;
+
+    private ExecutorService executor;
+    private volatile Thread executorThread;
+
+
+// ============================================================
+// Frames
+// ============================================================
+
+
+    /**
+     * Frames published by several threads onto a queue of one frame arrive
+     * whole and in the order each thread published them.
+     */
+    @Test
+    public void testFramesArriveWholeAndInOrder() throws Exception {
+        EventBus bus = newBus(1);
+        try {
+            List<Integer> frame = new ArrayList<>();
+            List<String> errors = Collections.synchronizedList(new ArrayList<>());
+            int[] lastSequence = new int[NUM_THREADS];
+            int[] numFrames = {0};
+            bus.subscribe(GameEvent.HighlightPlayerRow.class, e -> {
+                frame.add(e.playerID());
+            });
+            bus.onFrame(() -> {
+                numFrames[0]++;
+                if (!isWhole(frame)) {
+                    errors.add("Mixed frame " + frame);
+                } else {
+                    int thread = frame.get(0) / SEQUENCE_LIMIT;
+                    int sequence = frame.get(0) % SEQUENCE_LIMIT;
+                    if (sequence <= lastSequence[thread]) {
+                        errors.add("Frame " + sequence + " of thread " + thread
+                            + " after " + lastSequence[thread]);
+                    }
+                    lastSequence[thread] = sequence;
+                }
+                frame.clear();
+            });
+
+            Thread[] threads = new Thread[NUM_THREADS];
+            for (int t = 0; t < NUM_THREADS; t++) {
+                int thread = t;
+                threads[t] = new Thread(() -> publishFrames(bus, thread));
+                threads[t].start();
+            }
+            for (Thread thread : threads) {
+                thread.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+                assertTrue(!thread.isAlive(), "Publisher blocked");
+            }
+            awaitDelivery();
+
+            assertEquals(List.of(), errors);
+            assertEquals(NUM_THREADS * FRAMES_PER_THREAD, numFrames[0]);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * The executor's thread publishes more frames than the queue holds
+     * without waiting, and they are delivered in order.
+     */
+    @Test
+    public void testExecutorThreadNeverBlocks() throws Exception {
+        EventBus bus = newBus(1);
+        try {
+            List<Integer> delivered = Collections.synchronizedList(new ArrayList<>());
+            bus.subscribe(GameEvent.HighlightPlayerRow.class, e -> {
+                delivered.add(e.playerID());
+            });
+            executor.submit(() -> {
+                // Another thread fills the queue while this one delivers
+                Thread publisher = new Thread(() -> {
+                    bus.publish(new GameEvent.HighlightPlayerRow(0));
+                });
+                publisher.start();
+                publisher.join();
+                for (int i = 1; i <= 10; i++) {
+                    bus.publish(new GameEvent.HighlightPlayerRow(i));
+                }
+                return null;
+            }).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            awaitDelivery();
+
+            assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10), delivered);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * A frame published by a subscriber is delivered after the frame being
+     * delivered, not inside it, and before the executor's next frame.
+     */
+    @Test
+    public void testFramePublishedBySubscriberFollowsCurrentFrame() throws Exception {
+        EventBus bus = newBus(4);
+        try {
+            List<String> delivered = Collections.synchronizedList(new ArrayList<>());
+            bus.subscribe(GameEvent.HighlightPlayerRow.class, e -> {
+                delivered.add("row " + e.playerID());
+                if (e.playerID() == 1) {
+                    bus.beginBatch();
+                    bus.publish(new GameEvent.PlayerUpgrade(1));
+                    bus.publish(new GameEvent.PlayerUpgrade(2));
+                    bus.endBatch();
+                }
+            });
+            bus.subscribe(GameEvent.PlayerUpgrade.class, e -> {
+                delivered.add("upgrade " + e.playerID());
+            });
+            bus.onFrame(() -> delivered.add("end"));
+
+            executor.submit(() -> {
+                bus.beginBatch();
+                bus.publish(new GameEvent.HighlightPlayerRow(1));
+                bus.publish(new GameEvent.HighlightPlayerRow(2));
+                bus.endBatch();
+                bus.publish(new GameEvent.HighlightPlayerRow(3));
+            }).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+            assertEquals(List.of(
+                "row 1", "row 2", "end",
+                "upgrade 1", "upgrade 2", "end",
+                "row 3", "end"
+            ), delivered);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+
+// ============================================================
+// Helpers
+// ============================================================
+
+
+    /**
+     * Creates a bus delivering on a new single thread executor.
+     *
+     * @param capacity the number of frames that may wait for delivery
+     * @return the bus
+     */
+    private EventBus newBus(int capacity) {
+        executor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "event-bus-test");
+            thread.setDaemon(true);
+            executorThread = thread;
+            return thread;
+        });
+        return new EventBus(
+            executor,
+            capacity,
+            () -> Thread.currentThread() == executorThread
+        );
+    }
+
+    /**
+     * Publishes single events and batches in turn, numbered in order.
+     *
+     * @param bus the bus
+     * @param thread the number of the publishing thread
+     */
+    private static void publishFrames(EventBus bus, int thread) {
+        for (int i = 1; i <= FRAMES_PER_THREAD; i++) {
+            int id = thread * SEQUENCE_LIMIT + i;
+            // The batch is shared by every thread, so a publish while
+            // another thread batches would join its frame
+            synchronized (bus) {
+                if (i % 2 == 0) {
+                    bus.publish(new GameEvent.HighlightPlayerRow(id));
+                } else {
+                    bus.beginBatch();
+                    for (int k = 0; k < BATCH_SIZE; k++) {
+                        bus.publish(new GameEvent.HighlightPlayerRow(id));
+                    }
+                    bus.endBatch();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns whether a frame is one single event or one whole batch.
+     *
+     * @param frame the player IDs of the frame
+     * @return true if the frame is whole
+     */
+    private static boolean isWhole(List<Integer> frame) {
+        if (frame.size() != 1 && frame.size() != BATCH_SIZE) {
+            return false;
+        }
+        for (int id : frame) {
+            if (id != frame.get(0)) {
+                return false;
+            }
+        }
+        int sequence = frame.get(0) % SEQUENCE_LIMIT;
+        return (frame.size() == 1) == (sequence % 2 == 0);
+    }
+
+    /**
+     * Waits until the executor has run every task given to it so far,
+     * including the deliveries those tasks scheduled.
+     */
+    private void awaitDelivery() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            executor.submit(() -> { }).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+}
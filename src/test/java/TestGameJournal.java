@@ -0,0 +1,203 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests recovering games from their journals.
+ * <p>
+ * The games are played by random players on a headless view. Each step of
+ * the turn scheduler is recorded in the journal, as the controller does.
+ */
+public class TestGameJournal {
+    private static final String BOARD = "Board.xml";
+    private static final String CARDS = "cards.xml";
+    private static final int NUM_PLAYERS = 3;
+
+    @TempDir
+    Path tempDir;
+
+
+// ============================================================
+// Replay
+// ============================================================
+
+
+    /**
+     * Replaying the journal at any point of a whole game gives the game as
+     * it is being played, across the snapshots written along the way.
+     */
+    @Test
+    public void testReplayEqualsLiveGame() throws IOException {
+        GameContext context = newGame(7);
+        GameModel model = context.getModel();
+        TurnScheduler scheduler = context.getController().getScheduler();
+        GameModel replay = newGame(8).getModel();
+        Path path = tempDir.resolve("game" + GameJournal.EXTENSION);
+
+        int checks = 0;
+        try (GameJournal journal = GameJournal.open(model, path)) {
+            boolean more = true;
+            for (int step = 0; more; step++) {
+                more = scheduler.step();
+                journal.record(scheduler.getPhase().name());
+                if (step % 5 == 0) {
+                    journal.snapshot();
+                }
+                if (step % 3 == 0) {
+                    journal.sync();
+                    GameJournal.recover(replay, path);
+                    assertEquals(state(model), state(replay), "Step " + step);
+                    checks++;
+                }
+            }
+        }
+        GameJournal.recover(replay, path);
+        assertEquals(state(model), state(replay));
+        assertEquals(model.getSeed(), replay.getSeed());
+        assertTrue(checks > 0);
+    }
+
+    /**
+     * Recovery starts from a saved game of the saved folder as well as from
+     * a new one.
+     */
+    @Test
+    public void testReplayFromSavedGame() throws IOException {
+        GameModel model = new GameModel(11);
+        model.initModel(NUM_PLAYERS, BOARD, CARDS);
+        assertTrue(model.loadFromJson(Paths.get("saved", "test_day2.json").toString()));
+        GameModel replay = new GameModel(12);
+        replay.initModel(model.getNumPlayers(), BOARD, CARDS);
+        Path path = tempDir.resolve("game" + GameJournal.EXTENSION);
+
+        try (GameJournal journal = GameJournal.open(model, path)) {
+            journal.sync();
+        }
+        assertEquals(0, GameJournal.recover(replay, path));
+        assertEquals(state(model), state(replay));
+    }
+
+
+// ============================================================
+// Damaged journals
+// ============================================================
+
+
+    /**
+     * A last record cut short is left out of the replay.
+     */
+    @Test
+    public void testTruncatedLastRecordStopsReplay() throws IOException {
+        Path path = tempDir.resolve("game" + GameJournal.EXTENSION);
+        GameState before = playUntilLastRecordChangesGame(path);
+        byte[] data = Files.readAllBytes(path);
+        GameModel replay = newGame(3).getModel();
+        int replayed = GameJournal.recover(replay, path);
+
+        Path truncated = tempDir.resolve("truncated" + GameJournal.EXTENSION);
+        Files.write(truncated, Arrays.copyOf(data, data.length - 3));
+        assertEquals(replayed - 1, GameJournal.recover(replay, truncated));
+        assertEquals(before, state(replay));
+    }
+
+    /**
+     * A last record that fails its checksum is left out of the replay.
+     */
+    @Test
+    public void testCorruptLastRecordStopsReplay() throws IOException {
+        Path path = tempDir.resolve("game" + GameJournal.EXTENSION);
+        GameState before = playUntilLastRecordChangesGame(path);
+        byte[] data = Files.readAllBytes(path);
+        GameModel replay = newGame(3).getModel();
+        int replayed = GameJournal.recover(replay, path);
+
+        Path corrupt = tempDir.resolve("corrupt" + GameJournal.EXTENSION);
+        data[data.length - 1] ^= 1;
+        Files.write(corrupt, data);
+        assertEquals(replayed - 1, GameJournal.recover(replay, corrupt));
+        assertEquals(before, state(replay));
+    }
+
+    /**
+     * A file cut inside its header is not a journal.
+     */
+    @Test
+    public void testTruncatedHeaderIsRejected() throws IOException {
+        Path path = tempDir.resolve("game" + GameJournal.EXTENSION);
+        playUntilLastRecordChangesGame(path);
+        byte[] data = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(data, 10));
+
+        GameModel replay = newGame(3).getModel();
+        assertThrows(IOException.class, () -> GameJournal.recover(replay, path));
+    }
+
+
+// ============================================================
+// Helpers
+// ============================================================
+
+
+    /**
+     * Plays a journaled game for a while, ending with a step that changed
+     * the game, so the last record of the journal is an action.
+     *
+     * @param path the journal file
+     * @return the state of the game before the last step
+     * @throws IOException if an I/O error occurs
+     */
+    private static GameState playUntilLastRecordChangesGame(Path path) throws IOException {
+        GameContext context = newGame(5);
+        GameModel model = context.getModel();
+        TurnScheduler scheduler = context.getController().getScheduler();
+        try (GameJournal journal = GameJournal.open(model, path)) {
+            GameState before;
+            int step = 0;
+            do {
+                before = state(model);
+                assertTrue(scheduler.step(), "Game ended early");
+                journal.record(scheduler.getPhase().name());
+                step++;
+            } while (step < 50 || before.equals(state(model)));
+            return before;
+        }
+    }
+
+    /**
+     * Creates a new game of random players.
+     *
+     * @param seed the seed of the game and of the players
+     * @return the game context
+     */
+    private static GameContext newGame(long seed) {
+        GameModel model = new GameModel(seed);
+        HeadlessGameView view = new HeadlessGameView(
+            NUM_PLAYERS,
+            new RandomPlayerPolicy(seed),
+            model
+        );
+        GameContext context = new GameContext(model, view);
+        context.initializeGame(BOARD, CARDS);
+        return context;
+    }
+
+    /**
+     * Returns the state words of a game.
+     *
+     * @param model the game model
+     * @return the state
+     */
+    private static GameState state(GameModel model) {
+        return GameState.fromModel(model, model.getRules());
+    }
+
+}
@@ -0,0 +1,189 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests saving games from the saved folder as binary snapshots and loading
+ * them back.
+ */
+public class TestGameSnapshot {
+    private static final String BOARD = "Board.xml";
+    private static final String CARDS = "cards.xml";
+
+    @TempDir
+    Path tempDir;
+
+
+// ============================================================
+// Round trip
+// ============================================================
+
+
+    /**
+     * A saved game written as a snapshot and read into a fresh model is the
+     * same game.
+     *
+     * @param fixture the saved game
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "test_day1.json",
+        "test_day1_mid.json",
+        "test_day1_end.json",
+        "test_day2.json",
+        "test_day2_end.json",
+        "test_day3_end.json"
+    })
+    public void testRoundTrip(String fixture) throws IOException {
+        GameModel model = loadFixture(fixture);
+        Path path = tempDir.resolve("game" + GameSnapshot.EXTENSION);
+        GameSnapshot.save(model, path);
+
+        GameModel loaded = newModel(model.getNumPlayers());
+        GameSnapshot.load(loaded, path);
+
+        assertEquals(state(model), state(loaded));
+        assertEquals(model.getDay(), loaded.getDay());
+        assertEquals(model.getCurrentPlayer(), loaded.getCurrentPlayer());
+        assertEquals(model.getSeed(), loaded.getSeed());
+        assertEquals(
+            model.getBoard().getNumScenesRemaining(),
+            loaded.getBoard().getNumScenesRemaining()
+        );
+        for (Player player : model.getPlayers()) {
+            Player other = loaded.getPlayer(player.getID());
+            assertEquals(player.getRank(), other.getRank());
+            assertEquals(player.getDollars(), other.getDollars());
+            assertEquals(player.getCredits(), other.getCredits());
+            assertEquals(player.getRehearsalTokens(), other.getRehearsalTokens());
+            assertEquals(
+                model.getBoard().getPlayerLocationName(player),
+                loaded.getBoard().getPlayerLocationName(other)
+            );
+        }
+    }
+
+    /**
+     * Reading a snapshot and writing it again gives the same bytes.
+     */
+    @Test
+    public void testSnapshotIsStable() throws IOException {
+        GameModel model = loadFixture("test_day2.json");
+        Path first = tempDir.resolve("first" + GameSnapshot.EXTENSION);
+        Path second = tempDir.resolve("second" + GameSnapshot.EXTENSION);
+        GameSnapshot.save(model, first);
+
+        GameModel loaded = newModel(model.getNumPlayers());
+        GameSnapshot.load(loaded, first);
+        GameSnapshot.save(loaded, second);
+
+        assertArrayEquals(Files.readAllBytes(first), Files.readAllBytes(second));
+    }
+
+
+// ============================================================
+// Damaged files
+// ============================================================
+
+
+    /**
+     * A snapshot cut short is rejected and leaves the model alone.
+     */
+    @Test
+    public void testTruncatedSnapshotIsRejected() throws IOException {
+        GameModel model = loadFixture("test_day1_mid.json");
+        Path path = tempDir.resolve("game" + GameSnapshot.EXTENSION);
+        GameSnapshot.save(model, path);
+        byte[] data = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(data, data.length - 1));
+
+        GameModel loaded = newModel(model.getNumPlayers());
+        GameState before = state(loaded);
+        assertThrows(IOException.class, () -> GameSnapshot.load(loaded, path));
+        assertEquals(before, state(loaded));
+    }
+
+    /**
+     * A snapshot whose header names other board or cards is rejected.
+     */
+    @Test
+    public void testCorruptHeaderIsRejected() throws IOException {
+        GameModel model = loadFixture("test_day1_mid.json");
+        Path path = tempDir.resolve("game" + GameSnapshot.EXTENSION);
+        GameSnapshot.save(model, path);
+        byte[] data = Files.readAllBytes(path);
+        // First byte of the content hash, after magic, version and reserved
+        data[8] ^= 1;
+        Files.write(path, data);
+
+        GameModel loaded = newModel(model.getNumPlayers());
+        assertThrows(IOException.class, () -> GameSnapshot.load(loaded, path));
+    }
+
+    /**
+     * A snapshot is only read into a game with as many players.
+     */
+    @Test
+    public void testOtherNumberOfPlayersIsRejected() throws IOException {
+        GameModel model = loadFixture("test_day1.json");
+        Path path = tempDir.resolve("game" + GameSnapshot.EXTENSION);
+        GameSnapshot.save(model, path);
+
+        GameModel loaded = newModel(model.getNumPlayers() + 1);
+        assertThrows(IOException.class, () -> GameSnapshot.load(loaded, path));
+    }
+
+
+// ============================================================
+// Helpers
+// ============================================================
+
+
+    /**
+     * Loads a saved game from the saved folder.
+     *
+     * @param fixture the file name of the saved game
+     * @return the game model
+     */
+    private static GameModel loadFixture(String fixture) {
+        GameModel model = newModel(2);
+        String path = Paths.get("saved", fixture).toString();
+        assertTrue(model.loadFromJson(path), "Could not load " + path);
+        return model;
+    }
+
+    /**
+     * Creates a new game of the default board and cards.
+     *
+     * @param numPlayers the number of players
+     * @return the game model
+     */
+    private static GameModel newModel(int numPlayers) {
+        GameModel model = new GameModel(1);
+        model.initModel(numPlayers, BOARD, CARDS);
+        return model;
+    }
+
+    /**
+     * Returns the state words of a game.
+     *
+     * @param model the game model
+     * @return the state
+     */
+    private static GameState state(GameModel model) {
+        return GameState.fromModel(model, model.getRules());
+    }
+
+}
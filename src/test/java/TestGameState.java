@@ -0,0 +1,260 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the packed GameState against the real game model.
+ * <p>
+ * Seeded games are played by random players on a headless view. Before each
+ * action the state is packed from the model, and the dice the model rolls
+ * during the action are recorded. Applying one of the legal actions of the
+ * packed state, with the recorded dice rolled again, must give the state
+ * packed from the model after the action.
+ */
+public class TestGameState {
+    private static final String BOARD = "Board.xml";
+    private static final String CARDS = "cards.xml";
+    private static final int NUM_GAMES = 100;
+
+
+// ============================================================
+// Transitions
+// ============================================================
+
+
+    /**
+     * apply matches the model after every action of seeded games of two to
+     * eight players.
+     */
+    @Test
+    public void testApplyMatchesModel() {
+        int transitions = 0;
+        for (int seed = 0; seed < NUM_GAMES; seed++) {
+            transitions += playAndCompare(seed, 2 + seed % 7);
+        }
+        assertTrue(transitions > 0);
+    }
+
+    /**
+     * Plays a seeded game, comparing each action of the model with apply.
+     *
+     * @param seed the seed of the game and of the players
+     * @param numPlayers the number of players
+     * @return the number of actions compared
+     */
+    private static int playAndCompare(long seed, int numPlayers) {
+        GameModel model = new GameModel(seed);
+        HeadlessGameView view = new HeadlessGameView(
+            numPlayers,
+            new RandomPlayerPolicy(seed),
+            model
+        );
+        GameContext context = new GameContext(model, view);
+        context.initializeGame(BOARD, CARDS);
+        GameRules rules = model.getRules();
+        TurnScheduler scheduler = context.getController().getScheduler();
+        List<Integer> dice = new ArrayList<>();
+        model.getDice().setOnRoll(dice::add);
+
+        int transitions = 0;
+        boolean more = stepToAction(scheduler, true);
+        while (more) {
+            GameState before = GameState.fromModel(model, rules);
+            dice.clear();
+            more = stepToAction(scheduler, scheduler.step());
+            GameState after = GameState.fromModel(model, rules);
+            if (after.equals(before) && dice.isEmpty()) {
+                // A command the game refused, or one that changes nothing
+                continue;
+            }
+            GameState applied = findAction(before, after, dice, rules);
+            String where = "Game " + seed + " day " + before.getDay()
+                + " player " + before.getCurrentPlayer() + " dice " + dice;
+            if (after.isGameOver()) {
+                // The model leaves the last day's scenes on the board
+                assertTrue(applied != null && applied.isGameOver(), where);
+                for (int id = 1; id <= numPlayers; id++) {
+                    assertEquals(after.getScore(id), applied.getScore(id), where);
+                }
+            } else {
+                assertEquals(after, applied, where);
+            }
+            transitions++;
+        }
+        return transitions;
+    }
+
+    /**
+     * Finds the legal action that takes a state to the model's next state
+     * with the dice the model rolled, or else to the end of the game.
+     *
+     * @param before the state before the action
+     * @param after the state the model reached
+     * @param dice the dice the model rolled, in order
+     * @param rules the rules of the game
+     * @return the state the action gives, or null if no action gives it
+     */
+    private static GameState findAction(
+        GameState before,
+        GameState after,
+        List<Integer> dice,
+        GameRules rules
+    ) {
+        int[] actions = new int[64];
+        int numActions = before.legalActions(rules, actions);
+        GameState gameOver = null;
+        for (int i = 0; i < numActions; i++) {
+            ReplayedDice replayed = new ReplayedDice(dice);
+            GameState next = before.apply(actions[i], rules, replayed);
+            if (!replayed.isUsedUp()) {
+                continue;
+            }
+            if (next.equals(after)) {
+                return next;
+            }
+            if (next.isGameOver() && after.isGameOver() && gameOver == null) {
+                gameOver = next;
+            }
+        }
+        return gameOver;
+    }
+
+    /**
+     * Rolls recorded dice again, in the order they were rolled.
+     */
+    private static class ReplayedDice implements RandomGenerator {
+        private final Iterator<Integer> values;
+        private boolean overrun = false;
+
+        /**
+         * Constructs dice that roll the given values.
+         *
+         * @param values the values of the dice
+         */
+        ReplayedDice(List<Integer> values) {
+            this.values = values.iterator();
+        }
+
+        @Override
+        public int nextInt(int bound) {
+            if (!values.hasNext()) {
+                // The action rolled more dice than the model did
+                overrun = true;
+                return 0;
+            }
+            return values.next() - 1;
+        }
+
+        @Override
+        public long nextLong() {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Returns whether exactly the recorded dice were rolled.
+         *
+         * @return true if every value was rolled and no more
+         */
+        boolean isUsedUp() {
+            return !overrun && !values.hasNext();
+        }
+    }
+
+
+// ============================================================
+// Layout
+// ============================================================
+
+
+    /**
+     * The words of a state build the same state again.
+     */
+    @Test
+    public void testFromWordsRoundTrip() {
+        GameModel model = newModel(4);
+        GameRules rules = model.getRules();
+        GameState state = GameState.fromModel(model, rules);
+        assertEquals(state, GameState.fromWords(state.getWords(), rules));
+    }
+
+    /**
+     * Words of the wrong length or with header numbers out of range are
+     * rejected.
+     */
+    @Test
+    public void testFromWordsRejectsWrongLayout() {
+        GameModel model = newModel(4);
+        GameRules rules = model.getRules();
+        int[] words = GameState.fromModel(model, rules).getWords();
+
+        assertThrows(IllegalArgumentException.class,
+            () -> GameState.fromWords(new int[2], rules));
+        assertThrows(IllegalArgumentException.class,
+            () -> GameState.fromWords(Arrays.copyOf(words, words.length - 1), rules));
+        assertThrows(IllegalArgumentException.class,
+            () -> GameState.fromWords(Arrays.copyOf(words, words.length + 1), rules));
+        // The header starts with the numbers of players and locations, and
+        // holds the current player in word 4
+        assertThrows(IllegalArgumentException.class,
+            () -> GameState.fromWords(withWord(words, 0, 9), rules));
+        assertThrows(IllegalArgumentException.class,
+            () -> GameState.fromWords(withWord(words, 1, words[1] + 1), rules));
+        assertThrows(IllegalArgumentException.class,
+            () -> GameState.fromWords(withWord(words, 4, 5), rules));
+    }
+
+
+// ============================================================
+// Helpers
+// ============================================================
+
+
+    /**
+     * Creates a new game of the default board and cards.
+     *
+     * @param numPlayers the number of players
+     * @return the game model
+     */
+    private static GameModel newModel(int numPlayers) {
+        GameModel model = new GameModel(1);
+        model.initModel(numPlayers, BOARD, CARDS);
+        return model;
+    }
+
+    /**
+     * Returns a copy of words with one word changed.
+     *
+     * @param words the words
+     * @param index the index of the word to change
+     * @param value the new value of the word
+     * @return the changed copy
+     */
+    private static int[] withWord(int[] words, int index, int value) {
+        int[] copy = words.clone();
+        copy[index] = value;
+        return copy;
+    }
+
+    /**
+     * Steps a game until it waits for a player's action or is over.
+     *
+     * @param scheduler the turn scheduler of the game
+     * @param more false if the game is already over
+     * @return true if a player's action is awaited, false once the game is over
+     */
+    private static boolean stepToAction(TurnScheduler scheduler, boolean more) {
+        while (more && scheduler.getPhase() != TurnScheduler.Phase.AWAIT_ACTION) {
+            more = scheduler.step();
+        }
+        return more;
+    }
+
+}